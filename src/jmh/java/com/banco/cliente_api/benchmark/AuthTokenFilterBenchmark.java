@@ -0,0 +1,97 @@
+package com.banco.cliente_api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.banco.cliente_api.security.jwt.AuthTokenFilter;
+import com.banco.cliente_api.security.jwt.JwtRevocationList;
+import com.banco.cliente_api.security.jwt.JwtUtils;
+import com.banco.cliente_api.security.service.UsuarioBancoDetailsImpl;
+import com.banco.cliente_api.security.service.UsuarioBancoServiceImpl;
+
+/**
+ * Costo por solicitud de AuthTokenFilter, sin base de datos (la carga del usuario se reemplaza por un stub).
+ * - autenticada: token válido, camino completo de validación y armado del Authentication.
+ * - sinToken: ruta protegida sin cabecera Authorization.
+ * - rutaPublica: ruta excluida por el RequestMatcher, el filtro no debería hacer nada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthTokenFilterBenchmark {
+
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest autenticada;
+    private MockHttpServletRequest sinToken;
+    private MockHttpServletRequest rutaPublica;
+
+    @Setup
+    public void setup() {
+        JwtUtils jwtUtils = BenchmarkSupport.jwtUtils();
+        UserDetails usuario = new UsuarioBancoDetailsImpl(1L, "admin", "x",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "jwtRevocationList", new JwtRevocationList());
+        ReflectionTestUtils.setField(filter, "usuarioBancoService", new UsuarioBancoServiceImpl() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return usuario;
+            }
+        });
+        filter.setRutasExcluidas(PathPatternRequestMatcher.withDefaults().matcher("/api/auth/**"));
+
+        autenticada = new MockHttpServletRequest("GET", "/api/clientes/12345678");
+        autenticada.addHeader("Authorization", "Bearer " + jwtUtils.generateTokenFromUsername("admin"));
+        sinToken = new MockHttpServletRequest("GET", "/api/clientes/12345678");
+        rutaPublica = new MockHttpServletRequest("POST", "/api/auth/signin");
+    }
+
+    @TearDown
+    public void limpiar() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void autenticada(Blackhole bh) throws Exception {
+        bh.consume(ejecutar(autenticada));
+    }
+
+    @Benchmark
+    public void sinToken(Blackhole bh) throws Exception {
+        bh.consume(ejecutar(sinToken));
+    }
+
+    @Benchmark
+    public void rutaPublica(Blackhole bh) throws Exception {
+        bh.consume(ejecutar(rutaPublica));
+    }
+
+    private Object ejecutar(MockHttpServletRequest request) throws Exception {
+        // OncePerRequestFilter marca la solicitud como ya filtrada: se limpia para reutilizarla
+        request.removeAttribute(filter.getClass().getName() + ".FILTERED");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+}
@@ -0,0 +1,60 @@
+package com.banco.cliente_api.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Validación (@Valid) de un ClienteRequestDTO, como la que hace Spring MVC por cada elemento de los endpoints batch.
+ * - invalido: DNI con letras y sin productos (se construyen los mensajes de las violaciones).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BeanValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ClienteRequestDTO valido;
+    private ClienteRequestDTO invalido;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valido = BenchmarkSupport.clienteRequest();
+        invalido = BenchmarkSupport.clienteRequest();
+        invalido.setDni("12AB5678");
+        invalido.setProductosBancariosCodigos(null);
+    }
+
+    @TearDown
+    public void cerrar() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> valido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> invalido() {
+        return validator.validate(invalido);
+    }
+}
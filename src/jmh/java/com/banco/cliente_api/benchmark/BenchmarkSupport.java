@@ -0,0 +1,63 @@
+package com.banco.cliente_api.benchmark;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.model.ProductoBancario;
+import com.banco.cliente_api.security.jwt.JwtUtils;
+
+/**
+ * Construcción de componentes de la API fuera del contexto de Spring para los benchmarks.
+ */
+final class BenchmarkSupport {
+
+    // Mismo secreto que application.properties
+    static final String JWT_SECRET = "SuperSecretaJWTKeyParaTuBanco1234567890abcdef";
+
+    private BenchmarkSupport() {
+    }
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900_000);
+        return jwtUtils;
+    }
+
+    // Cliente típico: datos completos y tres productos bancarios
+    static Cliente cliente(long id) {
+        return Cliente.builder()
+                .id(id)
+                .dni(String.valueOf(10_000_000 + id))
+                .nombre("Juan")
+                .apellido("Perez")
+                .calle("Av. Corrientes")
+                .numero(1234)
+                .codigoPostal("C1043")
+                .telefono("1122334455")
+                .celular("1566778899")
+                .productosBancarios(Set.of(
+                        new ProductoBancario(1L, "CJAHRR", "Caja de Ahorro"),
+                        new ProductoBancario(2L, "TJCREDITO", "Tarjeta de Crédito"),
+                        new ProductoBancario(3L, "PZOF", "Plazo Fijo")))
+                .build();
+    }
+
+    static ClienteRequestDTO clienteRequest() {
+        ClienteRequestDTO dto = new ClienteRequestDTO();
+        dto.setDni("12345678");
+        dto.setNombre("Juan");
+        dto.setApellido("Perez");
+        dto.setCalle("Av. Corrientes");
+        dto.setNumero(1234);
+        dto.setCodigoPostal("C1043");
+        dto.setTelefono("1122334455");
+        dto.setCelular("15 6677-8899");
+        dto.setProductosBancariosCodigos(List.of("CJAHRR", "TJCREDITO"));
+        return dto;
+    }
+}
@@ -0,0 +1,46 @@
+package com.banco.cliente_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+import com.banco.cliente_api.adapter.web.dto.ClienteResponseDTO;
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.util.DtoConverter;
+
+/**
+ * Conversión entidad/DTO de un cliente con tres productos (sin Hibernate: la colección ya está cargada).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoConverterBenchmark {
+
+    private DtoConverter dtoConverter;
+    private Cliente cliente;
+    private ClienteRequestDTO request;
+
+    @Setup
+    public void setup() {
+        dtoConverter = new DtoConverter();
+        cliente = BenchmarkSupport.cliente(1);
+        request = BenchmarkSupport.clienteRequest();
+    }
+
+    @Benchmark
+    public ClienteResponseDTO convertToDto() {
+        return dtoConverter.convertToDto(cliente);
+    }
+
+    @Benchmark
+    public Cliente convertToEntity() {
+        return dtoConverter.convertToEntity(request);
+    }
+}
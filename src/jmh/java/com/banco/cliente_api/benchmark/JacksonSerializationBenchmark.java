@@ -0,0 +1,50 @@
+package com.banco.cliente_api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteResponseDTO;
+import com.banco.cliente_api.util.DtoConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialización de la respuesta de GET /api/clientes y /por-producto (lista de ClienteResponseDTO)
+ * con un ObjectMapper construido como el de Spring Boot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int cantidad;
+
+    private ObjectMapper objectMapper;
+    private List<ClienteResponseDTO> clientes;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        DtoConverter dtoConverter = new DtoConverter();
+        clientes = LongStream.rangeClosed(1, cantidad)
+                .mapToObj(BenchmarkSupport::cliente)
+                .map(dtoConverter::convertToDto)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws Exception {
+        return objectMapper.writeValueAsBytes(clientes);
+    }
+}
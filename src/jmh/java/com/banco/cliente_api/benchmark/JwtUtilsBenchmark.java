@@ -0,0 +1,74 @@
+package com.banco.cliente_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import com.banco.cliente_api.security.jwt.JwtUtils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.jsonwebtoken.Claims;
+
+/**
+ * Emisión y verificación de JWT (HS256) con la clave y el parser cacheados de JwtUtils.
+ * - validar: token válido (camino de cada solicitud autenticada).
+ * - validarFirmaInvalida: token con la firma alterada. JwtUtils registra cada rechazo en ERROR; su logger se
+ *   apaga durante el benchmark para medir la verificación y no la escritura síncrona en consola.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private String tokenAlterado;
+    private Level nivelOriginal;
+
+    @Setup
+    public void setup() {
+        Logger logger = (Logger) LoggerFactory.getLogger(JwtUtils.class);
+        nivelOriginal = logger.getLevel();
+        logger.setLevel(Level.OFF);
+
+        jwtUtils = BenchmarkSupport.jwtUtils();
+        token = jwtUtils.generateTokenFromUsername("admin");
+        // Se altera un carácter del medio de la firma: el último solo aporta bits de relleno en base64url
+        // y cambiarlo puede dejar la firma intacta
+        int medio = token.lastIndexOf('.') + (token.length() - token.lastIndexOf('.')) / 2;
+        char original = token.charAt(medio);
+        tokenAlterado = token.substring(0, medio) + (original == 'A' ? 'B' : 'A') + token.substring(medio + 1);
+        if (jwtUtils.getValidClaims(tokenAlterado) != null) {
+            throw new IllegalStateException("El token alterado sigue siendo válido: validarFirmaInvalida mediría el camino válido");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((Logger) LoggerFactory.getLogger(JwtUtils.class)).setLevel(nivelOriginal);
+    }
+
+    @Benchmark
+    public String generar() {
+        return jwtUtils.generateTokenFromUsername("admin");
+    }
+
+    @Benchmark
+    public Claims validar() {
+        return jwtUtils.getValidClaims(token);
+    }
+
+    @Benchmark
+    public Claims validarFirmaInvalida() {
+        return jwtUtils.getValidClaims(tokenAlterado);
+    }
+}
@@ -0,0 +1,105 @@
+package com.banco.cliente_api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+import com.banco.cliente_api.adapter.web.dto.ClienteTelefonoUpdateDTO;
+import com.banco.cliente_api.security.payload.request.LoginRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP de la API para la prueba de carga. Los cuerpos se arman con los mismos DTOs que usa el controlador.
+ * Las respuestas se leen completas (y se descartan) para que la latencia incluya la serialización.
+ */
+class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private String authorization;
+
+    ApiClient(String baseUrl, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(executor)
+                .build();
+    }
+
+    void signin(String username, String password) throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setUsername(username);
+        login.setPassword(password);
+        HttpResponse<String> response = httpClient.send(post("/api/auth/signin", login, false),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo iniciar sesión como " + username + ": HTTP " + response.statusCode());
+        }
+        JsonNode jwt = objectMapper.readTree(response.body());
+        authorization = "Bearer " + jwt.get("token").asText();
+    }
+
+    CompletableFuture<Integer> enviar(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    int enviarSincronico(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    HttpRequest leerPorDni(String dni) {
+        return autenticada("/api/clientes/" + dni).GET().build();
+    }
+
+    HttpRequest porProducto(String codigo) {
+        return autenticada("/api/clientes/por-producto/" + codigo).GET().build();
+    }
+
+    HttpRequest actualizarTelefono(String dni, String nuevoTelefono) {
+        ClienteTelefonoUpdateDTO update = new ClienteTelefonoUpdateDTO();
+        update.setDni(dni);
+        update.setNuevoTelefono(nuevoTelefono);
+        return autenticada("/api/clientes/" + dni + "/telefono")
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json(update)))
+                .build();
+    }
+
+    HttpRequest crearBatch(List<ClienteRequestDTO> clientes) {
+        return post("/api/clientes/batch", clientes, true);
+    }
+
+    private HttpRequest post(String ruta, Object cuerpo, boolean autenticada) {
+        HttpRequest.Builder builder = autenticada ? autenticada(ruta) : HttpRequest.newBuilder(URI.create(baseUrl + ruta));
+        return builder.timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(cuerpo)))
+                .build();
+    }
+
+    private HttpRequest.Builder autenticada(String ruta) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .timeout(TIMEOUT)
+                .header("Authorization", authorization);
+    }
+
+    private String json(Object cuerpo) {
+        try {
+            return objectMapper.writeValueAsString(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.banco.cliente_api.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.banco.cliente_api.ClienteApiApplication;
+
+/**
+ * La API lanzada en un proceso aparte (JVM nueva) en un puerto libre, con la salida en un archivo.
+ * Sin jar usa el classpath de Maven; con jar lanza el jar indicado (por ejemplo el extraído por el perfil cds).
+ */
+class ApiProcess implements AutoCloseable {
+
+    private static final long INTERVALO_SONDEO_MS = 10;
+
+    private final Process proceso;
+    private final int puerto;
+    private final long inicioNanos;
+
+    private ApiProcess(Process proceso, int puerto, long inicioNanos) {
+        this.proceso = proceso;
+        this.puerto = puerto;
+        this.inicioNanos = inicioNanos;
+    }
+
+    static ApiProcess iniciar(List<String> opcionesJvm, String jar, List<String> argumentos, Path salida) throws IOException {
+        int puerto = puertoLibre();
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opcionesJvm);
+        if (jar != null) {
+            comando.add("-jar");
+            comando.add(jar);
+        } else {
+            comando.add("-cp");
+            comando.add(System.getProperty("java.class.path"));
+            comando.add(ClienteApiApplication.class.getName());
+        }
+        comando.add("--server.port=" + puerto);
+        comando.addAll(argumentos);
+
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(salida.toFile())
+                .start();
+        return new ApiProcess(proceso, puerto, System.nanoTime());
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + puerto;
+    }
+
+    /**
+     * Espera a que /actuator/health/readiness responda 200 (después de la precarga de DataInitializer).
+     * @return milisegundos desde el lanzamiento del proceso.
+     */
+    long esperarListo(HttpClient httpClient, Duration timeout) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long limite = inicioNanos + timeout.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!proceso.isAlive()) {
+                throw new IllegalStateException("La API terminó durante el arranque (código " + proceso.exitValue() + ")");
+            }
+            try {
+                if (httpClient.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+                }
+            } catch (ConnectException e) {
+                // Todavía no abrió el puerto
+            }
+            Thread.sleep(INTERVALO_SONDEO_MS);
+        }
+        throw new IllegalStateException("La API no respondió en " + timeout.toSeconds() + " s");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        proceso.destroy();
+        if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+            proceso.destroyForcibly();
+        }
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.banco.cliente_api.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, recibidos como --clave=valor (ver loadtest.args en el pom).
+ */
+record LoadTestConfig(
+        int clientes,
+        Modelo modelo,
+        int usuarios,
+        double tasaPorSegundo,
+        Duration duracion,
+        Duration calentamiento,
+        int tamanioLote,
+        long semilla) {
+
+    enum Modelo {
+        /** Cantidad fija de usuarios virtuales que envían la siguiente solicitud al recibir la respuesta. */
+        CERRADO,
+        /** Llegadas a tasa fija (Poisson) independientes de las respuestas; la latencia incluye la espera en cola. */
+        ABIERTO
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> valores = opciones(args);
+        return new LoadTestConfig(
+                Integer.parseInt(valores.getOrDefault("clientes", "10000")),
+                Modelo.valueOf(valores.getOrDefault("modelo", "cerrado").toUpperCase()),
+                Integer.parseInt(valores.getOrDefault("usuarios", "16")),
+                Double.parseDouble(valores.getOrDefault("tasa", "200")),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("duracion", "30"))),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("calentamiento", "10"))),
+                Integer.parseInt(valores.getOrDefault("lote", "10")),
+                Long.parseLong(valores.getOrDefault("semilla", "42")));
+    }
+
+    /**
+     * Argumentos --clave=valor como mapa (también los usan StartupBenchmark y ThreadModeComparison).
+     */
+    static Map<String, String> opciones(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (!arg.startsWith("--") || separador < 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --clave=valor): " + arg);
+            }
+            valores.put(arg.substring(2, separador), arg.substring(separador + 1));
+        }
+        return valores;
+    }
+
+    String descripcion() {
+        String carga = modelo == Modelo.CERRADO ? usuarios + " usuarios" : tasaPorSegundo + " solicitudes/s";
+        return String.format("modelo=%s (%s), clientes=%d, duracion=%ds, calentamiento=%ds, lote=%d",
+                modelo, carga, clientes, duracion.toSeconds(), calentamiento.toSeconds(), tamanioLote);
+    }
+}
@@ -0,0 +1,76 @@
+package com.banco.cliente_api.loadtest;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banco.cliente_api.ClienteApiApplication;
+import com.banco.cliente_api.repository.ClienteRepository;
+import com.banco.cliente_api.repository.ProductoBancarioRepository;
+
+/**
+ * Prueba de carga de punta a punta en una sola máquina: levanta la API con el perfil test (H2 en memoria)
+ * en un puerto libre, genera los clientes sintéticos, calienta la JVM y mide la corrida.
+ * Se ejecuta con: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--clientes=10000 --modelo=abierto --tasa=300"
+ * Los histogramas completos quedan en target/loadtest/*.hgrm.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        SpringApplication application = new SpringApplication(ClienteApiApplication.class);
+        application.setAdditionalProfiles("test");
+        ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                // El limitador de tasa por IP rechazaría la carga: todo sale de 127.0.0.1
+                "--banco.app.ratelimit.enabled=false",
+                // Los bulkheads cortarían con 503 la concurrencia que se quiere medir
+                "--banco.app.bulkhead.enabled=false",
+                // El límite adaptativo bajaría la concurrencia admitida al ver crecer la latencia bajo carga
+                "--banco.app.limite-adaptativo.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.banco.cliente_api=WARN");
+
+        ExecutorService httpExecutor = Executors.newCachedThreadPool();
+        try {
+            int puerto = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                    context.getBean(ClienteRepository.class),
+                    context.getBean(ProductoBancarioRepository.class),
+                    new TransactionTemplate(context.getBean(PlatformTransactionManager.class)),
+                    config.semilla());
+            long inicioGeneracion = System.nanoTime();
+            List<String> dnis = generator.generar(config.clientes());
+            System.out.printf("Datos sintéticos: %d clientes en %d ms%n",
+                    dnis.size(), (System.nanoTime() - inicioGeneracion) / 1_000_000);
+
+            ApiClient api = new ApiClient("http://localhost:" + puerto, httpExecutor);
+            api.signin("admin", "adminpass");
+            WorkloadDriver driver = new WorkloadDriver(api, dnis, config);
+
+            System.out.println("Calentamiento: " + config.calentamiento().toSeconds() + " s");
+            driver.ejecutar(config.calentamiento(), new OperationStats());
+
+            System.out.println("Corrida: " + config.descripcion());
+            OperationStats stats = new OperationStats();
+            driver.ejecutar(config.duracion(), stats);
+
+            stats.imprimir(System.out, config.duracion().toMillis() / 1000.0);
+            Path directorio = Path.of("target", "loadtest");
+            stats.exportar(directorio);
+            System.out.println("Histogramas: " + directorio.toAbsolutePath());
+        } finally {
+            httpExecutor.shutdownNow();
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.banco.cliente_api.loadtest;
+
+import java.util.Random;
+
+/**
+ * Operaciones de la mezcla de carga y su peso relativo.
+ */
+enum Operacion {
+    LEER_POR_DNI(60),
+    POR_PRODUCTO(10),
+    ACTUALIZAR_TELEFONO(25),
+    CREAR_BATCH(5);
+
+    private static final Operacion[] VALORES = values();
+    private static final int PESO_TOTAL;
+    static {
+        int total = 0;
+        for (Operacion operacion : VALORES) {
+            total += operacion.peso;
+        }
+        PESO_TOTAL = total;
+    }
+
+    private final int peso;
+
+    Operacion(int peso) {
+        this.peso = peso;
+    }
+
+    static Operacion elegir(Random random) {
+        int valor = random.nextInt(PESO_TOTAL);
+        for (Operacion operacion : VALORES) {
+            valor -= operacion.peso;
+            if (valor < 0) {
+                return operacion;
+            }
+        }
+        return LEER_POR_DNI;
+    }
+}
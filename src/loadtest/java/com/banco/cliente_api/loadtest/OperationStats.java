@@ -0,0 +1,117 @@
+package com.banco.cliente_api.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencias (HdrHistogram, en microsegundos) y errores por operación durante una corrida. Los 503 (rechazos por
+ * sobrecarga de la API) se cuentan aparte de los errores: indican que se midió la protección y no el servicio.
+ * Recorder admite registros concurrentes sin bloqueo desde los hilos de los usuarios virtuales.
+ */
+class OperationStats {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+    private static final int SERVICIO_NO_DISPONIBLE = 503;
+
+    private final Map<Operacion, Recorder> recorders = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> errores = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> rechazos = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, Histogram> resultados = new EnumMap<>(Operacion.class);
+
+    OperationStats() {
+        for (Operacion operacion : Operacion.values()) {
+            recorders.put(operacion, new Recorder(LATENCIA_MAXIMA_US, DIGITOS_SIGNIFICATIVOS));
+            errores.put(operacion, new LongAdder());
+            rechazos.put(operacion, new LongAdder());
+        }
+    }
+
+    /**
+     * @param status código HTTP de la respuesta, o 0 si la solicitud falló sin respuesta
+     */
+    void registrar(Operacion operacion, long latenciaNanos, int status) {
+        recorders.get(operacion).recordValue(Math.min(LATENCIA_MAXIMA_US, TimeUnit.NANOSECONDS.toMicros(latenciaNanos)));
+        if (status == SERVICIO_NO_DISPONIBLE) {
+            rechazos.get(operacion).increment();
+        } else if (status < 200 || status >= 300) {
+            errores.get(operacion).increment();
+        }
+    }
+
+    /**
+     * Cierra la corrida: los registros posteriores (respuestas tardías) ya no cuentan.
+     */
+    void cerrar() {
+        recorders.forEach((operacion, recorder) -> resultados.put(operacion, recorder.getIntervalHistogram()));
+    }
+
+    void imprimir(PrintStream out, double segundos) {
+        out.printf("%-20s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+                "operacion", "total", "errores", "503", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operacion operacion : Operacion.values()) {
+            imprimirFila(out, operacion.name(), resultados.get(operacion), errores.get(operacion).sum(),
+                    rechazos.get(operacion).sum(), segundos);
+        }
+        imprimirFila(out, "TOTAL", total(), totalErrores(), totalRechazos(), segundos);
+    }
+
+    /**
+     * Latencias de todas las operaciones juntas (después de cerrar la corrida).
+     */
+    Histogram total() {
+        Histogram total = new Histogram(LATENCIA_MAXIMA_US, DIGITOS_SIGNIFICATIVOS);
+        resultados.values().forEach(total::add);
+        return total;
+    }
+
+    long totalErrores() {
+        return errores.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long totalRechazos() {
+        return rechazos.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Escribe un .hgrm por operación (formato de percentiles de HdrHistogram, en milisegundos) para graficarlos o compararlos.
+     */
+    void exportar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        for (Map.Entry<Operacion, Histogram> entry : resultados.entrySet()) {
+            Path archivo = directorio.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(new FileOutputStream(archivo.toFile()))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void imprimirFila(PrintStream out, String nombre, Histogram histograma, long errores, long rechazos,
+            double segundos) {
+        out.printf("%-20s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                nombre,
+                histograma.getTotalCount(),
+                errores,
+                rechazos,
+                histograma.getTotalCount() / segundos,
+                ms(histograma.getValueAtPercentile(50)),
+                ms(histograma.getValueAtPercentile(90)),
+                ms(histograma.getValueAtPercentile(99)),
+                ms(histograma.getValueAtPercentile(99.9)),
+                ms(histograma.getMaxValue()));
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
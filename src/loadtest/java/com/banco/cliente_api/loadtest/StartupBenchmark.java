@@ -0,0 +1,54 @@
+package com.banco.cliente_api.loadtest;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tiempo hasta la primera solicitud atendida: lanza la API en un proceso nuevo (JVM fría) y mide desde el
+ * lanzamiento hasta que /actuator/health/readiness responde 200 (después de la precarga de DataInitializer).
+ * Se repite varias veces y se informa mínimo, mediana y máximo.
+ * Sin --jar usa el classpath de Maven; con --jar (y opcionalmente --cds) mide el jar extraído por el perfil cds.
+ * Se ejecuta con: mvn -Ploadtest test-compile exec:exec@startup -Dstartup.args="--jar=target/cds/cliente-api-0.0.3.jar --cds=target/cds/application.jsa"
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT_ARRANQUE = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = LoadTestConfig.opciones(args);
+        int repeticiones = Integer.parseInt(opciones.getOrDefault("repeticiones", "5"));
+        String perfil = opciones.getOrDefault("perfil", "test");
+        String jar = opciones.get("jar");
+        String cds = opciones.get("cds");
+        if (cds != null && !new File(cds).exists()) {
+            throw new IllegalArgumentException("No existe el archivo CDS " + cds + " (generarlo con mvn -Pcds package)");
+        }
+        List<String> opcionesJvm = cds != null ? List.of("-XX:SharedArchiveFile=" + cds) : List.of();
+
+        Path logs = Path.of("target", "startup");
+        Files.createDirectories(logs);
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        System.out.printf("Arranque: %s, perfil=%s, CDS=%s%n", jar != null ? jar : "classpath de Maven", perfil,
+                cds != null ? cds : "no");
+        long[] tiempos = new long[repeticiones];
+        for (int i = 0; i < repeticiones; i++) {
+            try (ApiProcess api = ApiProcess.iniciar(opcionesJvm, jar, List.of("--spring.profiles.active=" + perfil),
+                    logs.resolve("arranque-" + (i + 1) + ".log"))) {
+                tiempos[i] = api.esperarListo(httpClient, TIMEOUT_ARRANQUE);
+                System.out.printf("  corrida %d: %d ms%n", i + 1, tiempos[i]);
+            }
+        }
+
+        Arrays.sort(tiempos);
+        System.out.printf("Tiempo hasta la primera solicitud: min=%d ms, mediana=%d ms, max=%d ms (%d corridas)%n",
+                tiempos[0], tiempos[repeticiones / 2], tiempos[repeticiones - 1], repeticiones);
+        System.out.println("Salida de cada arranque: " + logs.toAbsolutePath());
+    }
+}
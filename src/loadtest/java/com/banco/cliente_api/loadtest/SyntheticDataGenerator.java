@@ -0,0 +1,153 @@
+package com.banco.cliente_api.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.model.ProductoBancario;
+import com.banco.cliente_api.repository.ClienteRepository;
+import com.banco.cliente_api.repository.ProductoBancarioRepository;
+
+/**
+ * Genera N clientes sintéticos sobre el catálogo de productos que precarga DataInitializer.
+ * Cada producto se asigna con una probabilidad independiente que imita una cartera minorista
+ * (casi todos tienen caja de ahorro y débito, pocos tienen cheques o préstamos).
+ */
+class SyntheticDataGenerator {
+
+    // Probabilidad de que un cliente tenga cada producto del catálogo de DataInitializer
+    static final Map<String, Double> DISTRIBUCION_PRODUCTOS = new LinkedHashMap<>();
+    static {
+        DISTRIBUCION_PRODUCTOS.put("CJAHRR", 0.85);
+        DISTRIBUCION_PRODUCTOS.put("TJDEBITO", 0.75);
+        DISTRIBUCION_PRODUCTOS.put("TJCREDITO", 0.45);
+        DISTRIBUCION_PRODUCTOS.put("CTACORR", 0.30);
+        DISTRIBUCION_PRODUCTOS.put("PZOF", 0.15);
+        DISTRIBUCION_PRODUCTOS.put("PRESTAMO", 0.12);
+        DISTRIBUCION_PRODUCTOS.put("CHEQ", 0.08);
+    }
+
+    private static final String[] NOMBRES = { "Juan", "María", "Carlos", "Lucía", "Jorge", "Sofía", "Martín", "Valentina",
+            "Diego", "Camila", "Pablo", "Florencia", "Nicolás", "Agustina", "Federico", "Julieta" };
+    private static final String[] APELLIDOS = { "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Martínez",
+            "Pérez", "García", "Sánchez", "Romero", "Sosa", "Álvarez", "Torres", "Ruiz", "Ramírez" };
+    private static final String[] CALLES = { "Av. Corrientes", "Av. Santa Fe", "Av. Rivadavia", "Florida", "Lavalle",
+            "Av. Cabildo", "Av. Belgrano", "San Martín" };
+
+    // Los DNIs generados empiezan acá; los de las altas por lote de la carga usan otro rango (ver WorkloadDriver)
+    static final long PRIMER_DNI = 20_000_000L;
+    private static final int TAMANIO_TRANSACCION = 1_000;
+
+    private final ClienteRepository clienteRepository;
+    private final ProductoBancarioRepository productoBancarioRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+
+    SyntheticDataGenerator(ClienteRepository clienteRepository, ProductoBancarioRepository productoBancarioRepository,
+            TransactionTemplate transactionTemplate, long semilla) {
+        this.clienteRepository = clienteRepository;
+        this.productoBancarioRepository = productoBancarioRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.random = new Random(semilla);
+    }
+
+    /**
+     * @return los DNIs de los clientes creados, en orden de creación.
+     */
+    List<String> generar(int cantidad) {
+        List<String> dnis = new ArrayList<>(cantidad);
+        for (int inicio = 0; inicio < cantidad; inicio += TAMANIO_TRANSACCION) {
+            int desde = inicio;
+            transactionTemplate.executeWithoutResult(status -> {
+                // El catálogo se lee en cada transacción: la cascada de Cliente no acepta productos desasociados
+                Map<String, ProductoBancario> catalogo = catalogo();
+                List<Cliente> bloque = new ArrayList<>(TAMANIO_TRANSACCION);
+                for (int i = desde; i < Math.min(cantidad, desde + TAMANIO_TRANSACCION); i++) {
+                    Cliente cliente = cliente(PRIMER_DNI + i, catalogo);
+                    bloque.add(cliente);
+                    dnis.add(cliente.getDni());
+                }
+                clienteRepository.saveAll(bloque);
+            });
+        }
+        return dnis;
+    }
+
+    private Map<String, ProductoBancario> catalogo() {
+        Map<String, ProductoBancario> catalogo = productoBancarioRepository.findAll().stream()
+                .collect(Collectors.toMap(ProductoBancario::getCodigo, Function.identity()));
+        if (!catalogo.keySet().containsAll(DISTRIBUCION_PRODUCTOS.keySet())) {
+            throw new IllegalStateException("El catálogo no coincide con el de DataInitializer: " + catalogo.keySet());
+        }
+        return catalogo;
+    }
+
+    Cliente cliente(long dni, Map<String, ProductoBancario> catalogo) {
+        return Cliente.builder()
+                .dni(String.valueOf(dni))
+                .nombre(NOMBRES[random.nextInt(NOMBRES.length)])
+                .apellido(APELLIDOS[random.nextInt(APELLIDOS.length)])
+                .calle(CALLES[random.nextInt(CALLES.length)])
+                .numero(1 + random.nextInt(9_000))
+                .codigoPostal("C" + (1000 + random.nextInt(500)))
+                .telefono("11" + (40_000_000 + random.nextInt(9_999_999)))
+                .celular("15" + (50_000_000 + random.nextInt(9_999_999)))
+                .productosBancarios(productos(catalogo))
+                .build();
+    }
+
+    Set<ProductoBancario> productos(Map<String, ProductoBancario> catalogo) {
+        Set<ProductoBancario> productos = new HashSet<>();
+        DISTRIBUCION_PRODUCTOS.forEach((codigo, probabilidad) -> {
+            if (random.nextDouble() < probabilidad) {
+                productos.add(catalogo.get(codigo));
+            }
+        });
+        if (productos.isEmpty()) {
+            // La API exige al menos un producto por cliente
+            productos.add(catalogo.get("CJAHRR"));
+        }
+        return productos;
+    }
+
+    /**
+     * Alta de un cliente por la API con datos y productos elegidos con la misma distribución
+     * (altas por lote de la carga y datos sembrados por HTTP en ThreadModeComparison).
+     */
+    static ClienteRequestDTO request(long dni, Random random) {
+        ClienteRequestDTO dto = new ClienteRequestDTO();
+        dto.setDni(String.valueOf(dni));
+        dto.setNombre(NOMBRES[random.nextInt(NOMBRES.length)]);
+        dto.setApellido(APELLIDOS[random.nextInt(APELLIDOS.length)]);
+        dto.setCalle(CALLES[random.nextInt(CALLES.length)]);
+        dto.setNumero(1 + random.nextInt(9_000));
+        dto.setCodigoPostal("C" + (1000 + random.nextInt(500)));
+        dto.setTelefono("11" + (40_000_000 + random.nextInt(9_999_999)));
+        dto.setCelular("15" + (50_000_000 + random.nextInt(9_999_999)));
+        dto.setProductosBancariosCodigos(codigosProductos(random));
+        return dto;
+    }
+
+    static List<String> codigosProductos(Random random) {
+        List<String> codigos = new ArrayList<>();
+        DISTRIBUCION_PRODUCTOS.forEach((codigo, probabilidad) -> {
+            if (random.nextDouble() < probabilidad) {
+                codigos.add(codigo);
+            }
+        });
+        if (codigos.isEmpty()) {
+            codigos.add("CJAHRR");
+        }
+        return codigos;
+    }
+}
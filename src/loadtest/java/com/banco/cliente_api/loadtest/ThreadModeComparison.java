@@ -0,0 +1,143 @@
+package com.banco.cliente_api.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.HdrHistogram.Histogram;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+
+/**
+ * Compara la API con hilos de plataforma (pool de Tomcat) contra hilos virtuales (spring.threads.virtual.enabled)
+ * bajo la misma carga de modelo cerrado con muchos usuarios concurrentes. Cada modo corre en su propia JVM
+ * con -Djdk.tracePinnedThreads=short: las líneas de anclaje (hilo virtual bloqueado dentro de un monitor)
+ * se cuentan en la salida del proceso.
+ * Requiere Java 21+: mvn -Pjava21,loadtest test-compile exec:exec@threads -Dthreads.args="--usuarios=1000"
+ */
+public class ThreadModeComparison {
+
+    private static final Duration TIMEOUT_ARRANQUE = Duration.ofMinutes(2);
+    private static final int TAMANIO_LOTE_ALTA = 100;
+    private static final String LINEA_ANCLAJE = "<== monitors";
+
+    private record Resultado(String modo, double solicitudesPorSegundo, Histogram latencias, long errores, long rechazos,
+            long anclajes) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Los hilos virtuales requieren Java 21+ (JVM actual: " + Runtime.version()
+                    + "). Compilar y ejecutar con -Pjava21 sobre un JDK 21.");
+        }
+        Map<String, String> opciones = LoadTestConfig.opciones(args);
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(opciones.getOrDefault("clientes", "10000")),
+                LoadTestConfig.Modelo.CERRADO,
+                Integer.parseInt(opciones.getOrDefault("usuarios", "1000")),
+                0,
+                Duration.ofSeconds(Long.parseLong(opciones.getOrDefault("duracion", "30"))),
+                Duration.ofSeconds(Long.parseLong(opciones.getOrDefault("calentamiento", "10"))),
+                Integer.parseInt(opciones.getOrDefault("lote", "10")),
+                Long.parseLong(opciones.getOrDefault("semilla", "42")));
+
+        Path logs = Path.of("target", "threads");
+        Files.createDirectories(logs);
+        System.out.println("Carga: " + config.descripcion());
+
+        List<Resultado> resultados = new ArrayList<>();
+        resultados.add(correr("plataforma", List.of(), config, logs));
+        resultados.add(correr("virtual", List.of("--spring.threads.virtual.enabled=true"), config, logs));
+
+        System.out.printf("%n%-12s %10s %9s %9s %9s %8s %8s %9s%n",
+                "modo", "req/s", "p50 ms", "p99 ms", "max ms", "errores", "503", "anclajes");
+        for (Resultado resultado : resultados) {
+            Histogram latencias = resultado.latencias();
+            System.out.printf("%-12s %10.1f %9.2f %9.2f %9.2f %8d %8d %9d%n",
+                    resultado.modo(),
+                    resultado.solicitudesPorSegundo(),
+                    latencias.getValueAtPercentile(50) / 1000.0,
+                    latencias.getValueAtPercentile(99) / 1000.0,
+                    latencias.getMaxValue() / 1000.0,
+                    resultado.errores(),
+                    resultado.rechazos(),
+                    resultado.anclajes());
+        }
+        System.out.println("Salida de cada API (con las trazas de anclaje): " + logs.toAbsolutePath());
+    }
+
+    private static Resultado correr(String modo, List<String> argumentosModo, LoadTestConfig config, Path logs)
+            throws Exception {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.profiles.active=test",
+                // El limitador de tasa por IP rechazaría la carga: todo sale de 127.0.0.1
+                "--banco.app.ratelimit.enabled=false",
+                // Los bulkheads cortarían con 503 la concurrencia que se quiere medir
+                "--banco.app.bulkhead.enabled=false",
+                // El límite adaptativo bajaría la concurrencia admitida al ver crecer la latencia bajo carga
+                "--banco.app.limite-adaptativo.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.banco.cliente_api=WARN"));
+        argumentos.addAll(argumentosModo);
+        Path salida = logs.resolve(modo + ".log");
+
+        System.out.printf("%n=== Hilos %s ===%n", modo);
+        ExecutorService httpExecutor = Executors.newCachedThreadPool();
+        try (ApiProcess proceso = ApiProcess.iniciar(List.of("-Djdk.tracePinnedThreads=short"), null, argumentos, salida)) {
+            proceso.esperarListo(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build(), TIMEOUT_ARRANQUE);
+
+            ApiClient api = new ApiClient(proceso.baseUrl(), httpExecutor);
+            api.signin("admin", "adminpass");
+            List<String> dnis = altaClientes(api, config);
+
+            WorkloadDriver driver = new WorkloadDriver(api, dnis, config);
+            driver.ejecutar(config.calentamiento(), new OperationStats());
+            OperationStats stats = new OperationStats();
+            driver.ejecutar(config.duracion(), stats);
+
+            double segundos = config.duracion().toMillis() / 1000.0;
+            stats.imprimir(System.out, segundos);
+            stats.exportar(logs.resolve(modo));
+            Histogram total = stats.total();
+            return new Resultado(modo, total.getTotalCount() / segundos, total, stats.totalErrores(), stats.totalRechazos(),
+                    contarAnclajes(salida));
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * La API corre en otro proceso: los clientes sintéticos se dan de alta por HTTP, en lotes.
+     */
+    private static List<String> altaClientes(ApiClient api, LoadTestConfig config) throws Exception {
+        Random random = new Random(config.semilla());
+        List<String> dnis = new ArrayList<>(config.clientes());
+        List<ClienteRequestDTO> lote = new ArrayList<>(TAMANIO_LOTE_ALTA);
+        for (int i = 0; i < config.clientes(); i++) {
+            long dni = SyntheticDataGenerator.PRIMER_DNI + i;
+            lote.add(SyntheticDataGenerator.request(dni, random));
+            dnis.add(String.valueOf(dni));
+            if (lote.size() == TAMANIO_LOTE_ALTA || i == config.clientes() - 1) {
+                int status = api.enviarSincronico(api.crearBatch(lote));
+                if (status != 201) {
+                    throw new IllegalStateException("Falló el alta de clientes sintéticos: HTTP " + status);
+                }
+                lote.clear();
+            }
+        }
+        return dnis;
+    }
+
+    private static long contarAnclajes(Path salida) throws Exception {
+        try (var lineas = Files.lines(salida)) {
+            return lineas.filter(linea -> linea.contains(LINEA_ANCLAJE)).count();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.banco.cliente_api.loadtest;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+
+/**
+ * Genera la carga contra la API con la mezcla de Operacion.
+ * - Modelo cerrado: N usuarios virtuales, cada uno espera la respuesta antes de enviar la siguiente solicitud.
+ *   Mide la capacidad del sistema, pero si el servidor se frena también se frena la carga.
+ * - Modelo abierto: llegadas Poisson a tasa fija, independientes de las respuestas. La latencia se mide desde
+ *   el instante programado de la llegada, no desde el envío real, para no ocultar las demoras del generador
+ *   (omisión coordinada).
+ */
+class WorkloadDriver {
+
+    // Rango de DNIs de las altas por lote, separado del de SyntheticDataGenerator para no chocar
+    private static final long PRIMER_DNI_ALTAS = 90_000_000L;
+    private static final Duration ESPERA_PENDIENTES = Duration.ofSeconds(30);
+    private static final int SIN_RESPUESTA = 0;
+
+    private final ApiClient api;
+    private final List<String> dnis;
+    private final LoadTestConfig config;
+    private final List<String> codigosProductos = new ArrayList<>(SyntheticDataGenerator.DISTRIBUCION_PRODUCTOS.keySet());
+    private final AtomicLong proximoDniAlta = new AtomicLong(PRIMER_DNI_ALTAS);
+    private final AtomicLong semillas;
+
+    WorkloadDriver(ApiClient api, List<String> dnis, LoadTestConfig config) {
+        this.api = api;
+        this.dnis = dnis;
+        this.config = config;
+        this.semillas = new AtomicLong(config.semilla());
+    }
+
+    void ejecutar(Duration duracion, OperationStats stats) throws InterruptedException {
+        if (config.modelo() == LoadTestConfig.Modelo.CERRADO) {
+            ejecutarCerrado(duracion, stats);
+        } else {
+            ejecutarAbierto(duracion, stats);
+        }
+        stats.cerrar();
+    }
+
+    private void ejecutarCerrado(Duration duracion, OperationStats stats) throws InterruptedException {
+        long fin = System.nanoTime() + duracion.toNanos();
+        ExecutorService usuarios = Executors.newFixedThreadPool(config.usuarios());
+        for (int i = 0; i < config.usuarios(); i++) {
+            Random random = new Random(semillas.incrementAndGet());
+            usuarios.execute(() -> {
+                while (System.nanoTime() < fin) {
+                    Operacion operacion = Operacion.elegir(random);
+                    HttpRequest request = solicitud(operacion, random);
+                    long inicio = System.nanoTime();
+                    int status;
+                    try {
+                        status = api.enviarSincronico(request);
+                    } catch (Exception e) {
+                        status = SIN_RESPUESTA;
+                    }
+                    stats.registrar(operacion, System.nanoTime() - inicio, status);
+                }
+            });
+        }
+        usuarios.shutdown();
+        usuarios.awaitTermination(duracion.plus(ESPERA_PENDIENTES).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void ejecutarAbierto(Duration duracion, OperationStats stats) throws InterruptedException {
+        Random random = new Random(semillas.incrementAndGet());
+        double intervaloMedioNanos = TimeUnit.SECONDS.toNanos(1) / config.tasaPorSegundo();
+        AtomicInteger pendientes = new AtomicInteger();
+        CountDownLatch sinPendientes = new CountDownLatch(1);
+        // La última respuesta libera la espera según haya terminado el envío, no según fin: el bucle sale al
+        // programar una llegada posterior a fin, que puede ser antes de fin en el reloj
+        AtomicBoolean envioTerminado = new AtomicBoolean();
+
+        long fin = System.nanoTime() + duracion.toNanos();
+        long programada = System.nanoTime();
+        while (true) {
+            // Tiempo entre llegadas exponencial: proceso de Poisson con la tasa configurada
+            programada += (long) (-Math.log(1 - random.nextDouble()) * intervaloMedioNanos);
+            if (programada >= fin) {
+                break;
+            }
+            long espera;
+            while ((espera = programada - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            Operacion operacion = Operacion.elegir(random);
+            long llegada = programada;
+            pendientes.incrementAndGet();
+            api.enviar(solicitud(operacion, random)).whenComplete((status, error) -> {
+                stats.registrar(operacion, System.nanoTime() - llegada, error == null ? status : SIN_RESPUESTA);
+                if (pendientes.decrementAndGet() == 0 && envioTerminado.get()) {
+                    sinPendientes.countDown();
+                }
+            });
+        }
+        // Después de marcar el fin del envío, o la última respuesta ve la marca, o aquí se ve pendientes en 0
+        envioTerminado.set(true);
+        if (pendientes.get() > 0) {
+            sinPendientes.await(ESPERA_PENDIENTES.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private HttpRequest solicitud(Operacion operacion, Random random) {
+        return switch (operacion) {
+            case LEER_POR_DNI -> api.leerPorDni(dniExistente(random));
+            case POR_PRODUCTO -> api.porProducto(codigosProductos.get(random.nextInt(codigosProductos.size())));
+            case ACTUALIZAR_TELEFONO -> api.actualizarTelefono(dniExistente(random), "11" + (40_000_000 + random.nextInt(9_999_999)));
+            case CREAR_BATCH -> api.crearBatch(lote(random));
+        };
+    }
+
+    private String dniExistente(Random random) {
+        return dnis.get(random.nextInt(dnis.size()));
+    }
+
+    private List<ClienteRequestDTO> lote(Random random) {
+        List<ClienteRequestDTO> lote = new ArrayList<>(config.tamanioLote());
+        for (int i = 0; i < config.tamanioLote(); i++) {
+            lote.add(SyntheticDataGenerator.request(proximoDniAlta.getAndIncrement(), random));
+        }
+        return lote;
+    }
+}
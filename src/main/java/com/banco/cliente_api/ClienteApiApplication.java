@@ -2,8 +2,10 @@ package com.banco.cliente_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ClienteApiApplication {
 
 	public static void main(String[] args) {
@@ -1,6 +1,7 @@
 package com.banco.cliente_api.adapter.web.controller;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -9,6 +10,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -24,12 +26,22 @@ import org.springframework.web.bind.annotation.RestController;
 import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
 import com.banco.cliente_api.adapter.web.dto.ClienteResponseDTO;
 import com.banco.cliente_api.adapter.web.dto.ClienteTelefonoUpdateDTO;
+import com.banco.cliente_api.adapter.web.dto.ImportRegistroResultadoDTO;
+import com.banco.cliente_api.exception.BatchPartiallyProcessedException;
+import com.banco.cliente_api.exception.BatchTooLargeException;
 import com.banco.cliente_api.exception.ClienteNotFoundException;
 import com.banco.cliente_api.exception.ClientesPorProductoNotFoundException;
 import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.observability.jfr.BatchChunkEvent;
+import com.banco.cliente_api.service.AltaCliente;
+import com.banco.cliente_api.service.ClienteConsultaService;
+import com.banco.cliente_api.service.ClienteImportador;
 import com.banco.cliente_api.service.ClienteService;
+import com.banco.cliente_api.service.ImportRegistro;
 import com.banco.cliente_api.util.DtoConverter;
+import com.banco.cliente_api.util.JsonArrayChunkReader;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -42,7 +54,10 @@ public class ClienteController {
     private static final Logger logger = LoggerFactory.getLogger(ClienteController.class);
 
     private final ClienteService clienteService;
+    private final ClienteConsultaService clienteConsultaService;
     private final DtoConverter dtoConverter;
+    private final JsonArrayChunkReader jsonArrayChunkReader;
+    private final ClienteImportador clienteImportador;
 
     
     /**
@@ -71,36 +86,88 @@ public class ClienteController {
 
     /**
      * Crea múltiples clientes en una sola solicitud.
-     * Recibe una lista de ClienteRequestDTO en el cuerpo.
+     * Recibe un arreglo JSON de ClienteRequestDTO en el cuerpo, que se lee y valida por bloques a medida que llega.
+     * Cada bloque se crea completo o no se crea (ClienteService.crearClientes).
      * Requiere el rol 'ADMIN'.
      *
-     * @param clientesRequestDTOs La lista de DTOs de clientes a crear.
+     * @param solicitud La solicitud, cuyo cuerpo es el arreglo JSON de DTOs de clientes a crear.
      * @return ResponseEntity con la lista de ClienteResponseDTO de los clientes creados y HttpStatus.CREATED (201).
+     * @throws BatchTooLargeException si el arreglo supera banco.app.batch.maxElementos o el cuerpo banco.app.batch.maxBytes (413).
+     * @throws BatchPartiallyProcessedException si el error ocurre con bloques ya procesados (la respuesta los incluye).
      */
-    @PostMapping("/batch") // /api/clientes/batch
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE) // /api/clientes/batch
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<ClienteResponseDTO>> crearClientesBatch(@Valid @RequestBody List<ClienteRequestDTO> clientesRequestDTOs) {
-        if (clientesRequestDTOs == null || clientesRequestDTOs.isEmpty()) {
+    public ResponseEntity<List<ClienteResponseDTO>> crearClientesBatch(HttpServletRequest solicitud) {
+        List<ClienteResponseDTO> responseDTOs = new ArrayList<>();
+        int total = jsonArrayChunkReader.leer(solicitud, ClienteRequestDTO.class, responseDTOs, (indiceBloque, bloque) -> {
+            logger.info("Creando bloque {} de clientes. Cantidad: {}", indiceBloque, bloque.size());
+            BatchChunkEvent event = BatchChunkEvent.iniciar("POST /api/clientes/batch", indiceBloque, bloque.size());
+            int creados = 0;
+            try {
+                List<AltaCliente> altas = bloque.stream()
+                        .map(dto -> new AltaCliente(dtoConverter.convertToEntity(dto),
+                                new HashSet<>(dto.getProductosBancariosCodigos())))
+                        .toList();
+                for (Cliente nuevoCliente : clienteService.crearClientes(altas)) {
+                    responseDTOs.add(dtoConverter.convertToDto(nuevoCliente));
+                    creados++;
+                }
+            } finally {
+                event.terminar(creados, bloque.size() - creados);
+            }
+        });
+        if (total == 0) {
             logger.warn("La lista de clientes a crear en el lote está vacía.");
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        logger.info("Recibida la solicitud para crear múltiples clientes. Cantidad: {}", clientesRequestDTOs.size());
-
-        List<ClienteResponseDTO> responseDTOs = new ArrayList<>();
-        for (ClienteRequestDTO dto : clientesRequestDTOs) {
-            logger.debug("Procesando cliente con DNI: {}", dto.getDni());
-            Cliente cliente = dtoConverter.convertToEntity(dto);
-            Set<String> productosBancariosCodigosSet = dto.getProductosBancariosCodigos()
-                    .stream()
-                    .collect(Collectors.toSet());
-            Cliente nuevoCliente = clienteService.crearCliente(cliente, productosBancariosCodigosSet);
-            responseDTOs.add(dtoConverter.convertToDto(nuevoCliente));
-        }
 
         logger.info("Creados {} cliente(s) exitosamente.", responseDTOs.size());
         return new ResponseEntity<>(responseDTOs, HttpStatus.CREATED);
     }
 
+    /**
+     * Crea múltiples clientes informando el resultado de cada uno, como deleteClientesBatch (?modo=parcial).
+     * Cada bloque se valida contra los DNIs y productos existentes antes de escribir y se confirma en una
+     * sola transacción: un cliente inválido (datos, DNI existente o repetido, producto inexistente) se
+     * informa como error y no impide el alta del resto.
+     * Requiere el rol 'ADMIN'.
+     *
+     * @param solicitud La solicitud, cuyo cuerpo es el arreglo JSON de DTOs de clientes a crear.
+     * @return ResponseEntity con un ImportRegistroResultadoDTO por elemento, en el orden recibido, y HttpStatus.OK (200).
+     * @throws BatchTooLargeException si el arreglo supera banco.app.batch.maxElementos o el cuerpo banco.app.batch.maxBytes (413).
+     * @throws BatchPartiallyProcessedException si el error ocurre con bloques ya procesados (la respuesta los incluye).
+     */
+    @PostMapping(value = "/batch", params = "modo=parcial", consumes = MediaType.APPLICATION_JSON_VALUE) // /api/clientes/batch?modo=parcial
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ImportRegistroResultadoDTO>> crearClientesBatchParcial(HttpServletRequest solicitud) {
+        List<ImportRegistroResultadoDTO> results = new ArrayList<>();
+        int total = jsonArrayChunkReader.leer(solicitud, ClienteRequestDTO.class, false, results, (indiceBloque, bloque) -> {
+            logger.info("Creando bloque {} de clientes (modo parcial). Cantidad: {}", indiceBloque, bloque.size());
+            BatchChunkEvent event = BatchChunkEvent.iniciar("POST /api/clientes/batch?modo=parcial", indiceBloque, bloque.size());
+            int creados = 0;
+            try {
+                int primerIndice = results.size();
+                List<ImportRegistro> registros = new ArrayList<>(bloque.size());
+                for (int i = 0; i < bloque.size(); i++) {
+                    registros.add(ImportRegistro.de(primerIndice + i, bloque.get(i)));
+                }
+                for (ImportRegistroResultadoDTO resultado : clienteImportador.importarEnTransaccion(registros)) {
+                    results.add(resultado);
+                    creados += resultado.isCreado() ? 1 : 0;
+                }
+            } finally {
+                event.terminar(creados, bloque.size() - creados);
+            }
+        });
+        if (total == 0) {
+            logger.warn("La lista de clientes a crear en el lote está vacía.");
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        logger.info("Procesada solicitud de alta parcial por lotes para {} cliente(s).", total);
+        return ResponseEntity.ok(results);
+    }
+
    
     /**
      * Recupera todos los clientes.
@@ -130,8 +197,7 @@ public class ClienteController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR') or hasRole('USER')")
     public ResponseEntity<ClienteResponseDTO> getClienteByDni(@PathVariable String dni) {
         logger.info("Recibida solicitud para obtener cliente con DNI: {}", dni);
-        return clienteService.getClienteByDni(dni)
-                .map(dtoConverter::convertToDto)
+        return clienteConsultaService.getClienteByDni(dni)
                 .map(ResponseEntity::ok)
                 .orElseThrow(() -> {
                     logger.warn("Cliente con DNI {} no encontrado en el controlador.", dni);
@@ -151,9 +217,7 @@ public class ClienteController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR') or hasRole('USER')")
     public ResponseEntity<List<ClienteResponseDTO>> getClientesByProductoBancario(@PathVariable String codigoProducto) {
         logger.info("Recibida solicitud para obtener clientes por producto bancario con código: {}", codigoProducto);
-        List<ClienteResponseDTO> clientes = clienteService.getClientesByProductoBancario(codigoProducto).stream()
-                .map(dtoConverter::convertToDto)
-                .toList();
+        List<ClienteResponseDTO> clientes = clienteConsultaService.getClientesByProductoBancario(codigoProducto);
         if (clientes.isEmpty()) {
             logger.warn("No se encontraron clientes para el producto bancario {}.", codigoProducto);
             throw new ClientesPorProductoNotFoundException(codigoProducto);
@@ -188,27 +252,37 @@ public class ClienteController {
 
     /**
      * Actualiza el teléfono de múltiples clientes en una sola solicitud.
-     * Recibe una lista de ClienteTelefonoUpdateDTO en el cuerpo.
+     * Recibe un arreglo JSON de ClienteTelefonoUpdateDTO en el cuerpo, que se lee y valida por bloques a medida que llega.
      * Permite a usuarios con roles 'ADMIN', 'MODERATOR' o 'USER'.
      *
-     * @param updates La lista de DTOs con DNI y el nuevo teléfono para cada cliente.
+     * @param solicitud La solicitud, cuyo cuerpo es el arreglo JSON de DTOs con DNI y el nuevo teléfono para cada cliente.
      * @return ResponseEntity con la lista de ClienteResponseDTO de los clientes actualizados y HttpStatus.OK (200).
+     * @throws BatchTooLargeException si el arreglo supera banco.app.batch.maxElementos o el cuerpo banco.app.batch.maxBytes (413).
+     * @throws BatchPartiallyProcessedException si el error ocurre con bloques ya procesados (la respuesta los incluye).
      */
-    @PatchMapping("/telefono/batch") // /api/clientes/telefono/batch
+    @PatchMapping(value = "/telefono/batch", consumes = MediaType.APPLICATION_JSON_VALUE) // /api/clientes/telefono/batch
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR') or hasRole('USER')")
-    public ResponseEntity<List<ClienteResponseDTO>> updateClientesTelefonoBatch(@Valid @RequestBody List<ClienteTelefonoUpdateDTO> updates) {
-        if (updates == null || updates.isEmpty()) {
+    public ResponseEntity<List<ClienteResponseDTO>> updateClientesTelefonoBatch(HttpServletRequest solicitud) {
+        List<ClienteResponseDTO> updatedClientes = new ArrayList<>();
+        int total = jsonArrayChunkReader.leer(solicitud, ClienteTelefonoUpdateDTO.class, updatedClientes, (indiceBloque, bloque) -> {
+            logger.info("Actualizando teléfonos del bloque {}. Cantidad: {}", indiceBloque, bloque.size());
+            BatchChunkEvent event = BatchChunkEvent.iniciar("PATCH /api/clientes/telefono/batch", indiceBloque, bloque.size());
+            int actualizados = 0;
+            try {
+                for (ClienteTelefonoUpdateDTO updateDto : bloque) {
+                    logger.debug("Actualizando teléfono para DNI: {}", updateDto.getDni());
+                    Cliente clienteActualizado = clienteService.updateClienteTelefono(updateDto.getDni(), updateDto.getNuevoTelefono());
+                    updatedClientes.add(dtoConverter.convertToDto(clienteActualizado));
+                    actualizados++;
+                }
+            } finally {
+                event.terminar(actualizados, bloque.size() - actualizados);
+            }
+        });
+        if (total == 0) {
             logger.warn("La lista de actualizaciones de teléfono para el lote está vacía.");
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        logger.info("Recibida la solicitud para actualizar teléfonos de múltiples clientes. Cantidad: {}", updates.size());
-
-        List<ClienteResponseDTO> updatedClientes = new ArrayList<>();
-        for (ClienteTelefonoUpdateDTO updateDto : updates) {
-            logger.debug("Actualizando teléfono para DNI: {}", updateDto.getDni());
-            Cliente clienteActualizado = clienteService.updateClienteTelefono(updateDto.getDni(), updateDto.getNuevoTelefono());
-            updatedClientes.add(dtoConverter.convertToDto(clienteActualizado));
-        }
 
         logger.info("Teléfono(s) de {} cliente(s) actualizado(s) exitosamente.", updatedClientes.size());
         return ResponseEntity.ok(updatedClientes);
@@ -241,34 +315,41 @@ public class ClienteController {
 
     /**
      * Elimina múltiples clientes.
-     * Recibe una lista de Strings (DNI's) en el cuerpo de la solicitud.
+     * Recibe un arreglo JSON de Strings (DNI's) en el cuerpo, que se lee por bloques a medida que llega.
      * Requiere el rol 'ADMIN'.
      *
-     * @param dnisToDelete La lista de DNIs de los clientes a eliminar.
+     * @param solicitud La solicitud, cuyo cuerpo es el arreglo JSON de DNIs de los clientes a eliminar.
      * @return ResponseEntity con una lista de mapas (DNI, estado) y HttpStatus.OK (200).
+     * @throws BatchTooLargeException si el arreglo supera banco.app.batch.maxElementos o el cuerpo banco.app.batch.maxBytes (413).
+     * @throws BatchPartiallyProcessedException si el error ocurre con bloques ya procesados (la respuesta los incluye).
      */
-    @DeleteMapping("/batch") // /api/clientes/batch
+    @DeleteMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE) // /api/clientes/batch
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Map<String, String>>> deleteClientesBatch(@RequestBody List<String> dnisToDelete) {
-        if (dnisToDelete == null || dnisToDelete.isEmpty()) {
-            logger.warn("La lista de DNIs a eliminar en el borrado por lotes está vacía.");
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
-        logger.info("Recibida la solicitud para eliminar múltiples clientes (batch). Cantidad: {}", dnisToDelete.size());
-
+    public ResponseEntity<List<Map<String, String>>> deleteClientesBatch(HttpServletRequest solicitud) {
         List<Map<String, String>> results = new ArrayList<>();
-        for (String dni : dnisToDelete) {
-            try {
-                clienteService.deleteCliente(dni);
-                results.add(Map.of("dni", dni, "status", "eliminado", "message", "Cliente eliminado exitosamente."));
-                logger.info("Cliente con DNI {} eliminado exitosamente.", dni);
-            } catch (Exception e) {
-                results.add(Map.of("dni", dni, "status", "error", "message", e.getMessage()));
-                logger.error("Error al eliminar cliente con DNI {}: {}", dni, e.getMessage());
+        int total = jsonArrayChunkReader.leer(solicitud, String.class, results, (indiceBloque, bloque) -> {
+            logger.info("Eliminando bloque {} de clientes. Cantidad: {}", indiceBloque, bloque.size());
+            BatchChunkEvent event = BatchChunkEvent.iniciar("DELETE /api/clientes/batch", indiceBloque, bloque.size());
+            int eliminados = 0;
+            for (String dni : bloque) {
+                try {
+                    clienteService.deleteCliente(dni);
+                    results.add(Map.of("dni", dni, "status", "eliminado", "message", "Cliente eliminado exitosamente."));
+                    eliminados++;
+                    logger.info("Cliente con DNI {} eliminado exitosamente.", dni);
+                } catch (Exception e) {
+                    results.add(Map.of("dni", dni, "status", "error", "message", e.getMessage()));
+                    logger.error("Error al eliminar cliente con DNI {}: {}", dni, e.getMessage());
+                }
             }
+            event.terminar(eliminados, bloque.size() - eliminados);
+        });
+        if (total == 0) {
+            logger.warn("La lista de DNIs a eliminar en el borrado por lotes está vacía.");
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
 
-        logger.info("Procesada solicitud de eliminación por lotes para {} cliente(s).", dnisToDelete.size());
+        logger.info("Procesada solicitud de eliminación por lotes para {} cliente(s).", total);
         return ResponseEntity.ok(results);
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.banco.cliente_api.adapter.web.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.banco.cliente_api.adapter.web.dto.ImportJobDTO;
+import com.banco.cliente_api.adapter.web.dto.ImportRegistroResultadoDTO;
+import com.banco.cliente_api.adapter.web.dto.ImportResumenDTO;
+import com.banco.cliente_api.exception.BatchTooLargeException;
+import com.banco.cliente_api.exception.ImportJobNotFoundException;
+import com.banco.cliente_api.exception.ImportJobRejectedException;
+import com.banco.cliente_api.exception.InvalidInputException;
+import com.banco.cliente_api.model.ImportJob;
+import com.banco.cliente_api.service.CsvImportRegistroReader;
+import com.banco.cliente_api.service.ImportJobService;
+import com.banco.cliente_api.service.ImportRegistroReader;
+import com.banco.cliente_api.service.ImportStreamService;
+import com.banco.cliente_api.service.NdjsonImportRegistroReader;
+import com.banco.cliente_api.util.DtoConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/clientes/importaciones")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ImportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobController.class);
+
+    public static final String RUTA_STREAM = "/api/clientes/importaciones/stream";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int MAX_ERRORES_POR_PAGINA = 1000;
+    private static final byte FIN_DE_LINEA = '\n';
+
+    private final ImportJobService importJobService;
+    private final ImportStreamService importStreamService;
+    private final DtoConverter dtoConverter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Registra una importación masiva y responde de inmediato con el id del trabajo.
+     * El cuerpo es el mismo arreglo de ClienteRequestDTO que recibe /api/clientes/batch, pero no se
+     * convierte a objetos en la solicitud ni se carga en memoria: se guarda tal cual, leído como stream,
+     * y se procesa en segundo plano por lotes.
+     * Requiere el rol 'ADMIN'.
+     *
+     * @param request La solicitud, cuyo cuerpo es el arreglo JSON de clientes a crear.
+     * @return ResponseEntity con el ImportJobDTO, HttpStatus.ACCEPTED (202) y la URL de consulta en Location.
+     * @throws BatchTooLargeException si el cuerpo supera banco.app.importacion.maxBytes (413).
+     * @throws ImportJobRejectedException si la cola de importaciones está llena (503).
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE) // /api/clientes/importaciones
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobDTO> crearImportacion(HttpServletRequest request, Principal principal) throws IOException {
+        logger.info("Recibida solicitud de importación masiva de {} bytes.", request.getContentLengthLong());
+        ImportJob job = importJobService.crear(request.getInputStream(), request.getContentLengthLong(), principal.getName());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/clientes/importaciones/" + job.getId()))
+                .body(dtoConverter.convertImportJobToDto(job));
+    }
+
+    /**
+     * Importa clientes leyendo la solicitud a medida que llega, sin cargarla completa en memoria.
+     * Acepta CSV con encabezado (text/csv, productos separados por '|') o un cliente JSON por línea
+     * (application/x-ndjson). Cada lote se confirma en su transacción y sus resultados se escriben de
+     * inmediato, un objeto JSON por línea; la última línea es {"resumen": {...}}.
+     * Requiere el rol 'ADMIN'.
+     *
+     * @param soloErrores Si es true, solo se escriben los registros rechazados (y el resumen).
+     * @throws InvalidInputException si el CSV no tiene el encabezado esperado (antes de escribir la respuesta).
+     */
+    @PostMapping(value = "/stream", consumes = { TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE }) // /api/clientes/importaciones/stream
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importarStream(HttpServletRequest request, HttpServletResponse response,
+                               @RequestParam(defaultValue = "false") boolean soloErrores) throws IOException {
+        logger.info("Recibida solicitud de importación por streaming ({}).", request.getContentType());
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        MediaType tipo = MediaType.parseMediaType(request.getContentType());
+
+        try (ImportRegistroReader lector = tipo.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? new NdjsonImportRegistroReader(request.getInputStream(), charset, objectMapper)
+                : new CsvImportRegistroReader(request.getInputStream(), objectMapper)) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            OutputStream salida = response.getOutputStream();
+
+            ImportResumenDTO resumen = importStreamService.importar(lector, resultados -> {
+                for (ImportRegistroResultadoDTO resultado : resultados) {
+                    if (!soloErrores || !resultado.isCreado()) {
+                        escribirLinea(salida, resultado);
+                    }
+                }
+                salida.flush();
+            });
+            escribirLinea(salida, Map.of("resumen", resumen));
+            salida.flush();
+        }
+    }
+
+    private void escribirLinea(OutputStream salida, Object valor) throws IOException {
+        salida.write(objectMapper.writeValueAsBytes(valor));
+        salida.write(FIN_DE_LINEA);
+    }
+
+    /**
+     * Estado y avance de una importación: procesados, exitosos, fallidos, tasa y tiempo restante estimado.
+     * Requiere el rol 'ADMIN'.
+     *
+     * @param id El id del trabajo.
+     * @return ResponseEntity con el ImportJobDTO y HttpStatus.OK (200).
+     * @throws ImportJobNotFoundException si el trabajo no existe.
+     */
+    @GetMapping("/{id}") // /api/clientes/importaciones/{id}
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobDTO> getImportacion(@PathVariable Long id) {
+        return ResponseEntity.ok(dtoConverter.convertImportJobToDto(importJobService.obtener(id)));
+    }
+
+    /**
+     * Registros rechazados de una importación, ordenados por su posición en el arreglo recibido.
+     * Requiere el rol 'ADMIN'.
+     *
+     * @param id El id del trabajo.
+     * @param pagina Número de página (desde 0).
+     * @param tamanio Cantidad de errores por página (máximo 1000).
+     * @return ResponseEntity con la lista de ImportRegistroResultadoDTO y HttpStatus.OK (200).
+     */
+    @GetMapping("/{id}/errores") // /api/clientes/importaciones/{id}/errores
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ImportRegistroResultadoDTO>> getErroresImportacion(@PathVariable Long id,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "100") int tamanio) {
+        if (pagina < 0 || tamanio < 1 || tamanio > MAX_ERRORES_POR_PAGINA) {
+            throw new InvalidInputException("La página debe ser >= 0 y el tamaño entre 1 y " + MAX_ERRORES_POR_PAGINA + ".");
+        }
+        List<ImportRegistroResultadoDTO> errores = importJobService.errores(id, pagina, tamanio).stream()
+                .map(dtoConverter::convertImportJobErrorToDto)
+                .toList();
+        return ResponseEntity.ok(errores);
+    }
+
+    /**
+     * Cancela una importación pendiente o en curso. Los lotes ya confirmados no se deshacen.
+     * Requiere el rol 'ADMIN'.
+     *
+     * @param id El id del trabajo.
+     * @return ResponseEntity con el ImportJobDTO cancelado y HttpStatus.OK (200).
+     * @throws InvalidInputException si el trabajo ya terminó.
+     */
+    @PostMapping("/{id}/cancelar") // /api/clientes/importaciones/{id}/cancelar
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobDTO> cancelarImportacion(@PathVariable Long id, Principal principal) {
+        logger.info("Recibida solicitud para cancelar la importación {}.", id);
+        return ResponseEntity.ok(dtoConverter.convertImportJobToDto(importJobService.cancelar(id, principal.getName())));
+    }
+}
@@ -0,0 +1,32 @@
+package com.banco.cliente_api.adapter.web.dto;
+
+import java.time.LocalDateTime;
+
+import com.banco.cliente_api.model.ImportJobEstado;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.Data;
+
+@Data
+public class ImportJobDTO {
+    private Long id;
+    private ImportJobEstado estado;
+    private String usuario;
+    private int total;
+    private int procesados;
+    private int exitosos;
+    private int fallidos;
+    private double porcentaje;
+    // Tasa de la corrida actual (o de la última, si ya terminó); null hasta que se confirma el primer lote
+    private Double registrosPorSegundo;
+    // Solo mientras está EN_CURSO
+    private Long etaSegundos;
+    private String mensaje;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime creado;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime iniciado;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime finalizado;
+}
@@ -0,0 +1,35 @@
+package com.banco.cliente_api.adapter.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un registro importado. indice es la posición en la entrada (desde 0);
+ * status es "creado" o "error", como en las respuestas de las operaciones por lotes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRegistroResultadoDTO {
+
+    public static final String CREADO = "creado";
+    public static final String ERROR = "error";
+
+    private int indice;
+    private String dni;
+    private String status;
+    private String message;
+
+    public static ImportRegistroResultadoDTO creado(int indice, String dni) {
+        return new ImportRegistroResultadoDTO(indice, dni, CREADO, "Cliente creado exitosamente.");
+    }
+
+    public static ImportRegistroResultadoDTO error(int indice, String dni, String message) {
+        return new ImportRegistroResultadoDTO(indice, dni, ERROR, message);
+    }
+
+    public boolean isCreado() {
+        return CREADO.equals(status);
+    }
+}
@@ -0,0 +1,21 @@
+package com.banco.cliente_api.adapter.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Última línea de una importación por streaming. error solo está presente si la lectura se cortó
+ * antes del final de la entrada (ej: comillas sin cerrar en el CSV); lo confirmado hasta ahí queda.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResumenDTO {
+    private int total;
+    private int exitosos;
+    private int fallidos;
+    private double segundos;
+    private double registrosPorSegundo;
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.banco.cliente_api.adapter.web.dto.error;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Error de un endpoint batch cortado a mitad de camino: además del error, los elementos procesados antes
+ * del corte y sus resultados, con el mismo formato que la respuesta exitosa del endpoint.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class BatchErrorResponse extends ErrorResponse {
+
+    private int procesados;
+    private List<?> confirmados;
+
+    public BatchErrorResponse(HttpStatus status, String message, String path, int procesados, List<?> confirmados) {
+        super(status, message, path);
+        this.procesados = procesados;
+        this.confirmados = confirmados;
+    }
+}
@@ -0,0 +1,29 @@
+package com.banco.cliente_api.exception;
+
+import java.util.List;
+
+/**
+ * Un endpoint batch se cortó (elemento inválido, lote demasiado grande, cliente inexistente) después de
+ * confirmar uno o más bloques. La causa define el status; confirmados es lo que ya quedó aplicado.
+ */
+public class BatchPartiallyProcessedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int procesados;
+	private final transient List<?> confirmados;
+
+	public BatchPartiallyProcessedException(RuntimeException causa, int procesados, List<?> confirmados) {
+        super(causa.getMessage() + " Se procesaron " + procesados + " elemento(s) antes del error.", causa);
+        this.procesados = procesados;
+        this.confirmados = List.copyOf(confirmados);
+    }
+
+    public int getProcesados() {
+        return procesados;
+    }
+
+    public List<?> getConfirmados() {
+        return confirmados;
+    }
+}
@@ -0,0 +1,18 @@
+package com.banco.cliente_api.exception;
+
+/**
+ * Un endpoint batch recibió más elementos que banco.app.batch.maxElementos, o un cuerpo de más de
+ * banco.app.batch.maxBytes.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public BatchTooLargeException(int maxElementos) {
+        super("El lote supera el máximo de " + maxElementos + " elementos por solicitud.");
+    }
+
+    public BatchTooLargeException(long maxBytes) {
+        super("El cuerpo de la solicitud supera el máximo de " + maxBytes + " bytes.");
+    }
+}
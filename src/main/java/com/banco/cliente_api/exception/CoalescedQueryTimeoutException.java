@@ -0,0 +1,13 @@
+package com.banco.cliente_api.exception;
+
+/**
+ * Una solicitud esperó de más a la consulta idéntica en curso que comparte: el cliente debe reintentar.
+ */
+public class CoalescedQueryTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CoalescedQueryTimeoutException(long esperaMs) {
+        super("La consulta en curso no respondió en " + esperaMs + " ms. Reintente más tarde.");
+    }
+}
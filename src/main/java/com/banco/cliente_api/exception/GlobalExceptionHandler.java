@@ -23,6 +23,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import com.banco.cliente_api.adapter.web.dto.error.BatchErrorResponse;
 import com.banco.cliente_api.adapter.web.dto.error.ErrorResponse;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException; // Aunque no se usa directamente en un @ExceptionHandler aquí, puede ser útil.
 
@@ -126,6 +127,63 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    // Manejo de ImportJobNotFoundException
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobNotFoundException(ImportJobNotFoundException ex, HttpServletRequest request) {
+        logger.warn("ImportJobNotFoundException: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    // Manejo de ImportJobRejectedException (cola de importaciones llena)
+    @ExceptionHandler(ImportJobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobRejectedException(ImportJobRejectedException ex, HttpServletRequest request) {
+        logger.warn("ImportJobRejectedException: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Manejo de CoalescedQueryTimeoutException (la consulta compartida no terminó a tiempo)
+    @ExceptionHandler(CoalescedQueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleCoalescedQueryTimeoutException(CoalescedQueryTimeoutException ex, HttpServletRequest request) {
+        logger.warn("CoalescedQueryTimeoutException: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Manejo de BatchTooLargeException
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLargeException(BatchTooLargeException ex, HttpServletRequest request) {
+        logger.warn("BatchTooLargeException: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    // Manejo de BatchPartiallyProcessedException (error después de confirmar uno o más bloques)
+    @ExceptionHandler(BatchPartiallyProcessedException.class)
+    public ResponseEntity<BatchErrorResponse> handleBatchPartiallyProcessedException(BatchPartiallyProcessedException ex, HttpServletRequest request) {
+        logger.warn("BatchPartiallyProcessedException: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        HttpStatus status;
+        if (ex.getCause() instanceof BatchTooLargeException) {
+            status = HttpStatus.PAYLOAD_TOO_LARGE;
+        } else if (ex.getCause() instanceof ClienteNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        BatchErrorResponse errorResponse = new BatchErrorResponse(status, ex.getMessage(), request.getRequestURI(),
+                ex.getProcesados(), ex.getConfirmados());
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    // Manejo de TokenRefreshException (refresh token inválido, vencido o reutilizado)
+    @ExceptionHandler(TokenRefreshException.class)
+    public ResponseEntity<ErrorResponse> handleTokenRefreshException(TokenRefreshException ex, HttpServletRequest request) {
+        logger.warn("TokenRefreshException: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.FORBIDDEN, ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
+    }
+
     // Manejo de errores de autenticación
     @ExceptionHandler({BadCredentialsException.class, DisabledException.class})
     public ResponseEntity<ErrorResponse> handleAuthenticationException(Exception ex, WebRequest request) {
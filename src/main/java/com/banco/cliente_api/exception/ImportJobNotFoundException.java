@@ -0,0 +1,10 @@
+package com.banco.cliente_api.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ImportJobNotFoundException(Long id) {
+        super("Trabajo de importación no encontrado con id: " + id);
+    }
+}
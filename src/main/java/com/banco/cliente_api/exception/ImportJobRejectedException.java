@@ -0,0 +1,13 @@
+package com.banco.cliente_api.exception;
+
+/**
+ * La cola de importaciones está llena: el trabajo no se registra y el cliente debe reintentar más tarde.
+ */
+public class ImportJobRejectedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ImportJobRejectedException(int enCola) {
+        super("Hay " + enCola + " importaciones en espera. Reintente más tarde.");
+    }
+}
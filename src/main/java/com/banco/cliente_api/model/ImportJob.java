@@ -0,0 +1,75 @@
+package com.banco.cliente_api.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Importación masiva asíncrona de clientes. El avance (procesados, exitosos, fallidos) se actualiza
+ * en la misma transacción que confirma cada lote, así que siempre coincide con lo que quedó en la base.
+ * La versión detecta la cancelación concurrente: el lote que la encuentra se deshace.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobEstado estado;
+
+    private String usuario;
+
+    private int total;
+    private int procesados;
+    private int exitosos;
+    private int fallidos;
+
+    // Procesados al comenzar la corrida actual: la tasa y el ETA se calculan solo sobre esta corrida
+    private int procesadosAlIniciar;
+
+    @Column(length = 1000)
+    private String mensaje;
+
+    @Column(nullable = false)
+    private LocalDateTime creado;
+    private LocalDateTime iniciado;
+    private LocalDateTime finalizado;
+
+    @Version
+    private long version;
+
+    public ImportJob(String usuario, int total) {
+        this.estado = ImportJobEstado.PENDIENTE;
+        this.usuario = usuario;
+        this.total = total;
+        this.creado = LocalDateTime.now();
+    }
+
+    public void iniciar() {
+        estado = ImportJobEstado.EN_CURSO;
+        iniciado = LocalDateTime.now();
+        procesadosAlIniciar = procesados;
+    }
+
+    public void avanzar(int exitososLote, int fallidosLote) {
+        exitosos += exitososLote;
+        fallidos += fallidosLote;
+        procesados += exitososLote + fallidosLote;
+    }
+
+    public void terminar(ImportJobEstado estadoFinal, String mensaje) {
+        this.estado = estadoFinal;
+        this.mensaje = mensaje;
+        this.finalizado = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,29 @@
+package com.banco.cliente_api.model;
+
+import java.sql.Blob;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cuerpo recibido de una importación. Está en su propia tabla para que consultar el avance
+ * de un trabajo no lea el contenido completo. Es un Blob y no un byte[] para escribirlo y leerlo
+ * como stream (BlobProxy al guardar, getBinaryStream al procesar) sin tenerlo entero en memoria.
+ */
+@Entity
+@Table(name = "import_job_contenidos")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobContenido {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private Blob contenido;
+}
@@ -0,0 +1,36 @@
+package com.banco.cliente_api.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro rechazado de una importación: posición en el arreglo recibido, DNI (si se pudo leer) y motivo.
+ */
+@Entity
+@Table(name = "import_job_errores")
+@Getter
+@NoArgsConstructor
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    private int indice;
+
+    private String dni;
+
+    @Column(nullable = false, length = 1000)
+    private String mensaje;
+
+    public ImportJobError(Long jobId, int indice, String dni, String mensaje) {
+        this.jobId = jobId;
+        this.indice = indice;
+        this.dni = dni;
+        this.mensaje = mensaje;
+    }
+}
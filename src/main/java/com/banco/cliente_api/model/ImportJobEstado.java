@@ -0,0 +1,13 @@
+package com.banco.cliente_api.model;
+
+public enum ImportJobEstado {
+    PENDIENTE,
+    EN_CURSO,
+    COMPLETADO,
+    FALLIDO,
+    CANCELADO;
+
+    public boolean isTerminado() {
+        return this == COMPLETADO || this == FALLIDO || this == CANCELADO;
+    }
+}
@@ -0,0 +1,45 @@
+package com.banco.cliente_api.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Nombres y construcción de los timers propios de la API (prefijo "banco.").
+ * Los percentiles p50/p95/p99/p999 se configuran por nombre en application.properties
+ * (management.metrics.distribution.percentiles.banco), igual que para las métricas de Spring.
+ */
+public final class ApiMetrics {
+
+    public static final String JWT_VERIFICACION = "banco.jwt.verificacion";
+    public static final String DTO_CONVERSION = "banco.dto.conversion";
+    public static final String SQL_SENTENCIAS = "banco.sql.sentencias";
+    public static final String SQL_LENTAS = "banco.sql.lentas";
+    public static final String SQL_SENTENCIAS_POR_SOLICITUD = "banco.sql.sentencias.por.solicitud";
+    public static final String SQL_N_MAS_UNO = "banco.sql.n.mas.uno";
+    public static final String IMPORTACION_LOTE = "banco.importacion.lote";
+    public static final String CONSULTAS_COALESCIDAS = "banco.consultas.coalescidas";
+    public static final String BULKHEAD_EN_CURSO = "banco.bulkhead.en.curso";
+    public static final String BULKHEAD_EN_ESPERA = "banco.bulkhead.en.espera";
+    public static final String BULKHEAD_LIMITE = "banco.bulkhead.limite";
+    public static final String BULKHEAD_ESPERA = "banco.bulkhead.espera";
+    public static final String BULKHEAD_RECHAZADAS = "banco.bulkhead.rechazadas";
+    public static final String LIMITE_ADAPTATIVO = "banco.limite.adaptativo.limite";
+    public static final String LIMITE_ADAPTATIVO_EN_CURSO = "banco.limite.adaptativo.en.curso";
+    public static final String LIMITE_ADAPTATIVO_RTT = "banco.limite.adaptativo.rtt";
+    public static final String LIMITE_ADAPTATIVO_RECHAZADAS = "banco.limite.adaptativo.rechazadas";
+
+    // Registro sin hijos: los timers creados sobre él no registran nada. Lo usan los componentes
+    // instanciados fuera de Spring (tests unitarios, benchmarks) hasta que se les inyecta el MeterRegistry.
+    public static final MeterRegistry SIN_REGISTRO = new CompositeMeterRegistry();
+
+    private ApiMetrics() {
+    }
+
+    public static Timer timer(MeterRegistry registry, String nombre, String descripcion, String... tags) {
+        return Timer.builder(nombre)
+                .description(descripcion)
+                .tags(tags)
+                .register(registry);
+    }
+}
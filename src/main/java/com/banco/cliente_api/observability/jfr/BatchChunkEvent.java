@@ -0,0 +1,54 @@
+package com.banco.cliente_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Un bloque de elementos procesado por un endpoint batch (/api/clientes/batch, /telefono/batch).
+ */
+@Name("com.banco.cliente_api.BatchChunk")
+@Label("Bloque de Batch")
+@Category({ "Cliente API", "Negocio" })
+@Description("Procesamiento de un bloque de elementos de un endpoint batch")
+@Enabled(false)
+@StackTrace(false)
+public class BatchChunkEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Índice del bloque")
+    int indice;
+
+    @Label("Tamaño del bloque")
+    int tamanio;
+
+    @Label("Exitosos")
+    int exitosos;
+
+    @Label("Fallidos")
+    int fallidos;
+
+    public static BatchChunkEvent iniciar(String endpoint, int indice, int tamanio) {
+        BatchChunkEvent event = new BatchChunkEvent();
+        event.endpoint = endpoint;
+        event.indice = indice;
+        event.tamanio = tamanio;
+        event.begin();
+        return event;
+    }
+
+    public void terminar(int exitosos, int fallidos) {
+        end();
+        if (shouldCommit()) {
+            this.exitosos = exitosos;
+            this.fallidos = fallidos;
+            commit();
+        }
+    }
+}
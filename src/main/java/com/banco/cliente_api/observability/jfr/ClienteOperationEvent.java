@@ -0,0 +1,59 @@
+package com.banco.cliente_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Una operación de ClienteService. Permite correlacionar asignaciones y bloqueos de un perfil JFR
+ * con la operación de negocio en curso en ese hilo.
+ * Uso: {@code var event = ClienteOperationEvent.iniciar(...); try { ... } finally { event.terminar(); }}
+ */
+@Name("com.banco.cliente_api.ClienteOperation")
+@Label("Operación de Cliente")
+@Category({ "Cliente API", "Negocio" })
+@Description("Operación de ClienteService con la cantidad de DNIs y productos bancarios involucrados")
+@Enabled(false)
+@StackTrace(false)
+public class ClienteOperationEvent extends Event {
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Cantidad de DNIs")
+    int dniCount;
+
+    @Label("Cantidad de productos")
+    int productCount;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    public static ClienteOperationEvent iniciar(String operacion, int dniCount, int productCount) {
+        ClienteOperationEvent event = new ClienteOperationEvent();
+        event.operacion = operacion;
+        event.dniCount = dniCount;
+        event.productCount = productCount;
+        event.begin();
+        return event;
+    }
+
+    public void setDniCount(int dniCount) {
+        this.dniCount = dniCount;
+    }
+
+    public void setExitosa(boolean exitosa) {
+        this.exitosa = exitosa;
+    }
+
+    public void terminar() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.banco.cliente_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Verificación (parseo + firma + expiración) de un JWT de acceso.
+ */
+@Name("com.banco.cliente_api.JwtVerification")
+@Label("Verificación de JWT")
+@Category({ "Cliente API", "Seguridad" })
+@Description("Parseo y verificación de firma del JWT recibido en AuthTokenFilter")
+@Enabled(false)
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Válido")
+    boolean valido;
+
+    public void setValido(boolean valido) {
+        this.valido = valido;
+    }
+}
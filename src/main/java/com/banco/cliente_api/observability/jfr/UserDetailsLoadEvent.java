@@ -0,0 +1,35 @@
+package com.banco.cliente_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Carga del usuario y sus roles desde la base de datos (UserDetailsService).
+ */
+@Name("com.banco.cliente_api.UserDetailsLoad")
+@Label("Carga de UserDetails")
+@Category({ "Cliente API", "Seguridad" })
+@Description("Consulta del usuario y sus roles en cada solicitud autenticada o login")
+@Enabled(false)
+@StackTrace(false)
+public class UserDetailsLoadEvent extends Event {
+
+    @Label("Encontrado")
+    boolean encontrado;
+
+    @Label("Cantidad de roles")
+    int roles;
+
+    public void setEncontrado(boolean encontrado) {
+        this.encontrado = encontrado;
+    }
+
+    public void setRoles(int roles) {
+        this.roles = roles;
+    }
+}
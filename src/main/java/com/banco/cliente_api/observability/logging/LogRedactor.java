@@ -0,0 +1,47 @@
+package com.banco.cliente_api.observability.logging;
+
+import java.util.regex.Pattern;
+
+/**
+ * Enmascara credenciales en los mensajes de log: cabeceras Bearer, JWTs sueltos y campos JSON
+ * token/refreshToken/password. Los mensajes sin ninguna de las marcas se devuelven sin recorrer las regex.
+ */
+public final class LogRedactor {
+
+    public static final String REDACTADO = "[REDACTADO]";
+
+    private static final Pattern BEARER = Pattern.compile("(?i)bearer\\s+[A-Za-z0-9._~+/=-]+");
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*");
+    private static final Pattern CAMPO_SENSIBLE = Pattern.compile(
+            "(?i)(\"?(?:token|refreshToken|password|jwt)\"?\\s*[:=]\\s*\"?)[^\",}\\s]+");
+
+    private LogRedactor() {
+    }
+
+    public static String redactar(String mensaje) {
+        if (mensaje == null || !puedeContenerCredenciales(mensaje)) {
+            return mensaje;
+        }
+        String redactado = BEARER.matcher(mensaje).replaceAll("Bearer " + REDACTADO);
+        redactado = JWT.matcher(redactado).replaceAll(REDACTADO);
+        return CAMPO_SENSIBLE.matcher(redactado).replaceAll("$1" + REDACTADO);
+    }
+
+    private static boolean puedeContenerCredenciales(String mensaje) {
+        return mensaje.contains("eyJ")
+                || containsIgnoreCase(mensaje, "bearer")
+                || containsIgnoreCase(mensaje, "token")
+                || containsIgnoreCase(mensaje, "password")
+                || containsIgnoreCase(mensaje, "jwt");
+    }
+
+    private static boolean containsIgnoreCase(String texto, String buscado) {
+        int limite = texto.length() - buscado.length();
+        for (int i = 0; i <= limite; i++) {
+            if (texto.regionMatches(true, i, buscado, 0, buscado.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
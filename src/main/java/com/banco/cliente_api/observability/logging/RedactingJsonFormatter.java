@@ -0,0 +1,27 @@
+package com.banco.cliente_api.observability.logging;
+
+import org.springframework.boot.json.JsonWriter;
+import org.springframework.boot.logging.structured.JsonWriterStructuredLogFormatter;
+
+import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Formato JSON de una línea por evento para el StructuredLogEncoder de Spring Boot
+ * (ver logback-spring.xml). El mensaje y la traza de excepción pasan por LogRedactor.
+ */
+public class RedactingJsonFormatter extends JsonWriterStructuredLogFormatter<ILoggingEvent> {
+
+    public RedactingJsonFormatter(ThrowableProxyConverter throwableProxyConverter) {
+        super(JsonWriter.<ILoggingEvent>of(members -> {
+            members.add("@timestamp", ILoggingEvent::getInstant).as(Object::toString);
+            members.add("level", ILoggingEvent::getLevel).as(Object::toString);
+            members.add("thread", ILoggingEvent::getThreadName);
+            members.add("logger", ILoggingEvent::getLoggerName);
+            members.add("message", ILoggingEvent::getFormattedMessage).as(LogRedactor::redactar);
+            members.add("mdc", ILoggingEvent::getMDCPropertyMap).whenNotEmpty();
+            members.add("error", (event) -> event).whenNotNull(ILoggingEvent::getThrowableProxy)
+                    .as(event -> LogRedactor.redactar(throwableProxyConverter.convert(event)));
+        }).withNewLineAtEnd());
+    }
+}
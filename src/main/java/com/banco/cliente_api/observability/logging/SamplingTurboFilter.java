@@ -0,0 +1,67 @@
+package com.banco.cliente_api.observability.logging;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Muestreo por categoría de los logs de alto volumen (TRACE a INFO). WARN y ERROR nunca se descartan.
+ * Se configura en logback-spring.xml con un elemento por categoría: {@code <categoria>paquete=0.1</categoria>};
+ * se aplica la categoría configurada más específica (prefijo más largo) del logger.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final double SIN_MUESTREO = 1.0;
+
+    private final Map<String, Double> categorias = new TreeMap<>();
+    // Tasa resuelta por nombre de logger: la búsqueda por prefijo se hace una sola vez por logger
+    private final Map<String, Double> tasaPorLogger = new ConcurrentHashMap<>();
+
+    public void addCategoria(String categoria) {
+        int separador = categoria.lastIndexOf('=');
+        if (separador <= 0) {
+            addWarn("Categoría de muestreo inválida (se espera nombre=tasa): " + categoria);
+            return;
+        }
+        String nombre = categoria.substring(0, separador).trim();
+        try {
+            double tasa = Double.parseDouble(categoria.substring(separador + 1).trim());
+            categorias.put(nombre, Math.max(0.0, Math.min(SIN_MUESTREO, tasa)));
+        } catch (NumberFormatException e) {
+            addWarn("Tasa de muestreo inválida para " + nombre + ": " + categoria);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null corresponde a isXxxEnabled(): solo se muestrean los eventos reales para no aplicar la tasa dos veces
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN) || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        double tasa = tasaPorLogger.computeIfAbsent(logger.getName(), this::resolverTasa);
+        if (tasa >= SIN_MUESTREO || ThreadLocalRandom.current().nextDouble() < tasa) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    private double resolverTasa(String loggerName) {
+        String masEspecifica = null;
+        for (String categoria : categorias.keySet()) {
+            boolean coincide = loggerName.equals(categoria)
+                    || (loggerName.startsWith(categoria) && loggerName.charAt(categoria.length()) == '.');
+            if (coincide && (masEspecifica == null || categoria.length() > masEspecifica.length())) {
+                masEspecifica = categoria;
+            }
+        }
+        return masEspecifica != null ? categorias.get(masEspecifica) : SIN_MUESTREO;
+    }
+}
@@ -0,0 +1,58 @@
+package com.banco.cliente_api.observability.sql;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Instrumentación de las sentencias JDBC: envuelve el DataSource con datasource-proxy
+ * (reemplaza a spring.jpa.show-sql) y registra el filtro de estadísticas por solicitud.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.app.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public SqlInstrumentationListener sqlInstrumentationListener(MeterRegistry meterRegistry,
+            @Value("${banco.app.sql.lentaMs:200}") long umbralLentaMs) {
+        return new SqlInstrumentationListener(meterRegistry, umbralLentaMs);
+    }
+
+    // Justo después del ServerTimingFilter: incluye las consultas de AuthTokenFilter (carga del usuario)
+    @Bean
+    public FilterRegistrationBean<SqlRequestStatsFilter> sqlRequestStatsFilter(MeterRegistry meterRegistry,
+            @Value("${banco.app.sql.nMasUnoUmbral:10}") int umbralNMasUno) {
+        FilterRegistrationBean<SqlRequestStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestStatsFilter(meterRegistry, umbralNMasUno));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // El listener se resuelve al crear el DataSource, no al registrar el post-processor
+    @Bean
+    static BeanPostProcessor sqlInstrumentationDataSourceWrapper(ObjectProvider<SqlInstrumentationListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
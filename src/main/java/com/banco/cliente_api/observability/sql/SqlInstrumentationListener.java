@@ -0,0 +1,111 @@
+package com.banco.cliente_api.observability.sql;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banco.cliente_api.observability.ApiMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Listener de datasource-proxy: mide cada sentencia JDBC, la suma a las estadísticas de la solicitud
+ * en curso y registra en el log las que superan el umbral de consulta lenta, con la forma
+ * (tipos) de sus parámetros pero nunca sus valores.
+ */
+public class SqlInstrumentationListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlInstrumentationListener.class);
+
+    // Clave del instante de inicio en ExecutionInfo: getElapsedTime() viene en ms y las búsquedas por PK duran menos
+    private static final String INICIO_NANOS = SqlInstrumentationListener.class.getName() + ".inicio";
+
+    enum Tipo { SELECT, INSERT, UPDATE, DELETE, OTRO }
+
+    private final long umbralLentaMs;
+    private final long umbralLentaNanos;
+    private final Map<Tipo, Timer> timers = new EnumMap<>(Tipo.class);
+    private final Counter lentas;
+
+    public SqlInstrumentationListener(MeterRegistry meterRegistry, long umbralLentaMs) {
+        this.umbralLentaMs = umbralLentaMs;
+        this.umbralLentaNanos = TimeUnit.MILLISECONDS.toNanos(umbralLentaMs);
+        for (Tipo tipo : Tipo.values()) {
+            timers.put(tipo, ApiMetrics.timer(meterRegistry, ApiMetrics.SQL_SENTENCIAS,
+                    "Duración de las sentencias JDBC por tipo", "tipo", tipo.name().toLowerCase(Locale.ROOT)));
+        }
+        this.lentas = Counter.builder(ApiMetrics.SQL_LENTAS)
+                .description("Sentencias JDBC que superaron banco.app.sql.lentaMs")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(INICIO_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long inicio = execInfo.getCustomValue(INICIO_NANOS, Long.class);
+        long elapsedNanos = inicio != null ? System.nanoTime() - inicio
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        SqlRequestStats stats = SqlRequestStats.actual();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            timers.get(tipo(sql)).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (stats != null) {
+                stats.registrar(sql, elapsedNanos);
+            }
+        }
+        if (elapsedNanos >= umbralLentaNanos) {
+            lentas.increment();
+            for (QueryInfo queryInfo : queryInfoList) {
+                logger.warn("Consulta lenta: {} ms (umbral {} ms, lote={}) sql=[{}] parametros={}",
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), umbralLentaMs,
+                        execInfo.isBatch() ? execInfo.getBatchSize() : 0, queryInfo.getQuery(), formaDeParametros(queryInfo));
+            }
+        }
+    }
+
+    static Tipo tipo(String sql) {
+        int inicio = 0;
+        while (inicio < sql.length() && Character.isWhitespace(sql.charAt(inicio))) {
+            inicio++;
+        }
+        for (Tipo tipo : Tipo.values()) {
+            if (tipo != Tipo.OTRO && sql.regionMatches(true, inicio, tipo.name(), 0, tipo.name().length())) {
+                return tipo;
+            }
+        }
+        return Tipo.OTRO;
+    }
+
+    /**
+     * Tipos de los parámetros enlazados del primer juego de parámetros (ej: [Long, String, null]).
+     */
+    static List<String> formaDeParametros(QueryInfo queryInfo) {
+        List<String> forma = new ArrayList<>();
+        if (queryInfo.getParametersList().isEmpty()) {
+            return forma;
+        }
+        for (ParameterSetOperation operacion : queryInfo.getParametersList().get(0)) {
+            Object[] args = operacion.getArgs();
+            Object valor = args.length > 1 ? args[1] : null;
+            boolean esNulo = "setNull".equals(operacion.getMethod().getName());
+            forma.add(esNulo || valor == null ? "null" : valor.getClass().getSimpleName());
+        }
+        return forma;
+    }
+}
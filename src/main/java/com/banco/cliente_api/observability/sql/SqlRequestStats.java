@@ -0,0 +1,63 @@
+package com.banco.cliente_api.observability.sql;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sentencias SQL ejecutadas durante la solicitud HTTP en curso (cantidad, tiempo y repeticiones por plantilla).
+ * La inicia y cierra SqlRequestStatsFilter; fuera de una solicitud {@link #actual()} devuelve null.
+ */
+public final class SqlRequestStats {
+
+    /** Atributo de la solicitud donde SqlRequestStatsFilter deja las estadísticas al terminar (lo leen los tests de presupuesto). */
+    public static final String ATRIBUTO = SqlRequestStats.class.getName();
+
+    private static final ThreadLocal<SqlRequestStats> ACTUAL = new ThreadLocal<>();
+
+    private int sentencias;
+    private long tiempoNanos;
+    // Clave: SQL de la sentencia preparada (con ?), que ya es la plantilla sin valores
+    private final Map<String, Integer> porPlantilla = new HashMap<>();
+
+    public static SqlRequestStats actual() {
+        return ACTUAL.get();
+    }
+
+    public static SqlRequestStats iniciar() {
+        SqlRequestStats stats = new SqlRequestStats();
+        ACTUAL.set(stats);
+        return stats;
+    }
+
+    public static void limpiar() {
+        ACTUAL.remove();
+    }
+
+    void registrar(String plantilla, long elapsedNanos) {
+        sentencias++;
+        tiempoNanos += elapsedNanos;
+        porPlantilla.merge(plantilla, 1, Integer::sum);
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public long getTiempoNanos() {
+        return tiempoNanos;
+    }
+
+    /**
+     * @return las plantillas ejecutadas más de {@code umbral} veces (probable N+1), con su cantidad.
+     */
+    public Map<String, Integer> plantillasRepetidas(int umbral) {
+        Map<String, Integer> repetidas = new LinkedHashMap<>();
+        porPlantilla.forEach((plantilla, veces) -> {
+            if (veces > umbral) {
+                repetidas.put(plantilla, veces);
+            }
+        });
+        return repetidas;
+    }
+}
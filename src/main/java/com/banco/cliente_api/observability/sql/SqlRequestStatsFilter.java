@@ -0,0 +1,64 @@
+package com.banco.cliente_api.observability.sql;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.banco.cliente_api.observability.ApiMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Abre las estadísticas SQL de cada solicitud y, al terminar, registra la cantidad de sentencias
+ * y avisa cuando una misma plantilla se ejecutó más de banco.app.sql.nMasUnoUmbral veces (probable N+1).
+ */
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlRequestStatsFilter.class);
+
+    private final int umbralNMasUno;
+    private final DistributionSummary sentenciasPorSolicitud;
+    private final Counter nMasUno;
+
+    public SqlRequestStatsFilter(MeterRegistry meterRegistry, int umbralNMasUno) {
+        this.umbralNMasUno = umbralNMasUno;
+        this.sentenciasPorSolicitud = DistributionSummary.builder(ApiMetrics.SQL_SENTENCIAS_POR_SOLICITUD)
+                .description("Sentencias JDBC ejecutadas por solicitud HTTP")
+                .register(meterRegistry);
+        this.nMasUno = Counter.builder(ApiMetrics.SQL_N_MAS_UNO)
+                .description("Solicitudes que repitieron una plantilla SQL por encima del umbral (probable N+1)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.iniciar();
+        request.setAttribute(SqlRequestStats.ATRIBUTO, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.limpiar();
+            sentenciasPorSolicitud.record(stats.getSentencias());
+            Map<String, Integer> repetidas = stats.plantillasRepetidas(umbralNMasUno);
+            if (!repetidas.isEmpty()) {
+                nMasUno.increment();
+                Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                repetidas.forEach((plantilla, veces) -> logger.warn(
+                        "Probable N+1 en {} {}: la sentencia se ejecutó {} veces (umbral {}) sql=[{}]",
+                        request.getMethod(), patron != null ? patron : request.getRequestURI(),
+                        veces, umbralNMasUno, plantilla));
+            }
+        }
+    }
+}
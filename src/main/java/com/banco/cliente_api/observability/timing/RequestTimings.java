@@ -0,0 +1,137 @@
+package com.banco.cliente_api.observability.timing;
+
+import java.util.Locale;
+
+/**
+ * Acumulador de tiempos por fase de una solicitud muestreada (auth, db, mapping, serialization).
+ * Vive en un ThreadLocal mientras ServerTimingFilter procesa la solicitud; fuera de una solicitud
+ * muestreada {@link #actual()} devuelve null y los puntos de medición no hacen nada.
+ */
+public final class RequestTimings {
+
+    public enum Fase {
+        AUTH("auth", "JWT y carga del usuario"),
+        DB("db", "Repositorios"),
+        MAPPING("mapping", "Conversion a DTO"),
+        SERIALIZATION("serialization", "Jackson");
+
+        private final String nombre;
+        private final String descripcion;
+
+        Fase(String nombre, String descripcion) {
+            this.nombre = nombre;
+            this.descripcion = descripcion;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> ACTUAL = new ThreadLocal<>();
+
+    // Mientras ningún ServerTimingFilter esté activo, actual() es una lectura de un boolean
+    private static volatile boolean habilitado;
+
+    private final long inicio = System.nanoTime();
+    private final long[] nanos = new long[Fase.values().length];
+    private int consultasDb;
+    private boolean enAutenticacion;
+    private long inicioSerializacion;
+    private long total;
+
+    private RequestTimings() {
+    }
+
+    /**
+     * @return los tiempos de la solicitud en curso, o null si no fue muestreada.
+     */
+    public static RequestTimings actual() {
+        return habilitado ? ACTUAL.get() : null;
+    }
+
+    static void habilitar() {
+        habilitado = true;
+    }
+
+    static RequestTimings iniciar() {
+        RequestTimings timings = new RequestTimings();
+        ACTUAL.set(timings);
+        return timings;
+    }
+
+    static void limpiar() {
+        ACTUAL.remove();
+    }
+
+    public void agregar(Fase fase, long duracionNanos) {
+        nanos[fase.ordinal()] += duracionNanos;
+    }
+
+    /**
+     * Marca el inicio de la autenticación. Las consultas a repositorios hechas mientras tanto
+     * (carga del usuario) se cuentan dentro de auth y no de db.
+     * @return la marca de tiempo a pasar a {@link #terminarAutenticacion(long)}.
+     */
+    public long iniciarAutenticacion() {
+        enAutenticacion = true;
+        return System.nanoTime();
+    }
+
+    public void terminarAutenticacion(long marca) {
+        enAutenticacion = false;
+        agregar(Fase.AUTH, System.nanoTime() - marca);
+    }
+
+    public void agregarConsultaDb(long duracionNanos) {
+        if (!enAutenticacion) {
+            agregar(Fase.DB, duracionNanos);
+            consultasDb++;
+        }
+    }
+
+    // Jackson escribe el cuerpo después de ResponseBodyAdvice.beforeBodyWrite: la serialización
+    // es el tiempo desde esa marca hasta que la cadena de filtros termina.
+    void marcarInicioSerializacion() {
+        if (inicioSerializacion == 0) {
+            inicioSerializacion = System.nanoTime();
+        }
+    }
+
+    void terminar() {
+        long fin = System.nanoTime();
+        total = fin - inicio;
+        if (inicioSerializacion != 0) {
+            agregar(Fase.SERIALIZATION, fin - inicioSerializacion);
+        }
+    }
+
+    public long getNanos(Fase fase) {
+        return nanos[fase.ordinal()];
+    }
+
+    public int getConsultasDb() {
+        return consultasDb;
+    }
+
+    public long getTotalNanos() {
+        return total;
+    }
+
+    /**
+     * Valor de la cabecera estándar Server-Timing (duraciones en milisegundos).
+     * Ej: auth;dur=1.20;desc="JWT y carga del usuario", db;dur=3.41, ..., total;dur=6.02
+     */
+    public String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder(160);
+        for (Fase fase : Fase.values()) {
+            header.append(fase.nombre).append(";dur=").append(millis(nanos[fase.ordinal()]))
+                    .append(";desc=\"").append(fase.descripcion).append("\", ");
+        }
+        return header.append("total;dur=").append(millis(total)).toString();
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
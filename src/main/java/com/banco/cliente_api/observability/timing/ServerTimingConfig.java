@@ -0,0 +1,56 @@
+package com.banco.cliente_api.observability.timing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import com.banco.cliente_api.adapter.web.controller.ImportJobController;
+
+/**
+ * Cabecera Server-Timing por solicitud (opt-in con banco.app.serverTiming.enabled).
+ * Con la propiedad en false no se registra ningún componente y los puntos de medición
+ * (AuthTokenFilter, DtoConverter) solo leen un boolean.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.app.serverTiming.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${banco.app.serverTiming.muestreo:1.0}") double muestreo) {
+        ServerTimingFilter filter = new ServerTimingFilter(muestreo);
+        filter.setRutasExcluidas(PathPatternRequestMatcher.withDefaults().matcher(ImportJobController.RUTA_STREAM));
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Suma a la fase db la duración de cada invocación a un repositorio de Spring Data
+    @Bean
+    static BeanPostProcessor serverTimingRepositoryListener() {
+        RepositoryMethodInvocationListener listener = invocation -> {
+            RequestTimings timings = RequestTimings.actual();
+            if (timings != null) {
+                timings.agregarConsultaDb(invocation.getDuration(TimeUnit.NANOSECONDS));
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.banco.cliente_api.observability.timing;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.banco.cliente_api.observability.timing.RequestTimings.Fase;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Desglose por fase de las solicitudes muestreadas: agrega la cabecera Server-Timing
+ * y registra una línea de log estructurada (clave=valor) por solicitud.
+ * Se registra antes que la cadena de Spring Security para que auth quede dentro de la medición.
+ * Las solicitudes no muestreadas solo pagan el sorteo del muestreo.
+ * Las respuestas por streaming se excluyen (setRutasExcluidas): retener el cuerpo las haría crecer en memoria.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final double muestreo;
+
+    private RequestMatcher rutasExcluidas;
+
+    /**
+     * @param muestreo Fracción de solicitudes medidas, entre 0 y 1 (1 = todas).
+     */
+    public ServerTimingFilter(double muestreo) {
+        this.muestreo = muestreo;
+        RequestTimings.habilitar();
+    }
+
+    public void setRutasExcluidas(RequestMatcher rutasExcluidas) {
+        this.rutasExcluidas = rutasExcluidas;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rutasExcluidas != null && rutasExcluidas.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!muestreada()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.iniciar();
+        // El cuerpo se retiene en memoria para poder agregar la cabecera después de serializarlo
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            RequestTimings.limpiar();
+            timings.terminar();
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, timings.toServerTimingHeader());
+            }
+            registrar(request, responseWrapper, timings);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean muestreada() {
+        return muestreo >= 1.0 || (muestreo > 0.0 && ThreadLocalRandom.current().nextDouble() < muestreo);
+    }
+
+    private void registrar(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        // Se usa el patrón de la ruta (ej: /api/clientes/por-producto/{codigo}) para poder agrupar por endpoint
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        logger.info("server_timing method={} route={} status={} total_ms={} auth_ms={} db_ms={} db_queries={} mapping_ms={} serialization_ms={}",
+                request.getMethod(),
+                patron != null ? patron : request.getRequestURI(),
+                response.getStatus(),
+                RequestTimings.millis(timings.getTotalNanos()),
+                RequestTimings.millis(timings.getNanos(Fase.AUTH)),
+                RequestTimings.millis(timings.getNanos(Fase.DB)),
+                timings.getConsultasDb(),
+                RequestTimings.millis(timings.getNanos(Fase.MAPPING)),
+                RequestTimings.millis(timings.getNanos(Fase.SERIALIZATION)));
+    }
+}
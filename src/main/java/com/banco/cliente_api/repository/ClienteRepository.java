@@ -2,14 +2,23 @@ package com.banco.cliente_api.repository;
 
 import com.banco.cliente_api.model.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByDni(String dni);
-    List<Cliente> findByProductosBancarios_Codigo(String codigoProducto);
+    // La consulta derivada genera LEFT JOIN desde clientes, que obliga a recorrer toda la tabla.
+    // Con INNER JOIN se entra por productos_bancarios.codigo y el índice (producto_id, cliente_id).
+    @Query("select c from Cliente c join c.productosBancarios p where p.codigo = :codigoProducto")
+    List<Cliente> findByProductosBancarios_Codigo(@Param("codigoProducto") String codigoProducto);
 	boolean existsByDni(String dni);
+    // Cuáles de los DNIs ya existen, en una sola consulta por el índice único (importación por lotes)
+    @Query("select c.dni from Cliente c where c.dni in :dnis")
+    List<String> findDnisExistentes(@Param("dnis") Collection<String> dnis);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.banco.cliente_api.repository;
+
+import com.banco.cliente_api.model.ImportJobContenido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportJobContenidoRepository extends JpaRepository<ImportJobContenido, Long> {
+}
@@ -0,0 +1,13 @@
+package com.banco.cliente_api.repository;
+
+import com.banco.cliente_api.model.ImportJobError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+    List<ImportJobError> findByJobIdOrderByIndice(Long jobId, Pageable pageable);
+}
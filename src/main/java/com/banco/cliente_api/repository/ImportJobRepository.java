@@ -0,0 +1,14 @@
+package com.banco.cliente_api.repository;
+
+import com.banco.cliente_api.model.ImportJob;
+import com.banco.cliente_api.model.ImportJobEstado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    List<ImportJob> findByEstadoInOrderById(Collection<ImportJobEstado> estados);
+}
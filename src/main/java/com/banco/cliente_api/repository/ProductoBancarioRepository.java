@@ -4,9 +4,12 @@ import com.banco.cliente_api.model.ProductoBancario;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductoBancarioRepository extends JpaRepository<ProductoBancario, Long> {
     Optional<ProductoBancario> findByCodigo(String codigo);
+    List<ProductoBancario> findByCodigoIn(Collection<String> codigos);
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.banco.cliente_api.resilience;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.banco.cliente_api.adapter.web.dto.error.ErrorResponse;
+import com.banco.cliente_api.observability.ApiMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita las solicitudes en curso a un valor que se ajusta solo según la latencia medida
+ * (ver AdaptiveConcurrencyLimiter), en lugar de depender de tamaños fijos de hilos y conexiones.
+ * Por encima del límite responde 503 con Retry-After sin esperar: la cola que se evita es la de la base.
+ * Va dentro del bulkhead, así la espera en su cola no se cuenta como latencia del servicio.
+ * Como corre antes de Spring Security, solo las respuestas 2xx aportan latencia: los 401/403/404/400 rápidos
+ * bajarían la latencia mínima de referencia y el límite caería para el tráfico real.
+ */
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyFilter.class);
+
+    private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<PathPattern> patrones;
+    private final List<PathPattern> excluidos;
+    private final Counter rechazadas;
+
+    public AdaptiveConcurrencyFilter(AdaptiveLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties, System.nanoTime());
+        this.patrones = properties.getPatrones().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.excluidos = properties.getExcluidos().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        Gauge.builder(ApiMetrics.LIMITE_ADAPTATIVO, limiter, AdaptiveConcurrencyLimiter::getLimite)
+                .description("Solicitudes en curso permitidas por el límite adaptativo")
+                .register(meterRegistry);
+        Gauge.builder(ApiMetrics.LIMITE_ADAPTATIVO_EN_CURSO, limiter, AdaptiveConcurrencyLimiter::getEnCurso)
+                .description("Solicitudes en curso dentro del límite adaptativo")
+                .register(meterRegistry);
+        TimeGauge.builder(ApiMetrics.LIMITE_ADAPTATIVO_RTT, limiter, TimeUnit.NANOSECONDS,
+                        AdaptiveConcurrencyLimiter::getRttVentanaNanos)
+                .description("Latencia promedio de la última ventana del límite adaptativo")
+                .tag("tipo", "ventana")
+                .register(meterRegistry);
+        TimeGauge.builder(ApiMetrics.LIMITE_ADAPTATIVO_RTT, limiter, TimeUnit.NANOSECONDS,
+                        AdaptiveConcurrencyLimiter::getRttMinimoNanos)
+                .description("Latencia sin carga de referencia del límite adaptativo")
+                .tag("tipo", "minimo")
+                .register(meterRegistry);
+        this.rechazadas = Counter.builder(ApiMetrics.LIMITE_ADAPTATIVO_RECHAZADAS)
+                .description("Solicitudes rechazadas por superar el límite adaptativo")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return patrones.stream().noneMatch(p -> p.matches(path)) || excluidos.stream().anyMatch(p -> p.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.intentarAdquirir()) {
+            rechazadas.increment();
+            logger.warn("Límite adaptativo alcanzado ({} en curso). Path: {}", limiter.getLimite(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getWriter(), new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Servicio saturado. Reintente en 1 segundo.", request.getRequestURI()));
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean completada = false;
+        try {
+            filterChain.doFilter(request, response);
+            completada = true;
+        } finally {
+            if (completada && response.getStatus() / 100 == 2) {
+                long fin = System.nanoTime();
+                limiter.liberar(fin - inicio, fin);
+            } else {
+                limiter.liberarSinMuestra();
+            }
+        }
+    }
+
+    int getLimite() {
+        return limiter.getLimite();
+    }
+}
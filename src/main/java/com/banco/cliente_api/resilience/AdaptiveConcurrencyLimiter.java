@@ -0,0 +1,152 @@
+package com.banco.cliente_api.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de solicitudes en curso que se ajusta según la latencia observada (algoritmo de gradiente).
+ * Por la ley de Little, las solicitudes en curso son el throughput por la latencia: mientras la base responde
+ * sin cola, más concurrencia da más throughput con la misma latencia; cuando se satura, la concurrencia extra
+ * solo se convierte en espera. En cada ventana se compara la latencia promedio con la mínima observada
+ * (latencia sin carga):
+ *
+ *   gradiente = tolerancia * rttMinimo / rttVentana, acotado entre 0.5 y 1
+ *   nuevoLimite = limite * gradiente + sqrt(limite)
+ *
+ * Sin cola el gradiente es 1 y el límite crece de a sqrt(limite), lo que deja margen para descubrir capacidad;
+ * si la latencia supera tolerancia veces la mínima, el límite baja en proporción. Si la ventana no llegó a usar
+ * la mitad del límite, no crece: sin carga no hay evidencia de que la base soporte más.
+ * La latencia mínima solo puede medirse cuando no hay cola, así que cada sondeoCadaVentanas ventanas se reduce
+ * el límite a la cuarta parte durante una ventana y se toma su latencia como nueva mínima (también si la base se
+ * volvió más lenta de forma permanente). Con la mitad no alcanza: en equilibrio el límite ronda 1.5 veces lo que la
+ * base atiende sin cola más sqrt(limite), y la mitad de eso todavía hace cola.
+ * Los métodos reciben el instante actual para poder simular el tiempo en los tests, como TokenBucket.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private final AdaptiveLimitProperties config;
+    private final long ventanaNanos;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private volatile double limite;
+
+    // Estado de la ventana, protegido por lock: solo se toma al terminar una solicitud. ReentrantLock en lugar de
+    // synchronized para no anclar el hilo portador con hilos virtuales.
+    private final ReentrantLock lock = new ReentrantLock();
+    private long inicioVentana;
+    private long sumaRttNanos;
+    private int muestras;
+    private int maxEnCurso;
+    private long ventanas;
+    private double rttMinimoNanos;
+    private volatile double rttVentanaNanos;
+    private boolean sondeando;
+    private double limiteAntesSondeo;
+
+    AdaptiveConcurrencyLimiter(AdaptiveLimitProperties config, long ahora) {
+        this.config = config;
+        this.ventanaNanos = config.getVentanaMs() * 1_000_000;
+        this.limite = config.getLimiteInicial();
+        this.inicioVentana = ahora;
+    }
+
+    /**
+     * @return true si la solicitud entra; en ese caso debe llamarse a liberar al terminar.
+     */
+    boolean intentarAdquirir() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= (int) limite) {
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void liberar(long rttNanos, long ahora) {
+        int enCursoAlTerminar = enCurso.getAndDecrement();
+        registrar(rttNanos, enCursoAlTerminar, ahora);
+    }
+
+    /**
+     * Libera el lugar sin aportar la latencia a la ventana (respuestas que no son del servicio real, como un 401).
+     */
+    void liberarSinMuestra() {
+        enCurso.decrementAndGet();
+    }
+
+    int getLimite() {
+        return (int) limite;
+    }
+
+    int getEnCurso() {
+        return enCurso.get();
+    }
+
+    double getRttVentanaNanos() {
+        return rttVentanaNanos;
+    }
+
+    double getRttMinimoNanos() {
+        lock.lock();
+        try {
+            return rttMinimoNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrar(long rttNanos, int enCursoAlTerminar, long ahora) {
+        lock.lock();
+        try {
+            // La muestra que llega con la ventana vencida la cierra y cuenta para la siguiente
+            if (ahora - inicioVentana >= ventanaNanos && muestras >= config.getMinMuestras()) {
+                actualizar((double) sumaRttNanos / muestras, maxEnCurso);
+                inicioVentana = ahora;
+                sumaRttNanos = 0;
+                muestras = 0;
+                maxEnCurso = 0;
+            }
+            // Durante el sondeo no cuentan las solicitudes que entraron con el límite anterior
+            if (sondeando && ahora - rttNanos < inicioVentana) {
+                return;
+            }
+            sumaRttNanos += rttNanos;
+            muestras++;
+            maxEnCurso = Math.max(maxEnCurso, enCursoAlTerminar);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void actualizar(double rttVentana, int maxEnCursoVentana) {
+        rttVentanaNanos = rttVentana;
+        ventanas++;
+        if (sondeando) {
+            // Ventana con el límite reducido: su latencia es la nueva referencia sin carga
+            sondeando = false;
+            rttMinimoNanos = rttVentana;
+            limite = limiteAntesSondeo;
+            return;
+        }
+        if (rttMinimoNanos == 0 || rttVentana < rttMinimoNanos) {
+            rttMinimoNanos = rttVentana;
+        }
+
+        double actual = limite;
+        double gradiente = Math.max(0.5, Math.min(1.0, config.getTolerancia() * rttMinimoNanos / rttVentana));
+        double calculado = actual * gradiente + Math.sqrt(actual);
+        if (gradiente == 1.0 && maxEnCursoVentana < actual / 2) {
+            calculado = actual;
+        }
+        double nuevo = actual * (1 - config.getSuavizado()) + calculado * config.getSuavizado();
+        limite = Math.max(config.getLimiteMin(), Math.min(config.getLimiteMax(), nuevo));
+
+        if (config.getSondeoCadaVentanas() > 0 && ventanas % config.getSondeoCadaVentanas() == 0) {
+            sondeando = true;
+            limiteAntesSondeo = limite;
+            limite = Math.max(config.getLimiteMin(), limite / 4);
+        }
+    }
+}
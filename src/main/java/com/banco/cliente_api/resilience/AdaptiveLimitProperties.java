@@ -0,0 +1,37 @@
+package com.banco.cliente_api.resilience;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración del límite adaptativo de concurrencia (prefijo banco.app.limite-adaptativo).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "banco.app.limite-adaptativo")
+public class AdaptiveLimitProperties {
+
+    private boolean enabled = true;
+    // Rutas limitadas; las excluidas (ej: los batch, naturalmente lentos) no cuentan ni distorsionan la latencia medida
+    private List<String> patrones = new ArrayList<>();
+    private List<String> excluidos = new ArrayList<>();
+    private int limiteInicial = 20;
+    private int limiteMin = 4;
+    private int limiteMax = 200;
+    // Cuánto puede crecer la latencia sobre la mínima observada antes de reducir el límite
+    private double tolerancia = 1.5;
+    // Peso del límite calculado en cada ventana frente al anterior (0-1)
+    private double suavizado = 0.2;
+    // Cada ventana de al menos ventanaMs y minMuestras solicitudes terminadas recalcula el límite
+    private long ventanaMs = 1_000;
+    private int minMuestras = 10;
+    // Cada tantas ventanas se vuelve a medir la latencia sin carga con el límite a la cuarta parte durante una ventana (0 = nunca)
+    private int sondeoCadaVentanas = 60;
+}
@@ -0,0 +1,95 @@
+package com.banco.cliente_api.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.banco.cliente_api.observability.ApiMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Límite de concurrencia de una clase de endpoints con una cola de espera acotada.
+ * Una solicitud entra si hay lugar; si no, espera hasta esperaMs mientras haya lugar en la cola.
+ * Con la cola llena se rechaza de inmediato, sin ocupar un hilo en la espera.
+ */
+class Bulkhead {
+
+    enum Resultado {
+        ADMITIDA, COLA_LLENA, ESPERA_AGOTADA
+    }
+
+    private final String nombre;
+    private final Semaphore permisos;
+    private final int cola;
+    private final long esperaMs;
+    private final AtomicInteger enEspera = new AtomicInteger();
+    private final Timer espera;
+    private final Counter rechazadasColaLlena;
+    private final Counter rechazadasEsperaAgotada;
+
+    Bulkhead(String nombre, BulkheadProperties.Clase config, MeterRegistry meterRegistry) {
+        this.nombre = nombre;
+        this.permisos = new Semaphore(config.getMaxConcurrentes(), true);
+        this.cola = config.getCola();
+        this.esperaMs = config.getEsperaMs();
+        int limite = config.getMaxConcurrentes();
+        Gauge.builder(ApiMetrics.BULKHEAD_EN_CURSO, permisos, p -> limite - p.availablePermits())
+                .description("Solicitudes en curso en el bulkhead")
+                .tag("clase", nombre)
+                .register(meterRegistry);
+        Gauge.builder(ApiMetrics.BULKHEAD_EN_ESPERA, enEspera, AtomicInteger::get)
+                .description("Solicitudes esperando un lugar en el bulkhead")
+                .tag("clase", nombre)
+                .register(meterRegistry);
+        Gauge.builder(ApiMetrics.BULKHEAD_LIMITE, () -> limite)
+                .description("Solicitudes en curso permitidas en el bulkhead")
+                .tag("clase", nombre)
+                .register(meterRegistry);
+        this.espera = ApiMetrics.timer(meterRegistry, ApiMetrics.BULKHEAD_ESPERA,
+                "Espera de las solicitudes admitidas por el bulkhead", "clase", nombre);
+        this.rechazadasColaLlena = rechazadas(meterRegistry, nombre, "cola_llena");
+        this.rechazadasEsperaAgotada = rechazadas(meterRegistry, nombre, "espera_agotada");
+    }
+
+    String getNombre() {
+        return nombre;
+    }
+
+    Resultado adquirir() throws InterruptedException {
+        if (permisos.tryAcquire()) {
+            espera.record(0, TimeUnit.NANOSECONDS);
+            return Resultado.ADMITIDA;
+        }
+        if (enEspera.incrementAndGet() > cola) {
+            enEspera.decrementAndGet();
+            rechazadasColaLlena.increment();
+            return Resultado.COLA_LLENA;
+        }
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS)) {
+                rechazadasEsperaAgotada.increment();
+                return Resultado.ESPERA_AGOTADA;
+            }
+        } finally {
+            enEspera.decrementAndGet();
+        }
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return Resultado.ADMITIDA;
+    }
+
+    void liberar() {
+        permisos.release();
+    }
+
+    private static Counter rechazadas(MeterRegistry meterRegistry, String nombre, String motivo) {
+        return Counter.builder(ApiMetrics.BULKHEAD_RECHAZADAS)
+                .description("Solicitudes rechazadas por el bulkhead")
+                .tags("clase", nombre, "motivo", motivo)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.banco.cliente_api.resilience;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.banco.cliente_api.adapter.web.dto.error.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Separa el tráfico por clase de endpoint (ej: batch e interactivo) en bulkheads con su propio límite de
+ * solicitudes en curso y su cola, para que un lote grande no ocupe los hilos de Tomcat ni las conexiones
+ * que necesitan las consultas individuales. Se ejecuta antes de la cadena de seguridad: una solicitud
+ * rechazada no llega a verificar el JWT ni a cargar el usuario. El rechazo es un 503 con Retry-After.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private final ObjectMapper objectMapper;
+    private final List<ClaseCompilada> clases = new ArrayList<>();
+
+    public BulkheadFilter(BulkheadProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        for (Map.Entry<String, BulkheadProperties.Clase> entry : properties.getClases().entrySet()) {
+            clases.add(new ClaseCompilada(new Bulkhead(entry.getKey(), entry.getValue(), meterRegistry), entry.getValue()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return clases.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        Bulkhead bulkhead = buscarBulkhead(path);
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead.Resultado resultado;
+        try {
+            resultado = bulkhead.adquirir();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rechazar(request, response, bulkhead);
+            return;
+        }
+        if (resultado != Bulkhead.Resultado.ADMITIDA) {
+            logger.warn("Bulkhead '{}' saturado ({}). Path: {}", bulkhead.getNombre(), resultado, request.getRequestURI());
+            rechazar(request, response, bulkhead);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.liberar();
+        }
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "Demasiadas solicitudes '" + bulkhead.getNombre() + "' en curso. Reintente en 1 segundo.",
+                request.getRequestURI()));
+    }
+
+    private Bulkhead buscarBulkhead(PathContainer path) {
+        for (ClaseCompilada clase : clases) {
+            for (PathPattern patron : clase.patrones) {
+                if (patron.matches(path)) {
+                    return clase.bulkhead;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class ClaseCompilada {
+        private final Bulkhead bulkhead;
+        private final List<PathPattern> patrones = new ArrayList<>();
+
+        private ClaseCompilada(Bulkhead bulkhead, BulkheadProperties.Clase config) {
+            this.bulkhead = bulkhead;
+            for (String patron : config.getPatrones()) {
+                patrones.add(PathPatternParser.defaultInstance.parse(patron));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.banco.cliente_api.resilience;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración de los bulkheads por clase de endpoint (prefijo banco.app.bulkhead).
+ * Las clases se evalúan en el orden en que se declaran; la solicitud usa la primera cuyo patrón coincide.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "banco.app.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+    // Clase cuyas solicitudes suman los pools de fondo (particiones de altas e importaciones) a su cuota de conexiones
+    private String claseBatch = "batch";
+    private Map<String, Clase> clases = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Clase {
+        private List<String> patrones = new ArrayList<>();
+        // Solicitudes en curso a la vez; con open-in-view es también el tope de conexiones del pool que usa la clase
+        private int maxConcurrentes = 10;
+        // Solicitudes que pueden esperar un lugar; con la cola llena se rechaza sin esperar
+        private int cola = 10;
+        private long esperaMs = 500;
+    }
+}
@@ -0,0 +1,84 @@
+package com.banco.cliente_api.resilience;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.banco.cliente_api.service.ParticionadorAltas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registro de los filtros de protección de carga. Van después de los filtros de observabilidad
+ * (las solicitudes rechazadas también se miden) y antes de la cadena de Spring Security.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "banco.app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(BulkheadProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, ParticionadorAltas particionadorAltas,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int conexiones,
+            @Value("${banco.app.importacion.hilos:2}") int hilosImportacion) {
+        repartirConexiones(properties, conexiones, particionadorAltas.getHilos(), hilosImportacion);
+        for (Map.Entry<String, BulkheadProperties.Clase> entry : properties.getClases().entrySet()) {
+            logger.info("Bulkhead '{}': hasta {} solicitud(es) en curso y {} en espera.",
+                    entry.getKey(), entry.getValue().getMaxConcurrentes(), entry.getValue().getCola());
+        }
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(properties, objectMapper, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    /**
+     * Con open-in-view cada solicitud en curso retiene a lo sumo una conexión, así que el límite de cada clase es su
+     * cuota del pool. Del lado batch, además de sus solicitudes, ocupan conexiones los hilos de partición de las altas
+     * (banco.app.batch.paralelo.hilos) y los de las importaciones asíncronas (banco.app.importacion.hilos). Las demás
+     * clases se limitan a lo que queda, para que nunca esperen en Hikari una conexión tomada por el lado batch.
+     * @throws IllegalStateException si el lado batch puede ocupar todo el pool.
+     */
+    static void repartirConexiones(BulkheadProperties properties, int conexiones, int hilosParticion, int hilosImportacion) {
+        BulkheadProperties.Clase batch = properties.getClases().get(properties.getClaseBatch());
+        int conexionesBatch = (batch != null ? batch.getMaxConcurrentes() : 0) + hilosParticion + hilosImportacion;
+        int restantes = conexiones - conexionesBatch;
+        if (restantes < 1) {
+            throw new IllegalStateException("El lado batch puede ocupar " + conexionesBatch + " de las " + conexiones
+                    + " conexiones del pool: aumentar spring.datasource.hikari.maximum-pool-size o reducir "
+                    + "banco.app.bulkhead.clases." + properties.getClaseBatch() + ".maxConcurrentes, "
+                    + "banco.app.batch.paralelo.hilos o banco.app.importacion.hilos.");
+        }
+        logger.info("Pool de {} conexiones: hasta {} del lado batch ({} solicitudes, {} particiones, {} importaciones), {} para el resto.",
+                conexiones, conexionesBatch, batch != null ? batch.getMaxConcurrentes() : 0, hilosParticion, hilosImportacion,
+                restantes);
+        properties.getClases().forEach((nombre, clase) -> {
+            if (clase != batch && clase.getMaxConcurrentes() > restantes) {
+                logger.warn("Bulkhead '{}': maxConcurrentes {} limitado a {}, las conexiones que deja el lado batch.",
+                        nombre, clase.getMaxConcurrentes(), restantes);
+                clase.setMaxConcurrentes(restantes);
+            }
+        });
+    }
+
+    // Dentro del bulkhead: mide la latencia del servicio sin la espera en la cola del bulkhead
+    @Bean
+    @ConditionalOnProperty(name = "banco.app.limite-adaptativo.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdaptiveConcurrencyFilter> adaptiveConcurrencyFilter(AdaptiveLimitProperties properties,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdaptiveConcurrencyFilter> registration =
+                new FilterRegistrationBean<>(new AdaptiveConcurrencyFilter(properties, objectMapper, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+        return registration;
+    }
+}
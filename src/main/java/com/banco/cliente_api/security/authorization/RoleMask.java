@@ -0,0 +1,60 @@
+package com.banco.cliente_api.security.authorization;
+
+import java.util.Collection;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.banco.cliente_api.security.entity.EnumRole;
+
+/**
+ * Codificación de los roles de {@link EnumRole} como bits de un int (bit = ordinal del rol).
+ * Permite resolver expresiones del tipo "hasRole('A') or hasRole('B')" con un único AND.
+ */
+public final class RoleMask {
+
+    public static final int NINGUNO = 0;
+
+    private RoleMask() {
+    }
+
+    public static int of(EnumRole role) {
+        return 1 << role.ordinal();
+    }
+
+    /**
+     * Convierte una authority ("ROLE_ADMIN") en su bit, o 0 si no corresponde a un EnumRole.
+     */
+    public static int of(String authority) {
+        for (EnumRole role : EnumRole.values()) {
+            if (role.name().equals(authority)) {
+                return of(role);
+            }
+        }
+        return NINGUNO;
+    }
+
+    public static int fromAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        int mask = NINGUNO;
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                mask |= of(authority.getAuthority());
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Máscara de roles de las authorities del Authentication, como las mira hasRole. Los tokens de AuthTokenFilter
+     * (RoleMaskAuthenticationToken) la traen calculada desde esas mismas authorities.
+     */
+    public static int fromAuthentication(Authentication authentication) {
+        if (authentication == null) {
+            return NINGUNO;
+        }
+        if (authentication instanceof RoleMaskAuthenticationToken token) {
+            return token.getRoleMask();
+        }
+        return fromAuthorities(authentication.getAuthorities());
+    }
+}
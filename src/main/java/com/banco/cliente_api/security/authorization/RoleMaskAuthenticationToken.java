@@ -0,0 +1,28 @@
+package com.banco.cliente_api.security.authorization;
+
+import java.util.Collection;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Token autenticado que guarda la máscara de sus propias authorities (ver RoleMask), calculada una vez al
+ * construirlo. AuthTokenFilter lo usa para que la autorización de cada endpoint sea un AND.
+ * La máscara sale de getAuthorities() del token, igual que lo que evalúa hasRole en SpEL.
+ */
+public class RoleMaskAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int roleMask;
+
+    public RoleMaskAuthenticationToken(Object principal, Object credentials,
+            Collection<? extends GrantedAuthority> authorities) {
+        super(principal, credentials, authorities);
+        this.roleMask = RoleMask.fromAuthorities(getAuthorities());
+    }
+
+    public int getRoleMask() {
+        return roleMask;
+    }
+}
@@ -0,0 +1,199 @@
+package com.banco.cliente_api.security.authorization;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * AuthorizationManager para @PreAuthorize que evita evaluar SpEL en cada llamada.
+ * Las expresiones formadas solo por hasRole/hasAnyRole/hasAuthority unidas con "or" se compilan
+ * una vez a una máscara de roles (ver RoleMask) y la decisión pasa a ser un AND contra la máscara
+ * del usuario autenticado. Cualquier otra expresión se delega en PreAuthorizeAuthorizationManager con el
+ * MethodSecurityExpressionHandler del contexto. El prefijo de roles y la jerarquía de roles, si los hay,
+ * se aplican igual que en SpEL. Los métodos de los @RestController se precompilan al terminar de crear los singletons.
+ */
+public class RoleMaskAuthorizationManager
+        implements AuthorizationManager<MethodInvocation>, SmartInitializingSingleton, ApplicationContextAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleMaskAuthorizationManager.class);
+
+    // Las decisiones son inmutables: se reutilizan en vez de crear una por solicitud
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Pattern OR = Pattern.compile("\\s+or\\s+");
+    private static final Pattern TERMINO = Pattern.compile("(hasRole|hasAnyRole|hasAuthority|hasAnyAuthority)\\((.*)\\)");
+    private static final Pattern ARGUMENTO = Pattern.compile("'([A-Za-z0-9_]+)'");
+
+    // Valores especiales de la caché: sin @PreAuthorize (se abstiene) y expresión no compilable (SpEL)
+    private static final int SIN_ANOTACION = -1;
+    private static final int NO_COMPILABLE = -2;
+
+    private final PreAuthorizeAuthorizationManager fallback = new PreAuthorizeAuthorizationManager();
+    private final Map<Method, Integer> mascaras = new ConcurrentHashMap<>();
+
+    private ApplicationContext applicationContext;
+    private String rolePrefix = ROLE_PREFIX;
+    // null sin jerarquía: la máscara sale directamente de las authorities del Authentication
+    private RoleHierarchy roleHierarchy;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+        fallback.setApplicationContext(applicationContext);
+    }
+
+    /**
+     * Handler con el que se evalúan las expresiones que no se compilan a máscara.
+     */
+    public void setExpressionHandler(MethodSecurityExpressionHandler expressionHandler) {
+        fallback.setExpressionHandler(expressionHandler);
+    }
+
+    /**
+     * Prefijo que hasRole/hasAnyRole agregan al rol (GrantedAuthorityDefaults); por defecto ROLE_.
+     */
+    public void setRolePrefix(String rolePrefix) {
+        this.rolePrefix = rolePrefix;
+        mascaras.clear();
+    }
+
+    public void setRoleHierarchy(RoleHierarchy roleHierarchy) {
+        this.roleHierarchy = roleHierarchy;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (applicationContext == null) {
+            return;
+        }
+        int compiladas = 0;
+        for (Object controller : applicationContext.getBeansWithAnnotation(RestController.class).values()) {
+            Class<?> clase = AopUtils.getTargetClass(controller);
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(clase, ReflectionUtils.USER_DECLARED_METHODS)) {
+                int mascara = mascaraDe(method);
+                if (mascara >= 0) {
+                    compiladas++;
+                }
+            }
+        }
+        logger.info("RoleMaskAuthorizationManager - {} expresiones @PreAuthorize precompiladas a máscara de roles.", compiladas);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        int requerida = mascaraDe(invocation.getMethod());
+        if (requerida == SIN_ANOTACION) {
+            return null;
+        }
+        if (requerida == NO_COMPILABLE) {
+            return fallback.authorize(authentication, invocation);
+        }
+        // Igual que SecurityExpressionRoot.hasRole: solo se miran las authorities del Authentication
+        return (mascaraDe(authentication.get()) & requerida) != 0 ? GRANTED : DENIED;
+    }
+
+    private int mascaraDe(Authentication authentication) {
+        if (roleHierarchy == null || authentication == null) {
+            return RoleMask.fromAuthentication(authentication);
+        }
+        return RoleMask.fromAuthorities(roleHierarchy.getReachableGrantedAuthorities(authentication.getAuthorities()));
+    }
+
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return (AuthorizationDecision) authorize(authentication, invocation);
+    }
+
+    /**
+     * Indica si la expresión del método se resuelve con máscara (true) o con SpEL (false).
+     */
+    boolean isCompilado(Method method) {
+        return mascaraDe(method) >= 0;
+    }
+
+    private int mascaraDe(Method method) {
+        return mascaras.computeIfAbsent(method, this::compilar);
+    }
+
+    private int compilar(Method method) {
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), PreAuthorize.class);
+        }
+        if (preAuthorize == null) {
+            return SIN_ANOTACION;
+        }
+        int mascara = compilar(preAuthorize.value().trim(), rolePrefix);
+        if (mascara == NO_COMPILABLE) {
+            logger.debug("RoleMaskAuthorizationManager - {} se evaluará con SpEL: {}", method, preAuthorize.value());
+        }
+        return mascara;
+    }
+
+    /**
+     * Compila "hasRole('A') or hasAnyRole('B','C') or hasAuthority('ROLE_D')" a la unión de sus bits.
+     * Devuelve NO_COMPILABLE ante cualquier otra construcción o un rol que no exista en EnumRole.
+     */
+    static int compilar(String expresion) {
+        return compilar(expresion, ROLE_PREFIX);
+    }
+
+    static int compilar(String expresion, String rolePrefix) {
+        if (expresion.isEmpty()) {
+            return NO_COMPILABLE;
+        }
+        int mascara = RoleMask.NINGUNO;
+        for (String termino : OR.split(expresion)) {
+            Matcher matcher = TERMINO.matcher(termino.trim());
+            if (!matcher.matches()) {
+                return NO_COMPILABLE;
+            }
+            String funcion = matcher.group(1);
+            // hasRole/hasAnyRole agregan el prefijo ROLE_; hasAuthority/hasAnyAuthority comparan tal cual
+            boolean conPrefijo = funcion.endsWith("Role");
+            String[] argumentos = matcher.group(2).split(",");
+            if (!funcion.startsWith("hasAny") && argumentos.length != 1) {
+                return NO_COMPILABLE;
+            }
+            for (String argumento : argumentos) {
+                Matcher rol = ARGUMENTO.matcher(argumento.trim());
+                if (!rol.matches()) {
+                    return NO_COMPILABLE;
+                }
+                String authority = conPrefijo && !rolePrefix.isEmpty() && !rol.group(1).startsWith(rolePrefix)
+                        ? rolePrefix + rol.group(1) : rol.group(1);
+                int bit = RoleMask.of(authority);
+                if (bit == RoleMask.NINGUNO) {
+                    return NO_COMPILABLE;
+                }
+                mascara |= bit;
+            }
+        }
+        return mascara;
+    }
+}
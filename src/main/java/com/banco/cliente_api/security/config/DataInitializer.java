@@ -8,8 +8,14 @@ import com.banco.cliente_api.security.repository.RoleRepository;
 import com.banco.cliente_api.security.repository.UsuarioBancoRepository;
 import com.banco.cliente_api.model.ProductoBancario;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,104 +23,116 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class DataInitializer {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
-     @Bean
+    private record UsuarioInicial(String username, String password, EnumRole rol) {
+    }
+
+    private static final List<UsuarioInicial> USUARIOS = List.of(
+            new UsuarioInicial("admin", "adminpass", EnumRole.ROLE_ADMIN),
+            new UsuarioInicial("user", "userpass", EnumRole.ROLE_USER));
+
+    // Catálogo de productos bancarios: código -> descripción
+    private static final Map<String, String> PRODUCTOS = new LinkedHashMap<>();
+    static {
+        PRODUCTOS.put("PZOF", "Plazo Fijo");
+        PRODUCTOS.put("CHEQ", "Cheques");
+        PRODUCTOS.put("TJCREDITO", "Tarjeta de Crédito");
+        PRODUCTOS.put("CJAHRR", "Caja de Ahorro");
+        PRODUCTOS.put("CTACORR", "Cuenta Corriente");
+        PRODUCTOS.put("PRESTAMO", "Préstamo");
+        PRODUCTOS.put("TJDEBITO", "Tarjeta de Débito");
+    }
+
+    /**
+     * Precarga roles, usuarios y productos bancarios en una única transacción.
+     * Por cada tabla se hace una sola consulta para saber qué ya existe y un saveAll con lo que falta,
+     * en lugar de un findBy + save por elemento: en un arranque con los datos ya cargados son tres consultas.
+     */
+    @Bean
     public CommandLineRunner initData(RoleRepository roleRepository,
                                       UsuarioBancoRepository usuarioBancoRepository,
                                       ProductoBancarioRepository productoBancarioRepository,
-                                      PasswordEncoder passwordEncoder) { 
+                                      PasswordEncoder passwordEncoder,
+                                      PlatformTransactionManager transactionManager) {
         return args -> {
             logger.info("Iniciando precarga de datos: Roles, Usuarios y Productos Bancarios...");
+            long inicio = System.nanoTime();
 
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Map<EnumRole, Role> roles = precargarRoles(roleRepository);
+                precargarUsuarios(usuarioBancoRepository, passwordEncoder, roles);
+                precargarProductos(productoBancarioRepository);
+            });
 
-            /* Lógica de creación de Roles */
-            Role userRole = roleRepository.findByName(EnumRole.ROLE_USER)
-                                          .orElseGet(() -> {
-                                              Role newUserRole = new Role();
-                                              newUserRole.setName(EnumRole.ROLE_USER);
-                                              return roleRepository.save(newUserRole);
-                                          });
-            if (userRole.getId() != null) {
-                logger.info("Rol ROLE_USER verificado/creado");
-            }
+            logger.info("Precarga de datos completada en {} ms.", (System.nanoTime() - inicio) / 1_000_000);
+        };
+    }
 
-            Role modRole = roleRepository.findByName(EnumRole.ROLE_MODERATOR)
-                                         .orElseGet(() -> {
-                                             Role newModRole = new Role();
-                                             newModRole.setName(EnumRole.ROLE_MODERATOR);
-                                             return roleRepository.save(newModRole);
-                                         });
-            if (modRole.getId() != null) {
-                logger.info("Rol ROLE_MODERATOR verificado/creado");
-            }
+    private Map<EnumRole, Role> precargarRoles(RoleRepository roleRepository) {
+        Map<EnumRole, Role> roles = new EnumMap<>(EnumRole.class);
+        roleRepository.findAll().forEach(role -> roles.put(role.getName(), role));
 
-            Role adminRole = roleRepository.findByName(EnumRole.ROLE_ADMIN)
-                                           .orElseGet(() -> {
-                                               Role newAdminRole = new Role();
-                                               newAdminRole.setName(EnumRole.ROLE_ADMIN);
-                                               return roleRepository.save(newAdminRole);
-                                           });
-            if (adminRole.getId() != null) {
-                logger.info("Rol ROLE_ADMIN verificado/creado");
+        List<Role> nuevos = new ArrayList<>();
+        for (EnumRole nombre : EnumRole.values()) {
+            if (!roles.containsKey(nombre)) {
+                Role role = new Role();
+                role.setName(nombre);
+                nuevos.add(role);
             }
+        }
+        roleRepository.saveAll(nuevos).forEach(role -> roles.put(role.getName(), role));
+        logger.info("Roles verificados: {} existentes, {} creados.", roles.size() - nuevos.size(), nuevos.size());
+        return roles;
+    }
 
-            // * Lógica de creación de Usuarios */
-            logger.info("Verificando y creando usuarios iniciales si no existen...");
-
-            // Crear usuario 'admin'
-            if (usuarioBancoRepository.findByUsername("admin").isEmpty()) {
-                UsuarioBanco adminUser = new UsuarioBanco("admin", passwordEncoder.encode("adminpass"));
-                Set<Role> adminRoles = new HashSet<>();
-                adminRoles.add(adminRole);
-                adminUser.setRoles(adminRoles);
-                usuarioBancoRepository.save(adminUser);
-                logger.info("Usuario 'admin' creado con éxito (Username: admin, Password: adminpass).");
-            } else {
-                logger.info("Usuario 'admin' ya existe.");
-            }
+    private void precargarUsuarios(UsuarioBancoRepository usuarioBancoRepository, PasswordEncoder passwordEncoder,
+                                   Map<EnumRole, Role> roles) {
+        Set<String> existentes = usuarioBancoRepository
+                .findByUsernameIn(USUARIOS.stream().map(UsuarioInicial::username).toList())
+                .stream()
+                .map(UsuarioBanco::getUsername)
+                .collect(Collectors.toSet());
 
-            // Crear usuario 'user'
-            if (usuarioBancoRepository.findByUsername("user").isEmpty()) {
-                UsuarioBanco standardUser = new UsuarioBanco("user", passwordEncoder.encode("userpass"));
-                Set<Role> userRoles = new HashSet<>();
-                userRoles.add(userRole);
-                standardUser.setRoles(userRoles);
-                usuarioBancoRepository.save(standardUser);
-                logger.info("Usuario 'user' creado con éxito (Username: user, Password: userpass).");
-            } else {
-                logger.info("Usuario 'user' ya existe.");
+        List<UsuarioBanco> nuevos = new ArrayList<>();
+        for (UsuarioInicial usuario : USUARIOS) {
+            if (existentes.contains(usuario.username())) {
+                logger.info("Usuario '{}' ya existe.", usuario.username());
+                continue;
             }
-
-            // *** Precarga de Productos Bancarios ***/
-            logger.info("Verificando y creando productos bancarios iniciales si no existen...");
-
-            insertProductoIfNotExists(productoBancarioRepository, "PZOF", "Plazo Fijo");
-            insertProductoIfNotExists(productoBancarioRepository, "CHEQ", "Cheques");
-            insertProductoIfNotExists(productoBancarioRepository, "TJCREDITO", "Tarjeta de Crédito");
-            insertProductoIfNotExists(productoBancarioRepository, "CJAHRR", "Caja de Ahorro");
-            insertProductoIfNotExists(productoBancarioRepository, "CTACORR", "Cuenta Corriente");
-            insertProductoIfNotExists(productoBancarioRepository, "PRESTAMO", "Préstamo");
-            insertProductoIfNotExists(productoBancarioRepository, "TJDEBITO", "Tarjeta de Débito");
-       
-        };
+            // BCrypt solo se paga en el primer arranque, para los usuarios que faltan
+            UsuarioBanco nuevo = new UsuarioBanco(usuario.username(), passwordEncoder.encode(usuario.password()));
+            nuevo.setRoles(new HashSet<>(Set.of(roles.get(usuario.rol()))));
+            nuevos.add(nuevo);
+            logger.info("Usuario '{}' creado con éxito (Username: {}, Password: {}).",
+                    usuario.username(), usuario.username(), usuario.password());
+        }
+        usuarioBancoRepository.saveAll(nuevos);
     }
-    
-    // Método auxiliar para evitar repetición de código
-    private void insertProductoIfNotExists(ProductoBancarioRepository repo, String codigo, String descripcion) {
-        repo.findByCodigo(codigo).ifPresentOrElse(
-            producto -> logger.info("Producto '{}' ({}) ya existe.", descripcion, codigo),
-            () -> {
+
+    private void precargarProductos(ProductoBancarioRepository productoBancarioRepository) {
+        Set<String> existentes = productoBancarioRepository.findByCodigoIn(PRODUCTOS.keySet())
+                .stream()
+                .map(ProductoBancario::getCodigo)
+                .collect(Collectors.toSet());
+
+        List<ProductoBancario> nuevos = new ArrayList<>();
+        PRODUCTOS.forEach((codigo, descripcion) -> {
+            if (!existentes.contains(codigo)) {
                 ProductoBancario nuevoProducto = new ProductoBancario();
                 nuevoProducto.setCodigo(codigo);
                 nuevoProducto.setDescripcion(descripcion);
-                repo.save(nuevoProducto);
+                nuevos.add(nuevoProducto);
                 logger.info("Producto '{}' ({}) creado.", descripcion, codigo);
             }
-        );
+        });
+        productoBancarioRepository.saveAll(nuevos);
+        logger.info("Productos bancarios verificados: {} existentes, {} creados.", existentes.size(), nuevos.size());
     }
-}
\ No newline at end of file
+}
@@ -1,24 +1,50 @@
 package com.banco.cliente_api.security.config;
 
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PostFilterAuthorizationMethodInterceptor;
+import org.springframework.security.authorization.method.PreFilterAuthorizationMethodInterceptor;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.core.GrantedAuthorityDefaults;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
+import com.banco.cliente_api.security.authorization.RoleMaskAuthorizationManager;
 import com.banco.cliente_api.security.jwt.AuthEntryPointJwt;
 import com.banco.cliente_api.security.jwt.AuthTokenFilter;
+import com.banco.cliente_api.security.idempotency.IdempotencyFilter;
+import com.banco.cliente_api.security.idempotency.IdempotencyProperties;
+import com.banco.cliente_api.security.ratelimit.RateLimitFilter;
+import com.banco.cliente_api.security.ratelimit.RateLimitProperties;
 import com.banco.cliente_api.security.service.UsuarioBancoServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,13 +52,23 @@ import lombok.RequiredArgsConstructor;
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
-@EnableMethodSecurity(prePostEnabled = true) // Permite usar anotaciones como @PreAuthorize en los controladores
+// @PreAuthorize, @PostAuthorize, @PreFilter y @PostFilter siguen habilitadas: sus interceptores se registran
+// abajo en lugar de los que trae prePostEnabled, para que @PreAuthorize lo resuelva RoleMaskAuthorizationManager.
+@EnableMethodSecurity(prePostEnabled = false)
 public class WebSecurityConfig {
    
     @Autowired
     private UsuarioBancoServiceImpl usuarioBancoService;
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
+
+    // Rutas en las que AuthTokenFilter no se ejecuta: endpoints públicos sin roles y preflight CORS.
+    // /api/test/user, /mod y /admin quedan fuera porque sus @PreAuthorize necesitan el usuario del JWT.
+    private static final RequestMatcher RUTAS_SIN_JWT = new OrRequestMatcher(
+            PathPatternRequestMatcher.withDefaults().matcher("/api/auth/**"),
+            PathPatternRequestMatcher.withDefaults().matcher("/api/test/all"),
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.OPTIONS, "/**"));
+
     // Este bean define el codificador de contraseñas
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -63,7 +99,8 @@ public class WebSecurityConfig {
 
     /*** Aquí definimos las reglas de autorización y los filtros de seguridad. ***/
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, RateLimitFilter rateLimitFilter,
+                                           IdempotencyFilter idempotencyFilter) throws Exception {
         http.csrf(csrf -> csrf.disable()) // Deshabilita CSRF para APIs RESTful que usan JWT
             // Configura el manejador para excepciones de autenticación (401 Unauthorized)
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
@@ -72,6 +109,9 @@ public class WebSecurityConfig {
                 // Permite acceso público a los endpoints de autenticación (login, registro de usuarios)
                 auth.requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/test/**").permitAll()
+                    // Health y sondas liveness/readiness para los chequeos de vida; métricas (Prometheus incluido) solo para administradores
+                    .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     // Cualquier otra solicitud debe ser autenticada (requiere un JWT válido)
                     .anyRequest().authenticated()
             );
@@ -83,6 +123,11 @@ public class WebSecurityConfig {
         // Esto asegura que JWT sea validado antes.
         http.addFilterBefore(authTokenFilter(), UsernamePasswordAuthenticationFilter.class);
 
+        // El rate limiting va después del filtro JWT para poder identificar al usuario autenticado.
+        http.addFilterAfter(rateLimitFilter, AuthTokenFilter.class);
+        // Idempotency-Key después del rate limiting: las claves se guardan por usuario y los reintentos consumen tokens.
+        http.addFilterAfter(idempotencyFilter, RateLimitFilter.class);
+
         return http.build();
     }
 
@@ -90,7 +135,95 @@ public class WebSecurityConfig {
     // Es un bean de inyeccion de dependencias dentro de AuthTokenFilter.
     @Bean
     public AuthTokenFilter authTokenFilter() {
-        return new AuthTokenFilter();
+        AuthTokenFilter authTokenFilter = new AuthTokenFilter();
+        authTokenFilter.setRutasExcluidas(RUTAS_SIN_JWT);
+        return authTokenFilter;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties rateLimitProperties, ObjectMapper objectMapper) {
+        return new RateLimitFilter(rateLimitProperties, objectMapper);
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyProperties idempotencyProperties, ObjectMapper objectMapper) {
+        return new IdempotencyFilter(idempotencyProperties, objectMapper);
+    }
+
+    // Los beans de infraestructura de seguridad de métodos se declaran static para no inicializar antes
+    // esta configuración (y sus dependencias) al crear los proxies.
+
+    // Handler SpEL armado como el de prePostEnabled: contexto de la aplicación, jerarquía de roles y prefijo de roles.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ApplicationContext applicationContext,
+            ObjectProvider<RoleHierarchy> roleHierarchy, ObjectProvider<GrantedAuthorityDefaults> authorityDefaults) {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setRoleHierarchy(roleHierarchy.getIfAvailable(NullRoleHierarchy::new));
+        authorityDefaults.ifAvailable(defaults -> handler.setDefaultRolePrefix(defaults.getRolePrefix()));
+        handler.setApplicationContext(applicationContext);
+        return handler;
+    }
+
+    // Precompila las expresiones hasRole(...) de @PreAuthorize a máscaras de roles; el resto va por el handler SpEL.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static RoleMaskAuthorizationManager roleMaskAuthorizationManager(MethodSecurityExpressionHandler expressionHandler,
+            ObjectProvider<RoleHierarchy> roleHierarchy, ObjectProvider<GrantedAuthorityDefaults> authorityDefaults) {
+        RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager();
+        manager.setExpressionHandler(expressionHandler);
+        roleHierarchy.ifAvailable(manager::setRoleHierarchy);
+        authorityDefaults.ifAvailable(defaults -> manager.setRolePrefix(defaults.getRolePrefix()));
+        return manager;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAdvisor(RoleMaskAuthorizationManager roleMaskAuthorizationManager) {
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(roleMaskAuthorizationManager);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAdvisor(MethodSecurityExpressionHandler expressionHandler,
+            ApplicationContext applicationContext) {
+        PostAuthorizeAuthorizationManager manager = new PostAuthorizeAuthorizationManager();
+        manager.setExpressionHandler(expressionHandler);
+        manager.setApplicationContext(applicationContext);
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize(manager);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preFilterAdvisor(MethodSecurityExpressionHandler expressionHandler) {
+        PreFilterAuthorizationMethodInterceptor interceptor = new PreFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler);
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postFilterAdvisor(MethodSecurityExpressionHandler expressionHandler) {
+        PostFilterAuthorizationMethodInterceptor interceptor = new PostFilterAuthorizationMethodInterceptor();
+        interceptor.setExpressionHandler(expressionHandler);
+        return interceptor;
+    }
+
+    // Evita que Spring Boot registre el RateLimitFilter también como filtro de servlet:
+    // fuera de la cadena de seguridad no habría usuario autenticado con el cual identificar el bucket.
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // Igual que el RateLimitFilter: las claves de idempotencia se asocian al usuario autenticado.
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter idempotencyFilter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(idempotencyFilter);
+        registration.setEnabled(false);
+        return registration;
     }
 
-}
\ No newline at end of file
+}
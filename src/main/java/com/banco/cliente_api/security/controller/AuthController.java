@@ -20,15 +20,19 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.banco.cliente_api.security.entity.EnumRole;
+import com.banco.cliente_api.security.entity.RefreshToken;
 import com.banco.cliente_api.security.entity.Role;
 import com.banco.cliente_api.security.entity.UsuarioBanco;
 import com.banco.cliente_api.security.jwt.JwtUtils;
 import com.banco.cliente_api.security.payload.request.LoginRequest;
 import com.banco.cliente_api.security.payload.request.SignupRequest;
+import com.banco.cliente_api.security.payload.request.TokenRefreshRequest;
 import com.banco.cliente_api.security.payload.response.JwtResponse;
 import com.banco.cliente_api.security.payload.response.MessageResponse;
+import com.banco.cliente_api.security.payload.response.TokenRefreshResponse;
 import com.banco.cliente_api.security.repository.RoleRepository;
 import com.banco.cliente_api.security.repository.UsuarioBancoRepository;
+import com.banco.cliente_api.security.service.RefreshTokenService;
 import com.banco.cliente_api.security.service.UsuarioBancoDetailsImpl;
 
 import jakarta.validation.Valid;
@@ -47,6 +51,7 @@ public class AuthController {
     private final RoleRepository roleRepository;
     private final PasswordEncoder encoder;
     private final JwtUtils jwtUtils;
+    private final RefreshTokenService refreshTokenService;
 
     
     /**
@@ -80,13 +85,32 @@ public class AuthController {
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
+        // Inicia una nueva familia de refresh tokens para renovar el JWT sin volver a pasar por BCrypt
+        RefreshToken refreshToken = refreshTokenService.crearRefreshToken(usuarioBancoDetails.getUsername());
+
         // Devuelve la respuesta JWT con el token y detalles del usuario
         return ResponseEntity.ok(new JwtResponse(jwt,
+                                                 refreshToken.getToken(),
                                                  usuarioBancoDetails.getId(),
                                                  usuarioBancoDetails.getUsername(),
                                                  roles));
     }
 
+    /**
+     * Endpoint para renovar el JWT de acceso a partir de un refresh token.
+     * No consulta la base de datos ni verifica la contraseña: el refresh token se rota
+     * (el recibido queda invalidado) y se devuelve uno nuevo junto con el JWT.
+     * @param request DTO con el refresh token vigente.
+     * @return ResponseEntity con el nuevo JWT y el nuevo refresh token.
+     */
+    @PostMapping("/refreshtoken")
+    public ResponseEntity<TokenRefreshResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        RefreshToken nuevoRefreshToken = refreshTokenService.rotarRefreshToken(request.getRefreshToken());
+        String jwt = jwtUtils.generateTokenFromUsername(nuevoRefreshToken.getUsername());
+        logger.debug("JWT renovado mediante refresh token para el usuario: {}", nuevoRefreshToken.getUsername());
+        return ResponseEntity.ok(new TokenRefreshResponse(jwt, nuevoRefreshToken.getToken()));
+    }
+
     /**
      * Endpoint para registrar un nuevo usuario.
      * @param signUpRequest DTO con username, email, password y roles (opcional).
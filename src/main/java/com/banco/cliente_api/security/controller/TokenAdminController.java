@@ -0,0 +1,92 @@
+package com.banco.cliente_api.security.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.banco.cliente_api.exception.InvalidInputException;
+import com.banco.cliente_api.security.jwt.JwtRevocationList;
+import com.banco.cliente_api.security.jwt.JwtUtils;
+import com.banco.cliente_api.security.payload.request.RevokeTokenRequest;
+import com.banco.cliente_api.security.payload.response.MessageResponse;
+import com.banco.cliente_api.security.service.RefreshTokenService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/tokens")
+public class TokenAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenAdminController.class);
+
+    private final JwtUtils jwtUtils;
+    private final JwtRevocationList jwtRevocationList;
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Revoca un JWT de acceso antes de su expiración y/o los refresh tokens de la sesión o del usuario.
+     * Requiere el rol 'ADMIN'.
+     *
+     * @param request DTO con el token completo o su jti, y opcionalmente un refresh token o un username.
+     * @return ResponseEntity con un mensaje de confirmación.
+     */
+    @PostMapping("/revoke") // /api/admin/tokens/revoke
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> revocarToken(@RequestBody RevokeTokenRequest request) {
+        boolean conAccessToken = StringUtils.hasText(request.getToken()) || StringUtils.hasText(request.getJti());
+        boolean conRefreshToken = StringUtils.hasText(request.getRefreshToken());
+        boolean conUsername = StringUtils.hasText(request.getUsername());
+        if (!conAccessToken && !conRefreshToken && !conUsername) {
+            throw new InvalidInputException("Debe especificar el token, el jti, el refresh token o el username a revocar.");
+        }
+
+        if (conAccessToken) {
+            revocarAccessToken(request);
+        }
+        int refreshRevocados = 0;
+        if (conRefreshToken) {
+            refreshRevocados += refreshTokenService.revocarFamilia(request.getRefreshToken());
+        }
+        if (conUsername) {
+            refreshRevocados += refreshTokenService.revocarUsuario(request.getUsername());
+        }
+        if (conRefreshToken || conUsername) {
+            logger.info("Revocados {} refresh token(s){}.", refreshRevocados,
+                    conUsername ? " del usuario " + request.getUsername() : "");
+        }
+        return ResponseEntity.ok(new MessageResponse("Token revocado exitosamente."));
+    }
+
+    private void revocarAccessToken(RevokeTokenRequest request) {
+        String jti;
+        long expiracionMs;
+        if (StringUtils.hasText(request.getToken())) {
+            try {
+                Claims claims = jwtUtils.getClaimsFromJwtToken(request.getToken());
+                jti = claims.getId();
+                expiracionMs = claims.getExpiration().getTime();
+            } catch (JwtException | IllegalArgumentException e) {
+                throw new InvalidInputException("El token a revocar no es válido o ya expiró: " + e.getMessage());
+            }
+        } else {
+            jti = request.getJti();
+            expiracionMs = System.currentTimeMillis() + jwtUtils.getJwtExpirationMs();
+        }
+
+        if (!jwtRevocationList.revocar(jti, expiracionMs)) {
+            throw new InvalidInputException("El token no tiene un jti revocable: " + jti);
+        }
+        logger.info("Token con jti {} revocado hasta {}.", jti, expiracionMs);
+    }
+}
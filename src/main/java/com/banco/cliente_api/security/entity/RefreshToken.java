@@ -0,0 +1,33 @@
+package com.banco.cliente_api.security.entity;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Refresh token opaco emitido junto al JWT de acceso.
+ * No es una entidad JPA: vive en un {@link com.banco.cliente_api.security.repository.RefreshTokenStore},
+ * que hoy es en memoria pero puede reemplazarse por uno respaldado en base de datos.
+ * Es inmutable para que el store pueda rotarlo con una operación compare-and-set.
+ */
+@Getter
+@AllArgsConstructor
+public class RefreshToken {
+
+    private final String token;
+    private final String username;
+    // Todos los tokens obtenidos por rotación a partir del mismo login comparten familia.
+    // Si se detecta la reutilización de un token ya rotado se revoca la familia completa.
+    private final String familia;
+    private final Instant expiryDate;
+    private final boolean usado;
+
+    public boolean isExpirado(Instant ahora) {
+        return expiryDate.isBefore(ahora);
+    }
+
+    public RefreshToken marcarUsado() {
+        return new RefreshToken(token, username, familia, expiryDate, true);
+    }
+}
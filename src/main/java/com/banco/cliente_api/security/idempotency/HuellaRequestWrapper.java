@@ -0,0 +1,116 @@
+package com.banco.cliente_api.security.idempotency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Calcula el SHA-256 del cuerpo a medida que la aplicación lo lee, sin guardarlo: los endpoints batch siguen
+ * leyendo el arreglo por bloques. huella() consume lo que la aplicación no haya leído.
+ */
+class HuellaRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final int TAMANIO_BUFFER = 8192;
+
+    private final MessageDigest digest = sha256();
+    private ServletInputStream entrada;
+    private BufferedReader reader;
+
+    HuellaRequestWrapper(HttpServletRequest request) {
+        super(request);
+    }
+
+    /**
+     * Huella de un cuerpo que no se va a procesar (el de un reintento): lo lee completo sin guardarlo.
+     */
+    static byte[] calcular(HttpServletRequest request) throws IOException {
+        return new HuellaRequestWrapper(request).huella();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (entrada == null) {
+            entrada = new EntradaConHuella(super.getInputStream());
+        }
+        return entrada;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    byte[] huella() throws IOException {
+        InputStream resto = getInputStream();
+        byte[] buffer = new byte[TAMANIO_BUFFER];
+        while (resto.read(buffer) >= 0) {
+            // Solo actualiza el digest
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private class EntradaConHuella extends ServletInputStream {
+
+        private final ServletInputStream original;
+
+        EntradaConHuella(ServletInputStream original) {
+            this.original = original;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = original.read();
+            if (b >= 0) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int desde, int cantidad) throws IOException {
+            int n = original.read(buffer, desde, cantidad);
+            if (n > 0) {
+                digest.update(buffer, desde, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return original.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return original.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            original.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.banco.cliente_api.security.idempotency;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.banco.cliente_api.adapter.web.dto.error.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Soporte de la cabecera Idempotency-Key en los POST y PATCH configurados.
+ * La primera solicitud con una clave se ejecuta y su respuesta queda guardada; un reintento con la misma clave
+ * (del mismo usuario, al mismo método y URI) recibe esa respuesta sin volver a ejecutar, con la cabecera
+ * Idempotent-Replayed. Un duplicado que llega mientras la original sigue en curso espera su resultado en lugar
+ * de ejecutarse en paralelo. Solo se guardan respuestas definitivas (no 5xx): ante un error del servidor la clave
+ * se libera para que el reintento vuelva a ejecutar. Junto con la respuesta se guarda el SHA-256 del cuerpo de la
+ * solicitud: reusar la clave con otro cuerpo responde 422 en lugar de devolver una respuesta que no le corresponde.
+ * Se ejecuta después del rate limiting, así los reintentos también consumen tokens.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String CABECERA = "Idempotency-Key";
+    public static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+    static final int MAX_LONGITUD_CLAVE = 255;
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore store;
+    private final List<PathPattern> patrones = new ArrayList<>();
+
+    public IdempotencyFilter(IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.store = new IdempotencyStore(TimeUnit.MILLISECONDS.toNanos(properties.getTtlMs()), properties.getMaxEntradas(),
+                properties.getMaxBytesTotal());
+        for (String patron : properties.getPatrones()) {
+            patrones.add(PathPatternParser.defaultInstance.parse(patron));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || request.getHeader(CABECERA) == null) {
+            return true;
+        }
+        String metodo = request.getMethod();
+        if (!"POST".equals(metodo) && !"PATCH".equals(metodo)) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return patrones.stream().noneMatch(p -> p.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            // Sin usuario no hay a quién asociar la clave; la cadena de seguridad responderá 401
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(CABECERA);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_LONGITUD_CLAVE) {
+            escribirError(request, response, HttpStatus.BAD_REQUEST,
+                    "La cabecera " + CABECERA + " debe tener entre 1 y " + MAX_LONGITUD_CLAVE + " caracteres.");
+            return;
+        }
+
+        // La clave se acota al usuario y a la operación: la misma Idempotency-Key en otro endpoint es otra solicitud
+        String clave = auth.getName() + ' ' + request.getMethod() + ' ' + request.getRequestURI()
+                + (request.getQueryString() != null ? '?' + request.getQueryString() : "") + ' ' + idempotencyKey;
+        IdempotencyStore.Entrada entrada = new IdempotencyStore.Entrada(System.nanoTime());
+        IdempotencyStore.Entrada existente = store.reservar(clave, entrada);
+        if (existente == IdempotencyStore.SIN_LUGAR) {
+            // Ejecutarla sin registrar la clave dejaría que un reintento la repita: se rechaza
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            escribirError(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Demasiadas solicitudes con " + CABECERA + " en curso. Reintente en 1 segundo.");
+            return;
+        }
+        if (existente != null) {
+            repetir(request, response, existente, HuellaRequestWrapper.calcular(request));
+            return;
+        }
+
+        HuellaRequestWrapper solicitud = new HuellaRequestWrapper(request);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.Respuesta respuesta = null;
+        try {
+            filterChain.doFilter(solicitud, wrapper);
+            respuesta = capturar(wrapper, solicitud.huella());
+        } finally {
+            store.completar(clave, entrada, respuesta);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // Barrido periódico de las respuestas vencidas para liberar su memoria aunque nadie las vuelva a pedir
+    @Scheduled(fixedDelayString = "${banco.app.idempotencia.barridoMs:60000}")
+    public void eliminarVencidas() {
+        store.barrer(System.nanoTime());
+    }
+
+    int cantidadEntradas() {
+        return store.tamanio();
+    }
+
+    long bytesGuardados() {
+        return store.bytes();
+    }
+
+    private IdempotencyStore.Respuesta capturar(ContentCachingResponseWrapper wrapper, byte[] huellaSolicitud) {
+        int status = wrapper.getStatus();
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()
+                || wrapper.getContentSize() > properties.getMaxBytesRespuesta()) {
+            return null;
+        }
+        return new IdempotencyStore.Respuesta(status, wrapper.getContentType(),
+                wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray(), huellaSolicitud);
+    }
+
+    private void repetir(HttpServletRequest request, HttpServletResponse response, IdempotencyStore.Entrada entrada,
+                         byte[] huellaSolicitud) throws IOException {
+        IdempotencyStore.Respuesta respuesta;
+        try {
+            respuesta = entrada.resultado.get(properties.getEsperaMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            escribirError(request, response, HttpStatus.CONFLICT,
+                    "Hay una solicitud en curso con la misma " + CABECERA + ". Reintente más tarde.");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            escribirError(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Solicitud interrumpida.");
+            return;
+        } catch (ExecutionException e) {
+            respuesta = null; // No ocurre: el resultado nunca se completa con una excepción
+        }
+        if (respuesta == null) {
+            escribirError(request, response, HttpStatus.CONFLICT,
+                    "La solicitud original con la misma " + CABECERA + " no terminó correctamente. Reintente.");
+            return;
+        }
+        if (!MessageDigest.isEqual(respuesta.huellaSolicitud(), huellaSolicitud)) {
+            escribirError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "La " + CABECERA + " ya se usó con otro cuerpo de solicitud.");
+            return;
+        }
+
+        logger.debug("Respuesta repetida para {} {} con {}", request.getMethod(), request.getRequestURI(), CABECERA);
+        response.setStatus(respuesta.status());
+        response.setHeader(CABECERA_REPETIDA, "true");
+        if (respuesta.contentType() != null) {
+            response.setContentType(respuesta.contentType());
+        }
+        if (respuesta.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, respuesta.location());
+        }
+        response.setContentLength(respuesta.cuerpo().length);
+        response.getOutputStream().write(respuesta.cuerpo());
+    }
+
+    private void escribirError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String mensaje)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), new ErrorResponse(status, mensaje, request.getRequestURI()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.banco.cliente_api.security.idempotency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración de la cabecera Idempotency-Key (prefijo banco.app.idempotencia).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "banco.app.idempotencia")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    // POST y PATCH a estas rutas aceptan la cabecera; el resto la ignora
+    private List<String> patrones = new ArrayList<>();
+    // Tiempo durante el cual una respuesta guardada se repite ante un reintento con la misma clave
+    private long ttlMs = 3_600_000;
+    // Tope de claves guardadas; al superarlo se descartan las más antiguas
+    private int maxEntradas = 10_000;
+    // Las respuestas más grandes no se guardan (solo se entregan a los duplicados que ya estaban esperando)
+    private int maxBytesRespuesta = 1_048_576;
+    // Tope de bytes de todas las respuestas guardadas; al superarlo se descartan las más antiguas
+    private long maxBytesTotal = 67_108_864;
+    // Cuánto espera un duplicado a que termine la solicitud en curso antes de responder 409
+    private long esperaMs = 30_000;
+}
@@ -0,0 +1,165 @@
+package com.banco.cliente_api.security.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Claves de idempotencia con su respuesta (o la solicitud todavía en curso), acotadas en cantidad, en bytes
+ * guardados y con vencimiento. El mapa está en orden de inserción, que es también el de vencimiento: los
+ * barridos y el descarte por tamaño solo miran las entradas más antiguas. Cada operación es una búsqueda bajo
+ * un lock corto (ReentrantLock, que no ancla el hilo portador con hilos virtuales).
+ */
+class IdempotencyStore {
+
+    /**
+     * Respuesta guardada de una solicitud ya ejecutada, con la huella (SHA-256) del cuerpo de esa solicitud.
+     */
+    record Respuesta(int status, String contentType, String location, byte[] cuerpo, byte[] huellaSolicitud) {
+    }
+
+    static final class Entrada {
+        private final long creadaNanos;
+        // Lo que cuenta para maxBytes (cuerpo de la respuesta y clave); 0 mientras está en curso
+        private long bytes;
+        // Se completa con la respuesta, o con null si no se guardó (error o respuesta demasiado grande)
+        final CompletableFuture<Respuesta> resultado = new CompletableFuture<>();
+
+        Entrada(long creadaNanos) {
+            this.creadaNanos = creadaNanos;
+        }
+    }
+
+    // Resultado de reservar cuando no hay lugar: todas las entradas están en curso y ninguna puede descartarse
+    static final Entrada SIN_LUGAR = new Entrada(0);
+
+    private final long ttlNanos;
+    private final int maxEntradas;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long bytes;
+
+    IdempotencyStore(long ttlNanos, int maxEntradas, long maxBytes) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntradas = maxEntradas;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Registra la clave con la entrada nueva si no existe (o venció y ya terminó).
+     * Una entrada en curso nunca se descarta ni se reemplaza, aunque haya vencido: si se hiciera, un duplicado
+     * concurrente ejecutaría la operación otra vez.
+     * @return null si quien llama debe ejecutar la solicitud; SIN_LUGAR si se alcanzó maxEntradas y todas están en
+     * curso; si no, la entrada existente, terminada o en curso.
+     */
+    Entrada reservar(String clave, Entrada nueva) {
+        lock.lock();
+        try {
+            long ahora = nueva.creadaNanos;
+            Entrada existente = entradas.get(clave);
+            if (existente != null && (!vencida(existente, ahora) || !existente.resultado.isDone())) {
+                return existente;
+            }
+            if (existente == null && entradas.size() >= maxEntradas && !hacerLugar(ahora)) {
+                return SIN_LUGAR;
+            }
+            descontar(entradas.remove(clave)); // Reinsertada al final para respetar el orden de vencimiento
+            entradas.put(clave, nueva);
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Con el lock tomado: barre las vencidas y, si no alcanza, descarta la respuesta guardada más antigua
+    private boolean hacerLugar(long ahora) {
+        barrer(ahora);
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (entradas.size() >= maxEntradas && it.hasNext()) {
+            Entrada antigua = it.next();
+            if (antigua.resultado.isDone()) {
+                descontar(antigua);
+                it.remove();
+            }
+        }
+        return entradas.size() < maxEntradas;
+    }
+
+    /**
+     * Termina la solicitud en curso. Con respuesta null la clave se libera para que un reintento vuelva a ejecutar.
+     * Si la respuesta lleva el total por encima de maxBytes se descartan las respuestas guardadas más antiguas
+     * (puede ser esta misma: los duplicados que ya la esperaban la reciben igual).
+     */
+    void completar(String clave, Entrada entrada, Respuesta respuesta) {
+        lock.lock();
+        try {
+            if (respuesta == null) {
+                entradas.remove(clave, entrada);
+            } else if (entradas.get(clave) == entrada) {
+                entrada.bytes = respuesta.cuerpo().length + clave.length();
+                bytes += entrada.bytes;
+                Iterator<Entrada> it = entradas.values().iterator();
+                while (bytes > maxBytes && it.hasNext()) {
+                    Entrada antigua = it.next();
+                    if (antigua.bytes > 0) {
+                        descontar(antigua);
+                        it.remove();
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        entrada.resultado.complete(respuesta);
+    }
+
+    void barrer(long ahora) {
+        lock.lock();
+        try {
+            Iterator<Entrada> it = entradas.values().iterator();
+            while (it.hasNext()) {
+                Entrada entrada = it.next();
+                if (!vencida(entrada, ahora)) {
+                    return;
+                }
+                // Una solicitud en curso no se descarta por vencida: sus duplicados la siguen esperando
+                if (entrada.resultado.isDone()) {
+                    descontar(entrada);
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int tamanio() {
+        lock.lock();
+        try {
+            return entradas.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void descontar(Entrada entrada) {
+        if (entrada != null) {
+            bytes -= entrada.bytes;
+        }
+    }
+
+    private boolean vencida(Entrada entrada, long ahora) {
+        return ahora - entrada.creadaNanos > ttlNanos;
+    }
+}
@@ -5,93 +5,147 @@ import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.util.StringUtils;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.banco.cliente_api.observability.timing.RequestTimings;
+import com.banco.cliente_api.security.authorization.RoleMaskAuthenticationToken;
 import com.banco.cliente_api.security.service.UsuarioBancoServiceImpl;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-// Este filtro se ejecuta una vez por cada solicitud HTTP que llega al servidor.
+// Este filtro se ejecuta una vez por cada solicitud HTTP a una ruta protegida.
 // Es el encargado de interceptar y validar el token JWT.
 public class AuthTokenFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Autowired
     private JwtUtils jwtUtils;
     @Autowired
     private UsuarioBancoServiceImpl usuarioBancoService;
+    @Autowired
+    private JwtRevocationList jwtRevocationList;
+
+    // Los WebAuthenticationDetails (IP remota, sesión) no los consume ningún componente de la API;
+    // solo se construyen si se habilitan explícitamente.
+    @Value("${banco.app.jwtAuthenticationDetails:false}")
+    private boolean buildAuthenticationDetails;
+
+    // Rutas públicas y preflight CORS: se configuran junto al SecurityFilterChain (WebSecurityConfig)
+    private RequestMatcher rutasExcluidas;
+
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    public void setRutasExcluidas(RequestMatcher rutasExcluidas) {
+        this.rutasExcluidas = rutasExcluidas;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rutasExcluidas != null && rutasExcluidas.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            logger.info("AuthTokenFilter - Token extraído: {}", jwt != null ? jwt.substring(0, Math.min(jwt.length(), 20)) + "..." : "NULL");
-
-            // Si se encontró un token y es válido
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-            	logger.info("AuthTokenFilter - Token JWT es válido.");
-                // Extrae el nombre de usuario (subject) del token JWT
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                logger.info("AuthTokenFilter - Nombre de usuario del token: {}", username);
-
-                // Carga los detalles completos del usuario usando UsuarioBancoServiceImpl
-                // Esto también verifica si el usuario existe en la base de datos.
-                UserDetails userDetails = usuarioBancoService.loadUserByUsername(username);
-                
-                // Representa un usuario autenticado con sus credenciales y roles
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-
-                // Establece detalles adicionales de la autenticación (como la IP del cliente, sesión, etc.)
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // Establece la autenticación en el SecurityContextHolder.
-                // Le dice a Spring Security que el usuario actual está autenticado
-                // y con qué permisos. Los controladores y las anotaciones @PreAuthorize/@PostAuthorize
-                // se usaran para la autorización.
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            
-	            logger.info("AuthTokenFilter - Autenticación establecida para el usuario: {}", username);
-	        } else {
-	            logger.warn("AuthTokenFilter - No se encontró JWT o el JWT no es válido.");
-	            if (jwt != null) {
-	                 logger.warn("AuthTokenFilter - Motivo de la falla de validación (JwtUtils): " + (jwtUtils.validateJwtToken(jwt) ? "Validó" : "No validó"));
-	            }
-	        }
+
+            // Sin token la solicitud sigue como anónima y será rechazada por la autorización si la ruta lo requiere
+            if (jwt != null) {
+                authenticateMedido(jwt, request);
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("AuthTokenFilter - No se encontró JWT en la solicitud a {}", request.getRequestURI());
+            }
         } catch (Exception e) {
             logger.error("No se pudo establecer la autenticación del usuario: {}", e.getMessage());
         }
-        
+
         filterChain.doFilter(request, response);
     }
 
+    // En solicitudes muestreadas por ServerTimingFilter se registra la duración como fase auth
+    private void authenticateMedido(String jwt, HttpServletRequest request) {
+        RequestTimings timings = RequestTimings.actual();
+        if (timings == null) {
+            authenticate(jwt, request);
+            return;
+        }
+        long marca = timings.iniciarAutenticacion();
+        try {
+            authenticate(jwt, request);
+        } finally {
+            timings.terminarAutenticacion(marca);
+        }
+    }
+
+    private void authenticate(String jwt, HttpServletRequest request) {
+        // Valida firma y expiración y extrae los claims en un único parseo
+        Claims claims = jwtUtils.getValidClaims(jwt);
+        if (claims == null) {
+            logger.warn("AuthTokenFilter - El JWT recibido no es válido.");
+            return;
+        }
+
+        // Un token revocado por un administrador se trata como ausente (la solicitud sigue como anónima)
+        if (jwtRevocationList.isRevocado(claims.getId())) {
+            logger.warn("AuthTokenFilter - El token con jti {} fue revocado.", claims.getId());
+            return;
+        }
+
+        String username = claims.getSubject();
+
+        // Carga los detalles completos del usuario usando UsuarioBancoServiceImpl
+        // Esto también verifica si el usuario existe en la base de datos.
+        UserDetails userDetails = usuarioBancoService.loadUserByUsername(username);
+
+        // Representa un usuario autenticado con sus credenciales y roles; guarda la máscara de roles para @PreAuthorize
+        RoleMaskAuthenticationToken authentication =
+                new RoleMaskAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+
+        if (buildAuthenticationDetails) {
+            // Establece detalles adicionales de la autenticación (como la IP del cliente, sesión, etc.)
+            authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+        }
+
+        // Establece la autenticación en el SecurityContextHolder.
+        // Le dice a Spring Security que el usuario actual está autenticado
+        // y con qué permisos. Los controladores y las anotaciones @PreAuthorize/@PostAuthorize
+        // se usaran para la autorización.
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("AuthTokenFilter - Autenticación establecida para el usuario: {}", username);
+        }
+    }
+
     /**
      * Método auxiliar para extraer el token JWT de la cabecera "Authorization" de la solicitud.
      * Los tokens JWT suelen enviarse en el formato "Bearer <token>"
+     * La cabecera nunca se registra en el log: contiene una credencial.
      * @param request La solicitud HTTP.
      * @return El token JWT (solo la cadena del token) o null si no se encuentra.
      */
     private String parseJwt(HttpServletRequest request) {
         // Obtiene el valor completo de la cabecera "Authorization"
         String headerAuth = request.getHeader("Authorization");
-        logger.info("AuthTokenFilter - Cabecera Authorization recibida: {}", headerAuth);
-        
-        // Verifica si la cabecera existe y comienza con "Bearer "
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+
+        // Verifica si la cabecera existe y comienza con "Bearer " y tiene algo más que el prefijo
+        if (headerAuth != null && headerAuth.length() > BEARER_PREFIX.length() && headerAuth.startsWith(BEARER_PREFIX)) {
             // Si es así, devuelve la parte del token sin el prefijo "Bearer " (que tiene 7 caracteres)
-            return headerAuth.substring(7);
+            return headerAuth.substring(BEARER_PREFIX.length());
         }
         return null; // No se encontró un token válido en la cabecera
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.banco.cliente_api.security.jwt;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lista de revocación (denylist) de JWT identificados por su claim "jti".
+ * Cada entrada se conserva solo hasta la expiración del token revocado: pasado ese momento
+ * el propio JWT deja de ser válido y la entrada se descarta en el siguiente barrido.
+ * El jti se guarda como UUID (dos long) en lugar de String para reducir la memoria por entrada,
+ * y la consulta es un get sobre ConcurrentHashMap, que no toma locks.
+ */
+@Component
+public class JwtRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtRevocationList.class);
+
+    // jti -> instante de expiración del token en milisegundos
+    private final ConcurrentHashMap<UUID, Long> revocados = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Autowired
+    public JwtRevocationList() {
+        this(Clock.systemUTC());
+    }
+
+    JwtRevocationList(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Revoca el token con el jti indicado hasta su fecha de expiración.
+     * @return false si el jti no tiene formato UUID (no fue emitido por esta API) o el token ya venció.
+     */
+    public boolean revocar(String jti, long expiracionMs) {
+        UUID id = parse(jti);
+        if (id == null || expiracionMs <= clock.millis()) {
+            return false;
+        }
+        revocados.merge(id, expiracionMs, Math::max);
+        return true;
+    }
+
+    public boolean isRevocado(String jti) {
+        // Camino rápido: en operación normal la lista está vacía
+        if (jti == null || revocados.isEmpty()) {
+            return false;
+        }
+        UUID id = parse(jti);
+        return id != null && revocados.containsKey(id);
+    }
+
+    public int size() {
+        return revocados.size();
+    }
+
+    @Scheduled(fixedDelayString = "${banco.app.jwtRevocationSweepMs:60000}")
+    public void eliminarVencidos() {
+        long ahora = clock.millis();
+        int antes = revocados.size();
+        revocados.values().removeIf(expiracion -> expiracion <= ahora);
+        int eliminados = antes - revocados.size();
+        if (eliminados > 0) {
+            logger.debug("Eliminadas {} entrada(s) vencidas de la lista de revocación.", eliminados);
+        }
+    }
+
+    private static UUID parse(String jti) {
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
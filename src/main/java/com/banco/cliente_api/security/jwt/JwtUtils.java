@@ -1,17 +1,24 @@
 package com.banco.cliente_api.security.jwt;
 
+import com.banco.cliente_api.observability.ApiMetrics;
+import com.banco.cliente_api.observability.jfr.JwtVerificationEvent;
 import com.banco.cliente_api.security.service.UsuarioBancoDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
@@ -26,6 +33,26 @@ public class JwtUtils {
     @Value("${banco.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    // La clave HMAC y el parser son inmutables y thread-safe: se construyen una sola vez
+    // en lugar de decodificar el secreto en cada solicitud.
+    private volatile Key signingKey;
+    private volatile JwtParser jwtParser;
+
+    // Tiempo de verificación (parseo + firma) de los tokens recibidos, separado por resultado
+    private Timer verificacionValidaTimer;
+    private Timer verificacionInvalidaTimer;
+
+    public JwtUtils() {
+        setMeterRegistry(ApiMetrics.SIN_REGISTRO);
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        String descripcion = "Verificación de firma y expiración del JWT de acceso";
+        verificacionValidaTimer = ApiMetrics.timer(meterRegistry, ApiMetrics.JWT_VERIFICACION, descripcion, "resultado", "valido");
+        verificacionInvalidaTimer = ApiMetrics.timer(meterRegistry, ApiMetrics.JWT_VERIFICACION, descripcion, "resultado", "invalido");
+    }
+
     /**
      * Genera un token JWT para un usuario autenticado.
      * @param authentication Objeto de autenticación de Spring Security que contiene los detalles del usuario.
@@ -35,8 +62,19 @@ public class JwtUtils {
         // Obtiene los detalles del usuario autenticado, casteándolo a la implementación de UserDetails
         UsuarioBancoDetailsImpl usuarioBancoPrincipal = (UsuarioBancoDetailsImpl) authentication.getPrincipal();
 
+        return generateTokenFromUsername(usuarioBancoPrincipal.getUsername());
+    }
+
+    /**
+     * Genera un token JWT de acceso a partir del nombre de usuario.
+     * Lo usa el endpoint de refresh, que no necesita volver a autenticar con BCrypt.
+     * @param username Nombre de usuario que será el "subject" del token.
+     * @return El token JWT generado como String.
+     */
+    public String generateTokenFromUsername(String username) {
         return Jwts.builder()
-                .setSubject((usuarioBancoPrincipal.getUsername())) // Establece el nombre de usuario como "subject" (sujeto) del token
+                .setSubject(username) // Establece el nombre de usuario como "subject" (sujeto) del token
+                .setId(UUID.randomUUID().toString()) // Identificador único (jti) que permite revocar el token antes de su expiración
                 .setIssuedAt(new Date()) // Establece la fecha de emisión del token (cuando fue creado)
                 // Establece la fecha de expiración del token (fecha actual + tiempo de expiración configurado)
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
@@ -50,7 +88,21 @@ public class JwtUtils {
      * @return Un objeto Key seguro.
      */
     private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)); // Decodifica y genera la clave HMAC
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)); // Decodifica y genera la clave HMAC
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser parser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder().setSigningKey(key()).build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 
     /**
@@ -60,22 +112,42 @@ public class JwtUtils {
      */
     public String getUserNameFromJwtToken(String token) {
         // Parsea el token usando la clave de firma y extrae el cuerpo (claims), luego el subject
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser().parseClaimsJws(token).getBody().getSubject();
     }
 
     /**
-     * Valida la integridad y validez de un token JWT.
-     * Verifica la firma, la expiración y otras posibles inconsistencias.
+     * Extrae todos los claims (subject, jti, expiración) de un token JWT ya validado.
+     * @param token El token JWT.
+     * @return Los claims del token.
+     */
+    public Claims getClaimsFromJwtToken(String token) {
+        return parser().parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Valida el token y devuelve sus claims en un único parseo (verificación de firma incluida).
+     * Es el camino que usa AuthTokenFilter en cada solicitud autenticada.
      * @param authToken El token JWT a validar.
-     * @return true si el token es válido, false en caso contrario.
+     * @return Los claims si el token es válido, o null en caso contrario.
      */
-    public boolean validateJwtToken(String authToken) {
+    public Claims getValidClaims(String authToken) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long inicio = System.nanoTime();
+        Claims claims = parseValidClaims(authToken);
+        (claims != null ? verificacionValidaTimer : verificacionInvalidaTimer)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setValido(claims != null);
+            event.commit();
+        }
+        return claims;
+    }
+
+    private Claims parseValidClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken); // Intenta parsear y validar la firma del token
-            logger.info("JwtUtils - Token validado correctamente.");
-            
-            return true; // Si no se lanza ninguna excepción, el token es válido
+            return parser().parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -84,8 +156,23 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         }
+        return null;
+    }
 
-        return false; // Si ocurre alguna de las excepciones anteriores, el token no es válido
+    public int getJwtExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    /**
+     * Valida la integridad y validez de un token JWT.
+     * Verifica la firma, la expiración y otras posibles inconsistencias.
+     * @param authToken El token JWT a validar.
+     * @return true si el token es válido, false en caso contrario.
+     */
+    public boolean validateJwtToken(String authToken) {
+        return getValidClaims(authToken) != null;
     }
 }
\ No newline at end of file
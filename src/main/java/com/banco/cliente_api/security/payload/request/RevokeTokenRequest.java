@@ -0,0 +1,21 @@
+package com.banco.cliente_api.security.payload.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokeTokenRequest {
+    // Se puede revocar enviando el JWT completo o solo su jti.
+    // Con el token se usa su expiración real; con el jti se asume la vida máxima de un token de acceso.
+    private String token;
+    private String jti;
+    // Para cerrar la sesión también hay que revocar sus refresh tokens: la familia de un refresh token
+    // o todas las del usuario. Sin esto, /api/auth/refreshtoken seguiría emitiendo JWT nuevos.
+    private String refreshToken;
+    private String username;
+}
@@ -0,0 +1,16 @@
+package com.banco.cliente_api.security.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRefreshRequest {
+    @NotBlank(message = "El refresh token no puede estar vacío")
+    private String refreshToken;
+}
@@ -9,13 +9,15 @@ import java.util.List;
 @Setter
 public class JwtResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer"; // Tipo de token, por convención "Bearer"
     private Long id;
     private String username;
     private List<String> roles;
 
-    public JwtResponse(String accessToken, Long id, String username, List<String> roles) {
+    public JwtResponse(String accessToken, String refreshToken, Long id, String username, List<String> roles) {
         this.token = accessToken;
+        this.refreshToken = refreshToken;
         this.id = id;
         this.username = username;
         this.roles = roles;
@@ -0,0 +1,185 @@
+package com.banco.cliente_api.security.ratelimit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.banco.cliente_api.adapter.web.dto.error.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro de rate limiting con token buckets por grupo de endpoints.
+ * Se ejecuta después de AuthTokenFilter para poder identificar al usuario autenticado;
+ * los grupos configurados con clave IP (por ejemplo /api/auth/signin) usan la dirección del cliente.
+ * Si el bucket está vacío responde 429 Too Many Requests con la cabecera Retry-After.
+ * Los buckets por grupo se acotan a maxClavesPorGrupo: con el grupo lleno, una clave nueva fuerza un barrido de
+ * inactivos (como mucho uno por segundo y por grupo) y, si no se liberó lugar, se rechaza también con 429.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // Separación mínima entre barridos forzados por un grupo lleno: sin ella, cada clave nueva recorrería todo el mapa
+    private static final long BARRIDO_FORZADO_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<GrupoCompilado> grupos = new ArrayList<>();
+    private final LongSupplier reloj;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, System::nanoTime);
+    }
+
+    // El reloj (en nanosegundos) se inyecta para simular el tiempo en los tests, como en TokenBucket
+    RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, LongSupplier reloj) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.reloj = reloj;
+        // Los patrones se compilan una sola vez al crear el filtro
+        for (Map.Entry<String, RateLimitProperties.Grupo> entry : properties.getGrupos().entrySet()) {
+            grupos.add(new GrupoCompilado(entry.getKey(), entry.getValue(), reloj.getAsLong()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || grupos.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        GrupoCompilado grupo = buscarGrupo(path);
+        if (grupo == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long ahora = reloj.getAsLong();
+        String clave = resolverClave(grupo.config.getClave(), request);
+        TokenBucket bucket = grupo.buckets.get(clave);
+        if (bucket == null) {
+            if (grupo.buckets.size() >= properties.getMaxClavesPorGrupo() && !hacerLugar(grupo, ahora)) {
+                logger.warn("Rate limit: el grupo '{}' alcanzó {} claves; se rechaza '{}'. Path: {}",
+                        grupo.nombre, properties.getMaxClavesPorGrupo(), clave, request.getRequestURI());
+                rechazar(request, response, BARRIDO_FORZADO_NANOS);
+                return;
+            }
+            bucket = grupo.buckets.computeIfAbsent(clave,
+                    k -> new TokenBucket(grupo.config.getCapacidad(), grupo.config.getRecargaPorSegundo(), ahora));
+        }
+
+        long esperaNanos = bucket.tryConsume(ahora);
+        if (esperaNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        logger.warn("Rate limit excedido en el grupo '{}' para '{}'. Path: {}", grupo.nombre, clave, request.getRequestURI());
+        rechazar(request, response, esperaNanos);
+    }
+
+    /**
+     * Con el grupo lleno barre los inactivos, salvo que otro barrido forzado haya corrido hace menos de un segundo.
+     * @return true si quedó lugar para una clave nueva.
+     */
+    private boolean hacerLugar(GrupoCompilado grupo, long ahora) {
+        long proximo = grupo.proximoBarridoForzado.get();
+        if (ahora - proximo >= 0 && grupo.proximoBarridoForzado.compareAndSet(proximo, ahora + BARRIDO_FORZADO_NANOS)) {
+            barrer(grupo, ahora);
+        }
+        return grupo.buckets.size() < properties.getMaxClavesPorGrupo();
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response, long esperaNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS,
+                "Demasiadas solicitudes. Reintente en " + retryAfter + " segundo(s).", request.getRequestURI()));
+    }
+
+    // Barrido periódico de buckets inactivos para que la memoria quede acotada a los clientes activos
+    @Scheduled(fixedDelayString = "${banco.app.ratelimit.barridoMs:60000}")
+    public void eliminarInactivos() {
+        long ahora = reloj.getAsLong();
+        for (GrupoCompilado grupo : grupos) {
+            barrer(grupo, ahora);
+        }
+    }
+
+    int cantidadBuckets() {
+        return grupos.stream().mapToInt(g -> g.buckets.size()).sum();
+    }
+
+    private void barrer(GrupoCompilado grupo, long ahora) {
+        long inactividadNanos = TimeUnit.MILLISECONDS.toNanos(properties.getInactividadMs());
+        grupo.buckets.values().removeIf(b -> b.isInactivo(ahora, inactividadNanos));
+    }
+
+    private GrupoCompilado buscarGrupo(PathContainer path) {
+        for (GrupoCompilado grupo : grupos) {
+            for (PathPattern patron : grupo.patrones) {
+                if (patron.matches(path)) {
+                    return grupo;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String resolverClave(RateLimitProperties.Clave tipo, HttpServletRequest request) {
+        if (tipo == RateLimitProperties.Clave.USUARIO) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return "u:" + auth.getName();
+            }
+        }
+        // Detrás de un proxy, configurar server.forward-headers-strategy para que esta sea la IP real del cliente
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static final class GrupoCompilado {
+        private final String nombre;
+        private final RateLimitProperties.Grupo config;
+        private final List<PathPattern> patrones = new ArrayList<>();
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong proximoBarridoForzado;
+
+        private GrupoCompilado(String nombre, RateLimitProperties.Grupo config, long ahora) {
+            this.nombre = nombre;
+            this.config = config;
+            this.proximoBarridoForzado = new AtomicLong(ahora);
+            for (String patron : config.getPatrones()) {
+                patrones.add(PathPatternParser.defaultInstance.parse(patron));
+            }
+        }
+    }
+}
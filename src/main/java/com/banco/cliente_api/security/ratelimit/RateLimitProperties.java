@@ -0,0 +1,45 @@
+package com.banco.cliente_api.security.ratelimit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuración de rate limiting por grupo de endpoints (prefijo banco.app.ratelimit).
+ * Los grupos se evalúan en el orden en que se declaran; la solicitud usa el primero cuyo patrón coincide.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "banco.app.ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // Tiempo sin actividad tras el cual se descarta el bucket de un usuario/IP
+    private long inactividadMs = 300_000;
+    // Tope de buckets por grupo; al alcanzarlo una clave nueva fuerza un barrido de inactivos (uno por segundo como
+    // mucho) y, si no se libera lugar, recibe 429 hasta que se liberen
+    private int maxClavesPorGrupo = 100_000;
+    private Map<String, Grupo> grupos = new LinkedHashMap<>();
+
+    public enum Clave {
+        USUARIO, // usuario autenticado (o IP si la solicitud es anónima)
+        IP
+    }
+
+    @Getter
+    @Setter
+    public static class Grupo {
+        private List<String> patrones = new ArrayList<>();
+        private Clave clave = Clave.USUARIO;
+        private int capacidad = 100;
+        private double recargaPorSegundo = 50;
+    }
+}
@@ -0,0 +1,52 @@
+package com.banco.cliente_api.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin locks implementado con el algoritmo GCRA (Generic Cell Rate Algorithm).
+ * En lugar de guardar "tokens disponibles" y "última recarga" (dos campos que habría que
+ * actualizar juntos), guarda un único instante teórico de llegada (TAT) en un AtomicLong:
+ * cada solicitud lo adelanta un intervalo y se rechaza si queda más allá de la ráfaga permitida.
+ * El resultado es equivalente a un bucket de {@code capacidad} tokens que se recarga a
+ * {@code recargaPorSegundo}, y la actualización es un solo compare-and-set.
+ */
+public class TokenBucket {
+
+    private final long intervaloNanos;  // tiempo que tarda en recargarse un token
+    private final long toleranciaNanos; // ráfaga permitida: (capacidad - 1) intervalos
+    private final AtomicLong tat;
+
+    public TokenBucket(int capacidad, double recargaPorSegundo, long ahoraNanos) {
+        if (capacidad < 1 || recargaPorSegundo <= 0) {
+            throw new IllegalArgumentException("La capacidad y la recarga del bucket deben ser positivas.");
+        }
+        this.intervaloNanos = (long) (1_000_000_000L / recargaPorSegundo);
+        this.toleranciaNanos = intervaloNanos * (capacidad - 1);
+        this.tat = new AtomicLong(ahoraNanos);
+    }
+
+    /**
+     * Intenta consumir un token.
+     * @return 0 si se concedió; si no, los nanosegundos que faltan para que haya un token disponible.
+     */
+    public long tryConsume(long ahoraNanos) {
+        while (true) {
+            long actual = tat.get();
+            long base = Math.max(actual, ahoraNanos);
+            long espera = base - toleranciaNanos - ahoraNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (tat.compareAndSet(actual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Un bucket está inactivo cuando ya se recargó por completo: descartarlo no cambia ninguna decisión futura.
+     */
+    public boolean isInactivo(long ahoraNanos, long inactividadNanos) {
+        return ahoraNanos - tat.get() >= inactividadNanos;
+    }
+}
@@ -0,0 +1,104 @@
+package com.banco.cliente_api.security.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.banco.cliente_api.security.entity.RefreshToken;
+
+/**
+ * Store de refresh tokens en memoria, particionado en shards de ConcurrentHashMap.
+ * El token se reparte por hash, de modo que los barridos de vencidos y las revocaciones
+ * por familia recorren un shard por vez sin bloquear el resto de las lecturas.
+ */
+@Repository
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final ConcurrentHashMap<String, RefreshToken>[] shards;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryRefreshTokenStore(@Value("${banco.app.refreshTokenShards:16}") int shardCount) {
+        // Se redondea a potencia de 2 para seleccionar el shard con una máscara
+        int size = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1;
+        this.shards = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = size - 1;
+    }
+
+    private ConcurrentHashMap<String, RefreshToken> shard(String token) {
+        int h = token.hashCode();
+        return shards[(h ^ (h >>> 16)) & mask];
+    }
+
+    @Override
+    public void save(RefreshToken refreshToken) {
+        shard(refreshToken.getToken()).put(refreshToken.getToken(), refreshToken);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByToken(String token) {
+        return Optional.ofNullable(shard(token).get(token));
+    }
+
+    @Override
+    public boolean markUsed(RefreshToken refreshToken) {
+        if (refreshToken.isUsado()) {
+            return false;
+        }
+        return shard(refreshToken.getToken()).replace(refreshToken.getToken(), refreshToken, refreshToken.marcarUsado());
+    }
+
+    @Override
+    public int deleteByFamilia(String familia) {
+        int eliminados = 0;
+        for (ConcurrentHashMap<String, RefreshToken> shard : shards) {
+            for (RefreshToken rt : shard.values()) {
+                if (familia.equals(rt.getFamilia()) && shard.remove(rt.getToken(), rt)) {
+                    eliminados++;
+                }
+            }
+        }
+        return eliminados;
+    }
+
+    @Override
+    public int deleteByUsername(String username) {
+        int eliminados = 0;
+        for (ConcurrentHashMap<String, RefreshToken> shard : shards) {
+            for (RefreshToken rt : shard.values()) {
+                if (username.equals(rt.getUsername()) && shard.remove(rt.getToken(), rt)) {
+                    eliminados++;
+                }
+            }
+        }
+        return eliminados;
+    }
+
+    @Override
+    public int deleteExpired(Instant ahora) {
+        int eliminados = 0;
+        for (ConcurrentHashMap<String, RefreshToken> shard : shards) {
+            for (RefreshToken rt : shard.values()) {
+                if (rt.isExpirado(ahora) && shard.remove(rt.getToken(), rt)) {
+                    eliminados++;
+                }
+            }
+        }
+        return eliminados;
+    }
+
+    @Override
+    public long count() {
+        long total = 0;
+        for (ConcurrentHashMap<String, RefreshToken> shard : shards) {
+            total += shard.size();
+        }
+        return total;
+    }
+}
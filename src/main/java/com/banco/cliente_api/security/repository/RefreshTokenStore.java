@@ -0,0 +1,44 @@
+package com.banco.cliente_api.security.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import com.banco.cliente_api.security.entity.RefreshToken;
+
+/**
+ * SPI de persistencia de refresh tokens.
+ * La implementación por defecto es {@link InMemoryRefreshTokenStore}; para compartir los tokens
+ * entre instancias basta con declarar otro bean (por ejemplo respaldado en base de datos) marcado como @Primary.
+ */
+public interface RefreshTokenStore {
+
+    void save(RefreshToken refreshToken);
+
+    Optional<RefreshToken> findByToken(String token);
+
+    /**
+     * Marca el token como usado solo si todavía no lo estaba (compare-and-set).
+     * @return true si este llamado fue el que lo marcó; false si otro ya lo había usado o no existe.
+     */
+    boolean markUsed(RefreshToken refreshToken);
+
+    /**
+     * Elimina todos los tokens de una familia de rotación.
+     * @return la cantidad de tokens eliminados.
+     */
+    int deleteByFamilia(String familia);
+
+    /**
+     * Elimina todos los tokens del usuario, de cualquier familia.
+     * @return la cantidad de tokens eliminados.
+     */
+    int deleteByUsername(String username);
+
+    /**
+     * Elimina los tokens vencidos antes del instante indicado.
+     * @return la cantidad de tokens eliminados.
+     */
+    int deleteExpired(Instant ahora);
+
+    long count();
+}
@@ -4,10 +4,13 @@ import com.banco.cliente_api.security.entity.UsuarioBanco;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioBancoRepository extends JpaRepository<UsuarioBanco, Long> {
     Optional<UsuarioBanco> findByUsername(String username);
     Boolean existsByUsername(String username);
+    List<UsuarioBanco> findByUsernameIn(Collection<String> usernames);
 }
\ No newline at end of file
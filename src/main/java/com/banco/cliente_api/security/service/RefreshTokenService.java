@@ -0,0 +1,119 @@
+package com.banco.cliente_api.security.service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.banco.cliente_api.exception.TokenRefreshException;
+import com.banco.cliente_api.security.entity.RefreshToken;
+import com.banco.cliente_api.security.repository.RefreshTokenStore;
+
+/**
+ * Emisión y rotación de refresh tokens.
+ * Cada uso de un refresh token lo invalida y entrega uno nuevo de la misma familia (rotación).
+ * El token rotado conserva el vencimiento del login original: la sesión dura como mucho
+ * banco.app.jwtRefreshExpirationMs aunque se renueve seguido.
+ * Presentar un token ya rotado se considera robo: se revoca la familia completa y el usuario
+ * debe volver a autenticarse con /api/auth/signin.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final long refreshExpirationMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Clock clock;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenStore refreshTokenStore,
+                               @Value("${banco.app.jwtRefreshExpirationMs}") long refreshExpirationMs) {
+        this(refreshTokenStore, refreshExpirationMs, Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenStore refreshTokenStore, long refreshExpirationMs, Clock clock) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Crea el primer refresh token de una nueva familia (usado al hacer login).
+     */
+    public RefreshToken crearRefreshToken(String username) {
+        return emitir(username, UUID.randomUUID().toString(), clock.instant().plusMillis(refreshExpirationMs));
+    }
+
+    /**
+     * Consume un refresh token y devuelve el que lo reemplaza.
+     * @throws TokenRefreshException si el token no existe, venció o ya había sido usado.
+     */
+    public RefreshToken rotarRefreshToken(String token) {
+        RefreshToken actual = refreshTokenStore.findByToken(token)
+                .orElseThrow(() -> new TokenRefreshException("Refresh token inválido o revocado."));
+
+        if (actual.isExpirado(clock.instant())) {
+            // No hace falta borrarlo aquí: el barrido periódico lo elimina
+            throw new TokenRefreshException("El refresh token ha expirado. Inicie sesión nuevamente.");
+        }
+
+        // markUsed es un compare-and-set: si dos solicitudes presentan el mismo token a la vez,
+        // solo una gana y la otra se trata como reutilización.
+        if (!refreshTokenStore.markUsed(actual)) {
+            int revocados = refreshTokenStore.deleteByFamilia(actual.getFamilia());
+            logger.warn("Reutilización de refresh token detectada para el usuario {}. Se revocaron {} token(s) de la familia.",
+                    actual.getUsername(), revocados);
+            throw new TokenRefreshException("Refresh token reutilizado. Por seguridad se revocó la sesión.");
+        }
+
+        return emitir(actual.getUsername(), actual.getFamilia(), actual.getExpiryDate());
+    }
+
+    /**
+     * Revoca la familia (sesión) del refresh token indicado, esté vigente o ya rotado.
+     * @return la cantidad de tokens eliminados; 0 si el token no existe.
+     */
+    public int revocarFamilia(String token) {
+        return refreshTokenStore.findByToken(token)
+                .map(actual -> refreshTokenStore.deleteByFamilia(actual.getFamilia()))
+                .orElse(0);
+    }
+
+    /**
+     * Revoca todas las sesiones del usuario: ningún refresh token suyo vuelve a emitir JWT.
+     * @return la cantidad de tokens eliminados.
+     */
+    public int revocarUsuario(String username) {
+        return refreshTokenStore.deleteByUsername(username);
+    }
+
+    // Barrido periódico de tokens vencidos para mantener acotada la memoria del store
+    @Scheduled(fixedDelayString = "${banco.app.refreshTokenSweepMs:60000}")
+    public void eliminarVencidos() {
+        int eliminados = refreshTokenStore.deleteExpired(clock.instant());
+        if (eliminados > 0) {
+            logger.debug("Eliminados {} refresh token(s) vencidos.", eliminados);
+        }
+    }
+
+    private RefreshToken emitir(String username, String familia, Instant expiracion) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        RefreshToken refreshToken = new RefreshToken(ENCODER.encodeToString(bytes), username, familia,
+                expiracion, false);
+        refreshTokenStore.save(refreshToken);
+        return refreshToken;
+    }
+}
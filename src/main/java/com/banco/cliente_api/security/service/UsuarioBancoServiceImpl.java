@@ -1,5 +1,6 @@
 package com.banco.cliente_api.security.service;
 
+import com.banco.cliente_api.observability.jfr.UserDetailsLoadEvent;
 import com.banco.cliente_api.security.entity.UsuarioBanco;
 import com.banco.cliente_api.security.repository.UsuarioBancoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,9 +19,21 @@ public class UsuarioBancoServiceImpl implements UserDetailsService {
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    	UsuarioBanco user = usuarioBancoRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        UserDetailsLoadEvent event = new UserDetailsLoadEvent();
+        event.begin();
+        UsuarioBanco user = null;
+        try {
+            user = usuarioBancoRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
 
-        return UsuarioBancoDetailsImpl.build(user);
+            return UsuarioBancoDetailsImpl.build(user);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setEncontrado(user != null);
+                event.setRoles(user != null ? user.getRoles().size() : 0);
+                event.commit();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.banco.cliente_api.service;
+
+import java.util.Set;
+
+import com.banco.cliente_api.model.Cliente;
+
+/**
+ * Un cliente a crear junto con los códigos de sus productos bancarios (como los recibe crearCliente).
+ */
+public record AltaCliente(Cliente cliente, Set<String> productosBancariosCodigos) {
+}
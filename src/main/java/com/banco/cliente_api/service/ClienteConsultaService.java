@@ -0,0 +1,50 @@
+package com.banco.cliente_api.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteResponseDTO;
+import com.banco.cliente_api.util.DtoConverter;
+import com.banco.cliente_api.util.SingleFlight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lecturas por DNI y por producto con coalescencia: las solicitudes concurrentes idénticas comparten una sola
+ * consulta a la base y su conversión a DTO, que hace el hilo que llegó primero. Se comparten DTOs y no entidades
+ * porque las entidades pertenecen a la sesión de Hibernate del hilo líder.
+ * Una solicitud que se suma a una consulta ya iniciada puede recibir el estado previo a una escritura que se
+ * confirmó mientras esperaba, igual que si hubiera llegado unos milisegundos antes.
+ */
+@Service
+public class ClienteConsultaService {
+
+    private final ClienteService clienteService;
+    private final DtoConverter dtoConverter;
+    private final SingleFlight<String, Optional<ClienteResponseDTO>> porDni;
+    private final SingleFlight<String, List<ClienteResponseDTO>> porProducto;
+
+    public ClienteConsultaService(ClienteService clienteService,
+                                  DtoConverter dtoConverter,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${banco.app.coalescencia.esperaMs:5000}") long esperaMs) {
+        this.clienteService = clienteService;
+        this.dtoConverter = dtoConverter;
+        this.porDni = new SingleFlight<>("por_dni", esperaMs, meterRegistry);
+        this.porProducto = new SingleFlight<>("por_producto", esperaMs, meterRegistry);
+    }
+
+    public Optional<ClienteResponseDTO> getClienteByDni(String dni) {
+        return porDni.ejecutar(dni, () -> clienteService.getClienteByDni(dni).map(dtoConverter::convertToDto));
+    }
+
+    public List<ClienteResponseDTO> getClientesByProductoBancario(String codigoProducto) {
+        return porProducto.ejecutar(codigoProducto, () -> clienteService.getClientesByProductoBancario(codigoProducto)
+                .stream()
+                .map(dtoConverter::convertToDto)
+                .toList());
+    }
+}
@@ -0,0 +1,185 @@
+package com.banco.cliente_api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+import com.banco.cliente_api.adapter.web.dto.ImportRegistroResultadoDTO;
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.model.ProductoBancario;
+import com.banco.cliente_api.repository.ClienteRepository;
+import com.banco.cliente_api.repository.ProductoBancarioRepository;
+import com.banco.cliente_api.util.DtoConverter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Alta de un lote de clientes importados. Hace una consulta de DNIs existentes y una de productos para
+ * todo el lote, en lugar de existsByDni + findByCodigo por cliente como crearCliente. Cada registro se
+ * valida por separado: los inválidos se informan con su motivo y no impiden el alta del resto.
+ * importar debe llamarse dentro de la transacción del lote; importarEnTransaccion abre la suya.
+ */
+@Service
+public class ClienteImportador {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteImportador.class);
+
+    private final ClienteRepository clienteRepository;
+    private final ProductoBancarioRepository productoBancarioRepository;
+    private final DtoConverter dtoConverter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public ClienteImportador(ClienteRepository clienteRepository,
+                             ProductoBancarioRepository productoBancarioRepository,
+                             DtoConverter dtoConverter,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             EntityManager entityManager) {
+        this.clienteRepository = clienteRepository;
+        this.productoBancarioRepository = productoBancarioRepository;
+        this.dtoConverter = dtoConverter;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Importa el lote en una sola transacción (un único commit). Los errores de cada registro se detectan
+     * antes de escribir, contra los DNIs y productos leídos para el lote, así que no deshacen al resto.
+     * Si aun así la base rechaza el lote (un alta concurrente del mismo DNI por otra solicitud), se reintenta
+     * registro por registro, cada uno en su transacción.
+     * Debe llamarse fuera de una transacción: al terminar vacía el contexto de persistencia. Con open-in-view la
+     * solicitud conserva un único EntityManager y, sin vaciarlo, los clientes de cada lote confirmado quedarían
+     * administrados (memoria y dirty checking en cada flush) hasta el final de la importación.
+     *
+     * @return un resultado por registro, en el mismo orden que la entrada.
+     */
+    public List<ImportRegistroResultadoDTO> importarEnTransaccion(List<ImportRegistro> registros) {
+        try {
+            return transactionTemplate.execute(status -> importar(registros));
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Lote desde el registro {} rechazado por la base ({}); se reintenta de a uno.",
+                    registros.get(0).indice(), e.getMostSpecificCause().getMessage());
+            return registros.stream().map(this::importarRegistro).toList();
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private ImportRegistroResultadoDTO importarRegistro(ImportRegistro registro) {
+        try {
+            return transactionTemplate.execute(status -> importar(List.of(registro))).get(0);
+        } catch (DataIntegrityViolationException e) {
+            return ImportRegistroResultadoDTO.error(registro.indice(), registro.dni(),
+                    "No se pudo guardar el cliente: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * @return un resultado por registro, en el mismo orden que la entrada.
+     */
+    public List<ImportRegistroResultadoDTO> importar(List<ImportRegistro> registros) {
+        ImportRegistroResultadoDTO[] resultados = new ImportRegistroResultadoDTO[registros.size()];
+
+        List<Integer> validos = new ArrayList<>(registros.size());
+        for (int i = 0; i < registros.size(); i++) {
+            ImportRegistro registro = registros.get(i);
+            String error = registro.errorLectura() != null ? registro.errorLectura() : validar(registro.cliente());
+            if (error != null) {
+                resultados[i] = ImportRegistroResultadoDTO.error(registro.indice(), registro.dni(), error);
+            } else {
+                validos.add(i);
+            }
+        }
+
+        if (!validos.isEmpty()) {
+            Set<String> dnis = validos.stream().map(i -> registros.get(i).dni()).collect(Collectors.toSet());
+            Set<String> existentes = new HashSet<>(clienteRepository.findDnisExistentes(dnis));
+            Set<String> codigos = validos.stream()
+                    .flatMap(i -> registros.get(i).cliente().getProductosBancariosCodigos().stream())
+                    .collect(Collectors.toSet());
+            Map<String, ProductoBancario> productos = productoBancarioRepository.findByCodigoIn(codigos).stream()
+                    .collect(Collectors.toMap(ProductoBancario::getCodigo, Function.identity()));
+
+            Set<String> aceptados = new HashSet<>();
+            List<Cliente> nuevos = new ArrayList<>(validos.size());
+            for (int i : validos) {
+                ImportRegistro registro = registros.get(i);
+                String error = verificar(registro, existentes, aceptados, productos);
+                if (error != null) {
+                    resultados[i] = ImportRegistroResultadoDTO.error(registro.indice(), registro.dni(), error);
+                    continue;
+                }
+                Cliente cliente = dtoConverter.convertToEntity(registro.cliente());
+                // La entidad tiene restricciones propias (ej: numero >= 1) que fallarían al persistir todo el lote
+                String errorEntidad = describir(validator.validate(cliente));
+                if (errorEntidad != null) {
+                    resultados[i] = ImportRegistroResultadoDTO.error(registro.indice(), registro.dni(), errorEntidad);
+                    continue;
+                }
+                cliente.setProductosBancarios(registro.cliente().getProductosBancariosCodigos().stream()
+                        .map(productos::get)
+                        .collect(Collectors.toSet()));
+                nuevos.add(cliente);
+                aceptados.add(registro.dni());
+                resultados[i] = ImportRegistroResultadoDTO.creado(registro.indice(), registro.dni());
+            }
+            clienteRepository.saveAll(nuevos);
+        }
+        return Arrays.asList(resultados);
+    }
+
+    // Mismos mensajes que crearCliente para los mismos errores
+    private static String verificar(ImportRegistro registro, Set<String> existentes, Set<String> aceptados,
+                                    Map<String, ProductoBancario> productos) {
+        if (existentes.contains(registro.dni())) {
+            return "El DNI " + registro.dni() + " ya existe.";
+        }
+        if (aceptados.contains(registro.dni())) {
+            return "El DNI " + registro.dni() + " está repetido en la importación.";
+        }
+        return registro.cliente().getProductosBancariosCodigos().stream()
+                .filter(codigo -> !productos.containsKey(codigo))
+                .findFirst()
+                .map(codigo -> "El producto bancario con código '" + codigo + "' no existe.")
+                .orElse(null);
+    }
+
+    // Las mismas restricciones que @Valid en el controlador, con el formato de GlobalExceptionHandler
+    private String validar(ClienteRequestDTO cliente) {
+        String error = describir(validator.validate(cliente));
+        if (error == null && cliente.getProductosBancariosCodigos().stream().anyMatch(Objects::isNull)) {
+            return "Error de validación: 'productosBancariosCodigos': 'Los códigos de producto no pueden ser nulos'";
+        }
+        return error;
+    }
+
+    private static <T> String describir(Set<ConstraintViolation<T>> violaciones) {
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return "Error de validación: " + violaciones.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> String.format("'%s': '%s'", v.getPropertyPath(), v.getMessage()))
+                .collect(Collectors.joining("; "));
+    }
+}
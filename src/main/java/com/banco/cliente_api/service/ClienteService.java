@@ -1,8 +1,11 @@
 package com.banco.cliente_api.service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -14,6 +17,7 @@ import com.banco.cliente_api.repository.ClienteRepository;
 import com.banco.cliente_api.repository.ProductoBancarioRepository;
 import com.banco.cliente_api.exception.ClienteNotFoundException;
 import com.banco.cliente_api.exception.InvalidInputException;
+import com.banco.cliente_api.observability.jfr.ClienteOperationEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,9 +32,22 @@ public class ClienteService {
     
     private final ClienteRepository clienteRepository;
     private final ProductoBancarioRepository productoBancarioRepository;
+    private final ParticionadorAltas particionadorAltas;
     
     
     public Cliente crearCliente(Cliente cliente, Set<String> productosBancariosCodigos) {
+        ClienteOperationEvent event = ClienteOperationEvent.iniciar("crearCliente", 1,
+                productosBancariosCodigos != null ? productosBancariosCodigos.size() : 0);
+        try {
+            Cliente creado = crearClienteValidado(cliente, productosBancariosCodigos);
+            event.setExitosa(true);
+            return creado;
+        } finally {
+            event.terminar();
+        }
+    }
+
+    private Cliente crearClienteValidado(Cliente cliente, Set<String> productosBancariosCodigos) {
         logger.info("Intentando crear cliente con DNI: {}", cliente.getDni());
         
         // Validar si el DNI ya existe
@@ -53,41 +70,150 @@ public class ClienteService {
         return clienteRepository.save(cliente);
     }
 
+    /**
+     * Crea un lote de clientes. Primero se valida el lote completo con una consulta de DNIs existentes y una de
+     * productos (mismos errores y mensajes que crearCliente, se informa el primero en el orden del lote): si
+     * algún cliente es inválido no se crea ninguno. Luego se guardan con ParticionadorAltas, en paralelo por
+     * hash del DNI si el lote es grande.
+     *
+     * @return los clientes creados, en el orden recibido.
+     */
+    public List<Cliente> crearClientes(List<AltaCliente> altas) {
+        if (altas.isEmpty()) {
+            return List.of();
+        }
+        ClienteOperationEvent event = ClienteOperationEvent.iniciar("crearClientes", altas.size(),
+                altas.stream().mapToInt(alta -> alta.productosBancariosCodigos().size()).sum());
+        try {
+            validarAltas(altas);
+            List<Cliente> creados = particionadorAltas.procesar(altas, alta -> alta.cliente().getDni(), this::guardarAltas);
+            event.setExitosa(true);
+            return creados;
+        } finally {
+            event.terminar();
+        }
+    }
+
+    private void validarAltas(List<AltaCliente> altas) {
+        Set<String> dnis = altas.stream().map(alta -> alta.cliente().getDni()).collect(Collectors.toSet());
+        Set<String> existentes = new HashSet<>(clienteRepository.findDnisExistentes(dnis));
+        Set<String> codigos = altas.stream()
+                .flatMap(alta -> alta.productosBancariosCodigos().stream())
+                .collect(Collectors.toSet());
+        Set<String> productos = codigos.isEmpty() ? Set.of() : productoBancarioRepository.findByCodigoIn(codigos).stream()
+                .map(ProductoBancario::getCodigo)
+                .collect(Collectors.toSet());
+
+        Set<String> vistos = new HashSet<>();
+        for (AltaCliente alta : altas) {
+            String dni = alta.cliente().getDni();
+            if (existentes.contains(dni)) {
+                logger.warn("Fallo al crear clientes: Cliente con DNI {} ya existe.", dni);
+                throw new InvalidInputException("El DNI " + dni + " ya existe.");
+            }
+            if (!vistos.add(dni)) {
+                throw new InvalidInputException("El DNI " + dni + " está repetido en el lote.");
+            }
+            if (alta.productosBancariosCodigos().isEmpty()) {
+                throw new InvalidInputException("Debe especificar al menos un producto bancario válido para el cliente.");
+            }
+            alta.productosBancariosCodigos().stream()
+                    .filter(codigo -> !productos.contains(codigo))
+                    .findFirst()
+                    .ifPresent(codigo -> {
+                        throw new InvalidInputException("El producto bancario con código '" + codigo + "' no existe.");
+                    });
+        }
+    }
+
+    // Corre dentro de la transacción de la partición: los productos se leen en ella para asociarlos a los clientes
+    private List<Cliente> guardarAltas(List<AltaCliente> altas) {
+        Map<String, ProductoBancario> productos = productoBancarioRepository.findByCodigoIn(altas.stream()
+                        .flatMap(alta -> alta.productosBancariosCodigos().stream())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProductoBancario::getCodigo, Function.identity()));
+        List<Cliente> clientes = altas.stream().map(alta -> {
+            Cliente cliente = alta.cliente();
+            cliente.setProductosBancarios(alta.productosBancariosCodigos().stream()
+                    .map(productos::get)
+                    .collect(Collectors.toSet()));
+            return cliente;
+        }).toList();
+        return clienteRepository.saveAll(clientes);
+    }
+
     @Transactional(readOnly = true)
     public List<Cliente> getAllClientes() {
-        return clienteRepository.findAll();
+        ClienteOperationEvent event = ClienteOperationEvent.iniciar("getAllClientes", 0, 0);
+        try {
+            List<Cliente> clientes = clienteRepository.findAll();
+            event.setDniCount(clientes.size());
+            event.setExitosa(true);
+            return clientes;
+        } finally {
+            event.terminar();
+        }
     }
 
     @Transactional(readOnly = true)
     public Optional<Cliente> getClienteByDni(String dni) {
         logger.debug("Buscando cliente por DNI: {}", dni);
-        return clienteRepository.findByDni(dni);
+        ClienteOperationEvent event = ClienteOperationEvent.iniciar("getClienteByDni", 1, 0);
+        try {
+            Optional<Cliente> cliente = clienteRepository.findByDni(dni);
+            event.setExitosa(cliente.isPresent());
+            return cliente;
+        } finally {
+            event.terminar();
+        }
     }
 
     public Cliente updateClienteTelefono(String dni, String nuevoTelefono) {
         logger.info("Intentando actualizar teléfono para cliente con DNI {}: Nuevo teléfono {}", dni, nuevoTelefono);
-        return clienteRepository.findByDni(dni).map(cliente -> {
-            cliente.setTelefono(nuevoTelefono);
-            logger.info("Cliente con DNI {} encontrado y teléfono actualizado a {}", dni, nuevoTelefono);
-            return clienteRepository.save(cliente);
-        })
-            .orElseThrow(() -> {
-            logger.warn("Fallo al actualizar teléfono: Cliente con DNI {} no encontrado.", dni);
-            return new ClienteNotFoundException(dni);
-        });
+        ClienteOperationEvent event = ClienteOperationEvent.iniciar("updateClienteTelefono", 1, 0);
+        try {
+            Cliente actualizado = clienteRepository.findByDni(dni).map(cliente -> {
+                cliente.setTelefono(nuevoTelefono);
+                logger.info("Cliente con DNI {} encontrado y teléfono actualizado a {}", dni, nuevoTelefono);
+                return clienteRepository.save(cliente);
+            })
+                .orElseThrow(() -> {
+                logger.warn("Fallo al actualizar teléfono: Cliente con DNI {} no encontrado.", dni);
+                return new ClienteNotFoundException(dni);
+            });
+            event.setExitosa(true);
+            return actualizado;
+        } finally {
+            event.terminar();
+        }
     }
 
     public List<Cliente> getClientesByProductoBancario(String codigoProducto) {
         // Asumiendo que Cliente tiene una relación con ProductoBancario        
-        return clienteRepository.findByProductosBancarios_Codigo(codigoProducto);
+        ClienteOperationEvent event = ClienteOperationEvent.iniciar("getClientesByProductoBancario", 0, 1);
+        try {
+            List<Cliente> clientes = clienteRepository.findByProductosBancarios_Codigo(codigoProducto);
+            event.setDniCount(clientes.size());
+            event.setExitosa(true);
+            return clientes;
+        } finally {
+            event.terminar();
+        }
     }
 
     public void deleteCliente(String dni) {
         logger.info("Intentando eliminar cliente con DNI {}", dni);
-        clienteRepository.findByDni(dni).ifPresentOrElse(
-                cliente -> clienteRepository.delete(cliente),
-                () -> { throw new ClienteNotFoundException(dni);
-               }
-        );
+        ClienteOperationEvent event = ClienteOperationEvent.iniciar("deleteCliente", 1, 0);
+        try {
+            clienteRepository.findByDni(dni).ifPresentOrElse(
+                    cliente -> clienteRepository.delete(cliente),
+                    () -> { throw new ClienteNotFoundException(dni);
+                   }
+            );
+            event.setExitosa(true);
+        } finally {
+            event.terminar();
+        }
     }
 }
\ No newline at end of file
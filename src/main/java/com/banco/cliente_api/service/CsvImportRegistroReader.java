@@ -0,0 +1,94 @@
+package com.banco.cliente_api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+
+import com.banco.cliente_api.exception.InvalidInputException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+/**
+ * CSV con encabezado (RFC 4180: separador coma, comillas dobles). Las columnas se llaman como los campos
+ * de ClienteRequestDTO; el orden es libre y las desconocidas se ignoran. productosBancariosCodigos lleva
+ * los códigos separados por '|'. Las celdas vacías equivalen a un campo ausente.
+ * Cada fila se lee como lista de textos y se convierte por separado: una fila con otra cantidad de
+ * columnas o un número inválido solo invalida su registro. Unas comillas sin cerrar cortan la lectura.
+ */
+public class CsvImportRegistroReader implements ImportRegistroReader {
+
+    static final String SEPARADOR_PRODUCTOS = "\\|";
+    static final String COLUMNA_PRODUCTOS = "productosBancariosCodigos";
+    private static final Set<String> COLUMNAS_REQUERIDAS = Set.of("dni", "nombre", "apellido", COLUMNA_PRODUCTOS);
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.WRAP_AS_ARRAY)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+
+    private final MappingIterator<List<String>> filas;
+    private final ObjectMapper objectMapper;
+    private final List<String> encabezado;
+    private int indice;
+
+    /**
+     * Lee el encabezado al construirse: si falta o no tiene las columnas obligatorias la importación
+     * se rechaza antes de procesar ningún registro.
+     */
+    public CsvImportRegistroReader(InputStream entrada, ObjectMapper objectMapper) throws IOException {
+        this.filas = CSV_MAPPER.readerForListOf(String.class).readValues(entrada);
+        this.objectMapper = objectMapper;
+        if (!filas.hasNextValue()) {
+            throw new InvalidInputException("El CSV está vacío: se esperaba el encabezado con las columnas " + COLUMNAS_REQUERIDAS + ".");
+        }
+        this.encabezado = filas.nextValue();
+        List<String> faltantes = COLUMNAS_REQUERIDAS.stream().filter(c -> !encabezado.contains(c)).sorted().toList();
+        if (!faltantes.isEmpty()) {
+            throw new InvalidInputException("Faltan columnas en el encabezado del CSV: " + faltantes + ".");
+        }
+    }
+
+    @Override
+    public ImportRegistro siguiente() throws IOException {
+        if (!filas.hasNextValue()) {
+            return null;
+        }
+        List<String> fila = filas.nextValue();
+        int actual = indice++;
+        if (fila.size() != encabezado.size()) {
+            return ImportRegistro.ilegible(actual, null, "El registro tiene " + fila.size()
+                    + " columnas y el encabezado " + encabezado.size() + ".");
+        }
+
+        ObjectNode nodo = objectMapper.createObjectNode();
+        for (int i = 0; i < encabezado.size(); i++) {
+            String valor = fila.get(i);
+            if (valor == null || valor.isEmpty()) {
+                continue;
+            }
+            String columna = encabezado.get(i);
+            if (COLUMNA_PRODUCTOS.equals(columna)) {
+                ArrayNode codigos = nodo.putArray(columna);
+                for (String codigo : valor.split(SEPARADOR_PRODUCTOS)) {
+                    if (!codigo.isBlank()) {
+                        codigos.add(codigo.strip());
+                    }
+                }
+            } else {
+                nodo.put(columna, valor);
+            }
+        }
+        return ImportRegistro.convertir(objectMapper, actual, nodo);
+    }
+
+    @Override
+    public void close() throws IOException {
+        filas.close();
+    }
+}
@@ -0,0 +1,426 @@
+package com.banco.cliente_api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.banco.cliente_api.adapter.web.dto.ImportRegistroResultadoDTO;
+import com.banco.cliente_api.exception.BatchTooLargeException;
+import com.banco.cliente_api.exception.ImportJobNotFoundException;
+import com.banco.cliente_api.exception.ImportJobRejectedException;
+import com.banco.cliente_api.exception.InvalidInputException;
+import com.banco.cliente_api.model.ImportJob;
+import com.banco.cliente_api.model.ImportJobContenido;
+import com.banco.cliente_api.model.ImportJobError;
+import com.banco.cliente_api.model.ImportJobEstado;
+import com.banco.cliente_api.observability.ApiMetrics;
+import com.banco.cliente_api.repository.ImportJobContenidoRepository;
+import com.banco.cliente_api.repository.ImportJobErrorRepository;
+import com.banco.cliente_api.repository.ImportJobRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Importaciones masivas asíncronas. El cuerpo recibido se guarda tal cual junto al trabajo y lo procesa
+ * un pool acotado (banco.app.importacion.hilos) en lotes de banco.app.importacion.tamanioLote registros:
+ * cada lote se confirma en su propia transacción junto con el avance y los errores del trabajo.
+ * Con pocos hilos las importaciones usan a lo sumo esa cantidad de conexiones del pool y no desplazan
+ * al tráfico en línea. Al arrancar se reanudan los trabajos que quedaron PENDIENTE o EN_CURSO,
+ * desde el primer registro sin confirmar.
+ * El cuerpo (hasta banco.app.importacion.maxBytes) pasa por un archivo temporal en ambos sentidos: al recibirlo,
+ * para verificarlo antes de registrar el trabajo y guardarlo como stream; al procesarlo, para no retener el Blob
+ * (ni su conexión) durante toda la importación.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    private static final Set<ImportJobEstado> SIN_TERMINAR = EnumSet.of(ImportJobEstado.PENDIENTE, ImportJobEstado.EN_CURSO);
+    private static final int REINTENTOS_CANCELACION = 3;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobContenidoRepository contenidoRepository;
+    private final ImportJobErrorRepository errorRepository;
+    private final ClienteImportador clienteImportador;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Timer loteTimer;
+
+    @Value("${banco.app.importacion.hilos:2}")
+    private int hilos;
+    @Value("${banco.app.importacion.cola:20}")
+    private int cola;
+    @Value("${banco.app.importacion.tamanioLote:500}")
+    private int tamanioLote;
+    @Value("${banco.app.importacion.maxBytes:104857600}")
+    private long maxBytes;
+
+    private ThreadPoolExecutor executor;
+
+    public ImportJobService(ImportJobRepository importJobRepository,
+                            ImportJobContenidoRepository contenidoRepository,
+                            ImportJobErrorRepository errorRepository,
+                            ClienteImportador clienteImportador,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            EntityManager entityManager,
+                            MeterRegistry meterRegistry) {
+        this.importJobRepository = importJobRepository;
+        this.contenidoRepository = contenidoRepository;
+        this.errorRepository = errorRepository;
+        this.clienteImportador = clienteImportador;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.loteTimer = ApiMetrics.timer(meterRegistry, ApiMetrics.IMPORTACION_LOTE,
+                "Confirmación de un lote de una importación masiva", "origen", "trabajo");
+    }
+
+    @PostConstruct
+    void iniciarPool() {
+        executor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(cola), new CustomizableThreadFactory("import-job-"));
+    }
+
+    // Interrumpe los trabajos en curso entre lotes: quedan EN_CURSO y se reanudan en el próximo arranque
+    @PreDestroy
+    void detenerPool() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Registra la importación y la encola. Solo verifica que el cuerpo sea un arreglo JSON de objetos
+     * (para conocer el total); la validación de cada cliente ocurre al procesarlo.
+     * @param longitud Content-Length de la solicitud, o -1 si no se conoce.
+     * @throws BatchTooLargeException si el cuerpo supera banco.app.importacion.maxBytes (antes de leerlo si
+     *                                longitud ya lo indica).
+     * @throws ImportJobRejectedException si la cola de trabajos está llena.
+     */
+    public ImportJob crear(InputStream contenido, long longitud, String usuario) throws IOException {
+        if (longitud > maxBytes) {
+            throw new BatchTooLargeException(maxBytes);
+        }
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new ImportJobRejectedException(executor.getQueue().size());
+        }
+        Path archivo = Files.createTempFile("importacion-", ".json");
+        ImportJob job;
+        try {
+            long bytes = copiar(contenido, archivo);
+            int total = contarRegistros(archivo);
+            job = transactionTemplate.execute(status -> {
+                ImportJob nuevo = importJobRepository.save(new ImportJob(usuario, total));
+                try (InputStream entrada = Files.newInputStream(archivo)) {
+                    // persist y flush antes de cerrar el archivo: el insert lee el Blob como stream
+                    entityManager.persist(new ImportJobContenido(nuevo.getId(), BlobProxy.generateProxy(entrada, bytes)));
+                    entityManager.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return nuevo;
+            });
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+
+        Long id = job.getId();
+        try {
+            executor.execute(() -> ejecutar(id));
+        } catch (RejectedExecutionException e) {
+            transactionTemplate.executeWithoutResult(status -> {
+                contenidoRepository.deleteById(id);
+                importJobRepository.deleteById(id);
+            });
+            throw new ImportJobRejectedException(executor.getQueue().size());
+        }
+        logger.info("Importación {} encolada: {} cliente(s), usuario {}.", id, job.getTotal(), usuario);
+        return job;
+    }
+
+    public ImportJob obtener(Long id) {
+        return importJobRepository.findById(id).orElseThrow(() -> new ImportJobNotFoundException(id));
+    }
+
+    public List<ImportJobError> errores(Long id, int pagina, int tamanio) {
+        if (!importJobRepository.existsById(id)) {
+            throw new ImportJobNotFoundException(id);
+        }
+        return errorRepository.findByJobIdOrderByIndice(id, PageRequest.of(pagina, tamanio));
+    }
+
+    /**
+     * Cancela un trabajo pendiente o en curso. Lo ya confirmado queda en la base; el lote en proceso
+     * se deshace al detectar la cancelación (versión del trabajo).
+     */
+    public ImportJob cancelar(Long id, String usuario) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    ImportJob job = obtener(id);
+                    if (job.getEstado().isTerminado()) {
+                        throw new InvalidInputException("La importación " + id + " ya terminó (" + job.getEstado() + ").");
+                    }
+                    job.terminar(ImportJobEstado.CANCELADO, "Cancelada por " + usuario + ".");
+                    contenidoRepository.deleteById(id);
+                    logger.info("Importación {} cancelada por {} con {}/{} registros procesados.",
+                            id, usuario, job.getProcesados(), job.getTotal());
+                    return job;
+                });
+            } catch (OptimisticLockingFailureException e) {
+                // Se confirmó un lote al mismo tiempo: se vuelve a leer el trabajo
+                if (intento == REINTENTOS_CANCELACION) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarPendientes() {
+        for (ImportJob job : importJobRepository.findByEstadoInOrderById(SIN_TERMINAR)) {
+            Long id = job.getId();
+            try {
+                executor.execute(() -> ejecutar(id));
+                logger.info("Importación {} reanudada desde el registro {} de {}.", id, job.getProcesados(), job.getTotal());
+            } catch (RejectedExecutionException e) {
+                logger.warn("Importación {} sin reanudar: la cola de importaciones está llena.", id);
+            }
+        }
+    }
+
+    void ejecutar(Long id) {
+        ImportJob job = transactionTemplate.execute(status -> importJobRepository.findById(id)
+                .filter(j -> !j.getEstado().isTerminado())
+                .map(j -> {
+                    j.iniciar();
+                    return j;
+                })
+                .orElse(null));
+        if (job == null) {
+            return; // Cancelada mientras esperaba en la cola
+        }
+
+        Path archivo = null;
+        try {
+            archivo = Files.createTempFile("importacion-" + id + "-", ".json");
+            descargar(id, archivo);
+            boolean completa;
+            try (InputStream contenido = Files.newInputStream(archivo)) {
+                completa = procesar(id, contenido, job.getProcesados());
+            }
+            if (completa) {
+                terminar(id, ImportJobEstado.COMPLETADO, null);
+            }
+        } catch (Exception e) {
+            if (executor.isShutdown()) {
+                logger.info("Importación {} interrumpida por el apagado; se reanudará al reiniciar.", id);
+                return;
+            }
+            logger.error("Importación {} fallida: {}", id, e.getMessage(), e);
+            terminar(id, ImportJobEstado.FALLIDO, e.getMessage());
+        } finally {
+            if (archivo != null) {
+                try {
+                    Files.deleteIfExists(archivo);
+                } catch (IOException e) {
+                    logger.warn("Importación {}: no se pudo borrar el archivo temporal {}.", id, archivo);
+                }
+            }
+        }
+    }
+
+    // Copia el Blob a un archivo en una transacción corta, sin cargarlo entero en memoria
+    private void descargar(Long id, Path archivo) {
+        transactionTemplate.executeWithoutResult(status -> {
+            ImportJobContenido contenido = contenidoRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("No se encontró el contenido de la importación."));
+            try (InputStream entrada = contenido.getContenido().getBinaryStream();
+                 OutputStream salida = Files.newOutputStream(archivo)) {
+                entrada.transferTo(salida);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("No se pudo leer el contenido de la importación: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    // Copia la solicitud al archivo cortando en maxBytes (las solicitudes sin Content-Length se verifican aquí)
+    private long copiar(InputStream entrada, Path archivo) throws IOException {
+        byte[] buffer = new byte[8192];
+        long bytes = 0;
+        try (OutputStream salida = Files.newOutputStream(archivo)) {
+            int n;
+            while ((n = entrada.read(buffer)) >= 0) {
+                bytes += n;
+                if (bytes > maxBytes) {
+                    throw new BatchTooLargeException(maxBytes);
+                }
+                salida.write(buffer, 0, n);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return false si el trabajo se canceló o se interrumpió antes de terminar.
+     */
+    private boolean procesar(Long id, InputStream contenido, int desde) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(contenido)) {
+            parser.nextToken(); // START_ARRAY, verificado al recibirla
+            for (int i = 0; i < desde; i++) {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            List<ImportRegistro> lote = new ArrayList<>(tamanioLote);
+            int indice = desde;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                lote.add(leer(parser, indice++));
+                if (lote.size() == tamanioLote) {
+                    if (!confirmar(id, lote)) {
+                        return false;
+                    }
+                    lote = new ArrayList<>(tamanioLote);
+                }
+            }
+            return lote.isEmpty() || confirmar(id, lote);
+        }
+    }
+
+    private ImportRegistro leer(JsonParser parser, int indice) throws IOException {
+        JsonNode nodo = objectMapper.readTree(parser);
+        return ImportRegistro.convertir(objectMapper, indice, nodo);
+    }
+
+    private boolean confirmar(Long id, List<ImportRegistro> lote) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        long inicio = System.nanoTime();
+        try {
+            return confirmarLote(id, lote, clienteImportador::importar);
+        } catch (DataIntegrityViolationException e) {
+            // Un alta concurrente por la API (mismo DNI) hizo fallar el lote: se reintenta registro por registro
+            logger.warn("Importación {}: lote desde el registro {} rechazado por la base ({}); se reintenta de a uno.",
+                    id, lote.get(0).indice(), e.getMostSpecificCause().getMessage());
+            for (ImportRegistro registro : lote) {
+                if (!confirmarRegistro(id, registro)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (OptimisticLockingFailureException e) {
+            // Solo la cancelación modifica el trabajo fuera de este hilo
+            return false;
+        } finally {
+            loteTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean confirmarRegistro(Long id, ImportRegistro registro) {
+        try {
+            return confirmarLote(id, List.of(registro), clienteImportador::importar);
+        } catch (DataIntegrityViolationException e) {
+            String motivo = "No se pudo guardar el cliente: " + e.getMostSpecificCause().getMessage();
+            return confirmarLote(id, List.of(registro),
+                    registros -> List.of(ImportRegistroResultadoDTO.error(registro.indice(), registro.dni(), motivo)));
+        }
+    }
+
+    // Importa el lote y actualiza el avance del trabajo en la misma transacción
+    private boolean confirmarLote(Long id, List<ImportRegistro> lote,
+                                  Function<List<ImportRegistro>, List<ImportRegistroResultadoDTO>> importacion) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            ImportJob job = importJobRepository.findById(id).orElse(null);
+            if (job == null || job.getEstado() != ImportJobEstado.EN_CURSO) {
+                return false;
+            }
+            List<ImportRegistroResultadoDTO> resultados = importacion.apply(lote);
+            List<ImportJobError> errores = resultados.stream()
+                    .filter(resultado -> !resultado.isCreado())
+                    .map(resultado -> new ImportJobError(id, resultado.getIndice(), resultado.getDni(), resultado.getMessage()))
+                    .toList();
+            errorRepository.saveAll(errores);
+            job.avanzar(resultados.size() - errores.size(), errores.size());
+            return true;
+        }));
+    }
+
+    private void terminar(Long id, ImportJobEstado estado, String mensaje) {
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.findById(id)
+                .filter(job -> job.getEstado() == ImportJobEstado.EN_CURSO)
+                .ifPresent(job -> {
+                    job.terminar(estado, mensaje);
+                    contenidoRepository.deleteById(id);
+                    logger.info("Importación {} {}: {} creado(s), {} con error.",
+                            id, estado, job.getExitosos(), job.getFallidos());
+                }));
+    }
+
+    private int contarRegistros(Path contenido) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(contenido.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidInputException("El cuerpo debe ser un arreglo JSON de clientes.");
+            }
+            int total = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new InvalidInputException("El elemento " + total + " del arreglo no es un cliente (objeto JSON).");
+                }
+                parser.skipChildren();
+                total++;
+            }
+            if (parser.nextToken() != null) {
+                throw new InvalidInputException("Hay contenido después del arreglo de clientes.");
+            }
+            if (total == 0) {
+                throw new InvalidInputException("La lista de clientes a importar está vacía.");
+            }
+            return total;
+        } catch (JsonProcessingException e) {
+            throw new InvalidInputException("Solicitud inválida: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new InvalidInputException("No se pudo leer la importación: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.banco.cliente_api.service;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Un registro de una importación. Si no se pudo convertir a ClienteRequestDTO (tipos inválidos)
+ * cliente es null y errorLectura tiene el motivo; dni es el que se pudo leer, si había.
+ */
+public record ImportRegistro(int indice, String dni, ClienteRequestDTO cliente, String errorLectura) {
+
+    public static ImportRegistro de(int indice, ClienteRequestDTO cliente) {
+        return new ImportRegistro(indice, cliente.getDni(), cliente, null);
+    }
+
+    /**
+     * Convierte un objeto JSON ya leído. Un error de tipos (ej: "numero": "abc") queda en el registro
+     * en lugar de cortar la importación.
+     */
+    public static ImportRegistro convertir(ObjectMapper objectMapper, int indice, JsonNode nodo) {
+        try {
+            return de(indice, objectMapper.treeToValue(nodo, ClienteRequestDTO.class));
+        } catch (JsonProcessingException e) {
+            return ilegible(indice, nodo.path("dni").asText(null), "Registro inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    public static ImportRegistro ilegible(int indice, String dni, String errorLectura) {
+        return new ImportRegistro(indice, dni, null, errorLectura);
+    }
+}
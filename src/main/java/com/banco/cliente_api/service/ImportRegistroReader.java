@@ -0,0 +1,17 @@
+package com.banco.cliente_api.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lectura incremental de los registros de una importación por streaming: uno por vez, sin cargar
+ * la entrada completa. Los errores de un registro (tipos inválidos, línea mal formada) quedan en el
+ * propio registro; un error que impide seguir leyendo se propaga como excepción.
+ */
+public interface ImportRegistroReader extends Closeable {
+
+    /**
+     * @return el siguiente registro, o null al terminar la entrada.
+     */
+    ImportRegistro siguiente() throws IOException;
+}
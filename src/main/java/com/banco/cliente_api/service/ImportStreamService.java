@@ -0,0 +1,114 @@
+package com.banco.cliente_api.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.banco.cliente_api.adapter.web.dto.ImportRegistroResultadoDTO;
+import com.banco.cliente_api.adapter.web.dto.ImportResumenDTO;
+import com.banco.cliente_api.observability.ApiMetrics;
+import com.banco.cliente_api.observability.jfr.BatchChunkEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Importación sincrónica por streaming: lee registros de a uno desde la solicitud, confirma cada lote de
+ * banco.app.importacion.tamanioLote en su propia transacción (ClienteImportador.importarEnTransaccion) y
+ * entrega los resultados del lote antes de leer el siguiente. En memoria solo hay un lote, sea cual sea el tamaño de la entrada.
+ * A diferencia de ImportJobService no hay trabajo persistido: si la conexión se corta, lo confirmado queda
+ * y el resto se descarta.
+ */
+@Service
+public class ImportStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportStreamService.class);
+
+    static final String ENDPOINT = "POST /api/clientes/importaciones/stream";
+
+    /**
+     * Recibe los resultados de cada lote ya confirmado, en el orden de la entrada.
+     */
+    @FunctionalInterface
+    public interface ResultadosListener {
+        void lote(List<ImportRegistroResultadoDTO> resultados) throws IOException;
+    }
+
+    private final ClienteImportador clienteImportador;
+    private final Timer loteTimer;
+
+    @Value("${banco.app.importacion.tamanioLote:500}")
+    private int tamanioLote;
+
+    public ImportStreamService(ClienteImportador clienteImportador, MeterRegistry meterRegistry) {
+        this.clienteImportador = clienteImportador;
+        this.loteTimer = ApiMetrics.timer(meterRegistry, ApiMetrics.IMPORTACION_LOTE,
+                "Confirmación de un lote de una importación masiva", "origen", "stream");
+    }
+
+    /**
+     * Un error de lectura (entrada malformada) termina la importación y queda en el resumen;
+     * un IOException del listener (el cliente se desconectó) se propaga.
+     */
+    public ImportResumenDTO importar(ImportRegistroReader lector, ResultadosListener listener) throws IOException {
+        long inicio = System.nanoTime();
+        int exitosos = 0;
+        int fallidos = 0;
+        int numeroLote = 0;
+        String error = null;
+
+        List<ImportRegistro> lote = new ArrayList<>(tamanioLote);
+        while (true) {
+            ImportRegistro registro;
+            try {
+                registro = lector.siguiente();
+            } catch (IOException e) {
+                error = "Lectura interrumpida después de " + (exitosos + fallidos + lote.size())
+                        + " registro(s): " + e.getMessage();
+                logger.warn("Importación por streaming: {}", error);
+                registro = null;
+            }
+            if (registro != null) {
+                lote.add(registro);
+            }
+            boolean fin = registro == null;
+            if (lote.size() == tamanioLote || (fin && !lote.isEmpty())) {
+                List<ImportRegistroResultadoDTO> resultados = confirmar(lote, numeroLote++);
+                int creados = (int) resultados.stream().filter(ImportRegistroResultadoDTO::isCreado).count();
+                exitosos += creados;
+                fallidos += resultados.size() - creados;
+                listener.lote(resultados);
+                lote = new ArrayList<>(tamanioLote);
+            }
+            if (fin) {
+                break;
+            }
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        int total = exitosos + fallidos;
+        logger.info("Importación por streaming terminada: {} creado(s), {} con error en {} lote(s), {} s.",
+                exitosos, fallidos, numeroLote, String.format("%.3f", segundos));
+        return new ImportResumenDTO(total, exitosos, fallidos, segundos, segundos > 0 ? total / segundos : 0, error);
+    }
+
+    private List<ImportRegistroResultadoDTO> confirmar(List<ImportRegistro> lote, int numeroLote) {
+        BatchChunkEvent event = BatchChunkEvent.iniciar(ENDPOINT, numeroLote, lote.size());
+        long inicio = System.nanoTime();
+        List<ImportRegistroResultadoDTO> resultados = List.of();
+        try {
+            resultados = clienteImportador.importarEnTransaccion(lote);
+            return resultados;
+        } finally {
+            loteTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            int creados = (int) resultados.stream().filter(ImportRegistroResultadoDTO::isCreado).count();
+            event.terminar(creados, lote.size() - creados);
+        }
+    }
+}
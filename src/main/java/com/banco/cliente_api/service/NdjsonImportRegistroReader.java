@@ -0,0 +1,99 @@
+package com.banco.cliente_api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Un ClienteRequestDTO en JSON por línea (NDJSON). Las líneas en blanco se ignoran. Cada línea se
+ * parsea por separado, así que una línea mal formada solo invalida su registro. Las líneas más
+ * largas que MAX_LINEA se descartan sin retenerlas: la memoria no depende de la entrada.
+ */
+public class NdjsonImportRegistroReader implements ImportRegistroReader {
+
+    static final int MAX_LINEA = 64 * 1024;
+
+    private static final int FIN = -1;
+    private static final int COMPLETA = 0;
+    private static final int DEMASIADO_LARGA = 1;
+
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder linea = new StringBuilder();
+    private final char[] buffer = new char[8192];
+    private int posicion;
+    private int limite;
+    private int indice;
+
+    public NdjsonImportRegistroReader(InputStream entrada, Charset charset, ObjectMapper objectMapper) {
+        this.reader = new InputStreamReader(entrada, charset);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRegistro siguiente() throws IOException {
+        while (true) {
+            int resultado = leerLinea();
+            if (resultado == FIN) {
+                return null;
+            }
+            if (resultado == DEMASIADO_LARGA) {
+                return ImportRegistro.ilegible(indice++, null, "La línea supera los " + MAX_LINEA + " caracteres.");
+            }
+            String texto = linea.toString().strip();
+            if (!texto.isEmpty()) {
+                return leer(indice++, texto);
+            }
+        }
+    }
+
+    private ImportRegistro leer(int indice, String texto) {
+        try {
+            JsonNode nodo = objectMapper.readTree(texto);
+            if (!nodo.isObject()) {
+                return ImportRegistro.ilegible(indice, null, "La línea no es un cliente (objeto JSON).");
+            }
+            return ImportRegistro.convertir(objectMapper, indice, nodo);
+        } catch (JsonProcessingException e) {
+            return ImportRegistro.ilegible(indice, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    // Lee hasta el próximo salto de línea; lo que excede MAX_LINEA se descarta
+    private int leerLinea() throws IOException {
+        linea.setLength(0);
+        boolean larga = false;
+        while (true) {
+            if (posicion == limite) {
+                limite = reader.read(buffer);
+                posicion = 0;
+                if (limite == -1) {
+                    limite = 0;
+                    return linea.length() == 0 && !larga ? FIN : (larga ? DEMASIADO_LARGA : COMPLETA);
+                }
+            }
+            int inicio = posicion;
+            while (posicion < limite && buffer[posicion] != '\n') {
+                posicion++;
+            }
+            int cantidad = Math.min(posicion - inicio, MAX_LINEA - linea.length());
+            linea.append(buffer, inicio, cantidad);
+            larga |= cantidad < posicion - inicio;
+            if (posicion < limite) {
+                posicion++; // salto de línea
+                return larga ? DEMASIADO_LARGA : COMPLETA;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,122 @@
+package com.banco.cliente_api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reparte un lote en particiones por hash de una clave (el DNI) y procesa cada partición en su propia
+ * transacción, en paralelo sobre un pool acotado. Con una misma clave siempre en la misma partición,
+ * dos transacciones concurrentes nunca insertan el mismo DNI. Los lotes de menos de
+ * banco.app.batch.paralelo.umbral elementos se procesan en una sola transacción en el hilo que llama.
+ * Cada partición ocupa una conexión: los hilos se limitan a la mitad del pool de Hikari para no dejar
+ * sin conexiones al tráfico en línea. Si el pool está ocupado, la partición corre en el hilo que llama.
+ */
+@Component
+public class ParticionadorAltas {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParticionadorAltas.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${banco.app.batch.paralelo.hilos:4}")
+    private int hilosConfigurados;
+    @Value("${banco.app.batch.paralelo.umbral:50}")
+    private int umbral;
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int conexiones;
+
+    private int hilos;
+    private ThreadPoolExecutor executor;
+
+    public ParticionadorAltas(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void iniciarPool() {
+        hilos = Math.max(1, Math.min(hilosConfigurados, conexiones / 2));
+        if (hilos < hilosConfigurados) {
+            logger.info("Altas en paralelo limitadas a {} hilo(s) (pool de {} conexiones).", hilos, conexiones);
+        }
+        executor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(hilos * 2), new CustomizableThreadFactory("alta-particion-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void detenerPool() {
+        executor.shutdown();
+    }
+
+    /**
+     * @param clave La clave de partición de cada elemento.
+     * @param enTransaccion Procesa una partición dentro de su transacción y devuelve un resultado por elemento,
+     *                      en el mismo orden.
+     * @return los resultados en el orden de los elementos recibidos. Si una partición falla se espera al resto
+     *         y se relanza su excepción: las particiones que ya confirmaron quedan confirmadas.
+     */
+    public <T, R> List<R> procesar(List<T> elementos, Function<T, String> clave, Function<List<T>, List<R>> enTransaccion) {
+        if (elementos.size() < umbral || hilos == 1) {
+            return transactionTemplate.execute(status -> enTransaccion.apply(elementos));
+        }
+
+        List<List<Integer>> indices = new ArrayList<>(hilos);
+        for (int p = 0; p < hilos; p++) {
+            indices.add(new ArrayList<>());
+        }
+        for (int i = 0; i < elementos.size(); i++) {
+            indices.get(Math.floorMod(clave.apply(elementos.get(i)).hashCode(), hilos)).add(i);
+        }
+
+        Object[] resultados = new Object[elementos.size()];
+        List<CompletableFuture<Void>> particiones = new ArrayList<>(hilos);
+        for (List<Integer> particion : indices) {
+            if (particion.isEmpty()) {
+                continue;
+            }
+            List<T> contenido = particion.stream().map(elementos::get).toList();
+            particiones.add(CompletableFuture.runAsync(() -> {
+                List<R> guardados = transactionTemplate.execute(status -> enTransaccion.apply(contenido));
+                for (int j = 0; j < particion.size(); j++) {
+                    resultados[particion.get(j)] = guardados.get(j);
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(particiones.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+        @SuppressWarnings("unchecked")
+        List<R> ordenados = (List<R>) Arrays.asList(resultados);
+        return ordenados;
+    }
+
+    /**
+     * Hilos efectivos (y conexiones que pueden ocupar a la vez las particiones), ya limitados por el pool.
+     */
+    public int getHilos() {
+        return hilos;
+    }
+}
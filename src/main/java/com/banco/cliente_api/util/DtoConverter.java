@@ -2,18 +2,68 @@ package com.banco.cliente_api.util;
 
 import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
 import com.banco.cliente_api.adapter.web.dto.ClienteResponseDTO;
+import com.banco.cliente_api.adapter.web.dto.ImportJobDTO;
+import com.banco.cliente_api.adapter.web.dto.ImportRegistroResultadoDTO;
 import com.banco.cliente_api.adapter.web.dto.ProductoBancarioDTO;
 import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.model.ImportJob;
+import com.banco.cliente_api.model.ImportJobError;
+import com.banco.cliente_api.model.ImportJobEstado;
 import com.banco.cliente_api.model.ProductoBancario;
+import com.banco.cliente_api.observability.ApiMetrics;
+import com.banco.cliente_api.observability.timing.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 public class DtoConverter {
 
+    private Timer aEntidadTimer;
+    private Timer aDtoTimer;
+
+    public DtoConverter() {
+        setMeterRegistry(ApiMetrics.SIN_REGISTRO);
+    }
+
+    // La conversión a DTO incluye la carga lazy de los productos bancarios del cliente
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        String descripcion = "Conversión entre entidades y DTOs de la API";
+        aEntidadTimer = ApiMetrics.timer(meterRegistry, ApiMetrics.DTO_CONVERSION, descripcion, "tipo", "cliente_entidad");
+        aDtoTimer = ApiMetrics.timer(meterRegistry, ApiMetrics.DTO_CONVERSION, descripcion, "tipo", "cliente_dto");
+    }
+
     public Cliente convertToEntity(ClienteRequestDTO dto) {
+        long inicio = System.nanoTime();
+        Cliente cliente = toEntity(dto);
+        registrar(aEntidadTimer, System.nanoTime() - inicio);
+        return cliente;
+    }
+
+    public ClienteResponseDTO convertToDto(Cliente cliente) {
+        long inicio = System.nanoTime();
+        ClienteResponseDTO dto = toDto(cliente);
+        registrar(aDtoTimer, System.nanoTime() - inicio);
+        return dto;
+    }
+
+    private void registrar(Timer timer, long duracionNanos) {
+        timer.record(duracionNanos, TimeUnit.NANOSECONDS);
+        RequestTimings timings = RequestTimings.actual();
+        if (timings != null) {
+            timings.agregar(RequestTimings.Fase.MAPPING, duracionNanos);
+        }
+    }
+
+    private Cliente toEntity(ClienteRequestDTO dto) {
         // Builder de Lombok para una creación de objeto más limpia
         return Cliente.builder()
                 .dni(dto.getDni())
@@ -27,8 +77,7 @@ public class DtoConverter {
                 .build();
     }
 
-    public ClienteResponseDTO convertToDto(Cliente cliente) {
-       
+    private ClienteResponseDTO toDto(Cliente cliente) {
         ClienteResponseDTO dto = new ClienteResponseDTO();
         dto.setId(cliente.getId());
         dto.setDni(cliente.getDni());
@@ -55,4 +104,46 @@ public class DtoConverter {
         dto.setDescripcion(producto.getDescripcion());
         return dto;
     }
-}
\ No newline at end of file
+
+    /**
+     * La tasa se calcula sobre la corrida actual (desde el último inicio o reanudación) y el ETA
+     * con esa tasa sobre los registros que faltan.
+     */
+    public ImportJobDTO convertImportJobToDto(ImportJob job) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(job.getId());
+        dto.setEstado(job.getEstado());
+        dto.setUsuario(job.getUsuario());
+        dto.setTotal(job.getTotal());
+        dto.setProcesados(job.getProcesados());
+        dto.setExitosos(job.getExitosos());
+        dto.setFallidos(job.getFallidos());
+        dto.setPorcentaje(job.getTotal() > 0 ? redondear(job.getProcesados() * 100.0 / job.getTotal()) : 0);
+        dto.setMensaje(job.getMensaje());
+        dto.setCreado(job.getCreado());
+        dto.setIniciado(job.getIniciado());
+        dto.setFinalizado(job.getFinalizado());
+
+        if (job.getIniciado() != null) {
+            LocalDateTime fin = job.getFinalizado() != null ? job.getFinalizado() : LocalDateTime.now();
+            double segundos = Duration.between(job.getIniciado(), fin).toMillis() / 1000.0;
+            int procesadosCorrida = job.getProcesados() - job.getProcesadosAlIniciar();
+            if (segundos > 0 && procesadosCorrida > 0) {
+                double tasa = procesadosCorrida / segundos;
+                dto.setRegistrosPorSegundo(redondear(tasa));
+                if (job.getEstado() == ImportJobEstado.EN_CURSO) {
+                    dto.setEtaSegundos((long) Math.ceil((job.getTotal() - job.getProcesados()) / tasa));
+                }
+            }
+        }
+        return dto;
+    }
+
+    public ImportRegistroResultadoDTO convertImportJobErrorToDto(ImportJobError error) {
+        return ImportRegistroResultadoDTO.error(error.getIndice(), error.getDni(), error.getMensaje());
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 10) / 10.0;
+    }
+}
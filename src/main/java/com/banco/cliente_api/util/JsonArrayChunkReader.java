@@ -0,0 +1,202 @@
+package com.banco.cliente_api.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.banco.cliente_api.exception.BatchPartiallyProcessedException;
+import com.banco.cliente_api.exception.BatchTooLargeException;
+import com.banco.cliente_api.exception.ClienteNotFoundException;
+import com.banco.cliente_api.exception.InvalidInputException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Lectura incremental del arreglo JSON de los endpoints batch. En lugar de convertir todo el cuerpo a una
+ * List antes de empezar (cuerpo + lista completos en memoria), los elementos se leen del stream de la
+ * solicitud, se validan con las mismas restricciones que @Valid y se entregan en bloques de
+ * banco.app.batch.tamanioBloque. Un cuerpo con Content-Length mayor que banco.app.batch.maxBytes se rechaza
+ * antes de leer nada. Un elemento inválido, uno de más sobre banco.app.batch.maxElementos o un cuerpo sin
+ * Content-Length que pasa de maxBytes cortan la lectura: si ya se procesó algún bloque, el error se informa
+ * como BatchPartiallyProcessedException con lo confirmado hasta ahí.
+ */
+@Component
+public class JsonArrayChunkReader {
+
+    /**
+     * Procesa un bloque de elementos ya validados. La lista se reutiliza entre bloques: no debe retenerse.
+     */
+    @FunctionalInterface
+    public interface ProcesadorBloque<T> {
+        void procesar(int indiceBloque, List<T> bloque);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${banco.app.batch.tamanioBloque:100}")
+    private int tamanioBloque;
+    @Value("${banco.app.batch.maxElementos:1000}")
+    private int maxElementos;
+    @Value("${banco.app.batch.maxBytes:1048576}")
+    private long maxBytes;
+
+    public JsonArrayChunkReader(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * @param confirmados Lista donde el procesador acumula los resultados; se informa si la lectura se corta
+     *                    después del primer bloque.
+     * @return la cantidad de elementos leídos (0 si el arreglo está vacío).
+     * @throws InvalidInputException si el cuerpo no es un arreglo JSON o un elemento es inválido.
+     * @throws BatchTooLargeException si el arreglo tiene más de maxElementos elementos o el cuerpo más de maxBytes.
+     * @throws BatchPartiallyProcessedException si alguno de los errores anteriores, o un ClienteNotFoundException
+     *                                          del procesador, ocurre con bloques ya procesados.
+     */
+    public <T> int leer(HttpServletRequest solicitud, Class<T> tipo, List<?> confirmados, ProcesadorBloque<T> procesador) {
+        return leer(solicitud, tipo, true, confirmados, procesador);
+    }
+
+    /**
+     * @param validar false si las restricciones las verifica quien procesa el bloque (resultados por elemento).
+     */
+    public <T> int leer(HttpServletRequest solicitud, Class<T> tipo, boolean validar, List<?> confirmados,
+                        ProcesadorBloque<T> procesador) {
+        if (solicitud.getContentLengthLong() > maxBytes) {
+            throw new BatchTooLargeException(maxBytes);
+        }
+        int[] procesados = {0};
+        try {
+            return leer(new EntradaLimitada(solicitud.getInputStream(), maxBytes), tipo, validar, (indiceBloque, bloque) -> {
+                procesador.procesar(indiceBloque, bloque);
+                procesados[0] += bloque.size();
+            });
+        } catch (InvalidInputException | BatchTooLargeException | ClienteNotFoundException e) {
+            if (procesados[0] > 0) {
+                throw new BatchPartiallyProcessedException(e, procesados[0], confirmados);
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidInputException("No se pudo leer la solicitud: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> int leer(InputStream cuerpo, Class<T> tipo, boolean validar, ProcesadorBloque<T> procesador) {
+        ObjectReader lector = objectMapper.readerFor(tipo);
+        try (JsonParser parser = objectMapper.getFactory().createParser(cuerpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidInputException("Solicitud inválida: el cuerpo debe ser un arreglo JSON.");
+            }
+            List<T> bloque = new ArrayList<>(tamanioBloque);
+            int total = 0;
+            int indiceBloque = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (total == maxElementos) {
+                    throw new BatchTooLargeException(maxElementos);
+                }
+                bloque.add(leerElemento(parser, lector, validar, total++));
+                if (bloque.size() == tamanioBloque) {
+                    procesador.procesar(indiceBloque++, bloque);
+                    bloque.clear();
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new InvalidInputException("Solicitud inválida: hay contenido después del arreglo JSON.");
+            }
+            if (!bloque.isEmpty()) {
+                procesador.procesar(indiceBloque, bloque);
+            }
+            return total;
+        } catch (JsonProcessingException e) {
+            throw new InvalidInputException("Solicitud inválida: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new InvalidInputException("No se pudo leer la solicitud: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T leerElemento(JsonParser parser, ObjectReader lector, boolean validar, int indice) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            throw new InvalidInputException("Solicitud inválida: el elemento [" + indice + "] es nulo.");
+        }
+        T elemento;
+        try {
+            elemento = lector.readValue(parser);
+        } catch (InvalidFormatException e) {
+            // Mismo mensaje que GlobalExceptionHandler para un @RequestBody con un valor del tipo equivocado
+            throw new InvalidInputException(String.format(
+                    "Error de formato en el campo '[%d].%s'. Valor recibido '%s' no es válido para el tipo esperado '%s'.",
+                    indice,
+                    e.getPath().stream()
+                            .map(ref -> ref.getFieldName() != null ? ref.getFieldName() : ("[" + ref.getIndex() + "]"))
+                            .collect(Collectors.joining(".")),
+                    e.getValue(),
+                    e.getTargetType().getSimpleName()), e);
+        }
+        Set<ConstraintViolation<T>> violaciones = validar ? validator.validate(elemento) : Set.of();
+        if (!violaciones.isEmpty()) {
+            // Mismo formato que handleMethodArgumentNotValid, con la posición del elemento en el arreglo
+            throw new InvalidInputException("Error de validación: " + violaciones.stream()
+                    .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                    .map(v -> String.format("'[%d].%s': '%s'", indice, v.getPropertyPath(), v.getMessage()))
+                    .collect(Collectors.joining("; ")));
+        }
+        return elemento;
+    }
+
+    /**
+     * Corta la lectura cuando el cuerpo pasa de maxBytes, para las solicitudes sin Content-Length (chunked).
+     */
+    private static class EntradaLimitada extends FilterInputStream {
+
+        private final long maxBytes;
+        private long leidos;
+
+        EntradaLimitada(InputStream entrada, long maxBytes) {
+            super(entrada);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                contar(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int desde, int cantidad) throws IOException {
+            int n = super.read(buffer, desde, cantidad);
+            if (n > 0) {
+                contar(n);
+            }
+            return n;
+        }
+
+        private void contar(int n) {
+            leidos += n;
+            if (leidos > maxBytes) {
+                throw new BatchTooLargeException(maxBytes);
+            }
+        }
+    }
+}
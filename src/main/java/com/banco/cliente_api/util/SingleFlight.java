@@ -0,0 +1,99 @@
+package com.banco.cliente_api.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.banco.cliente_api.exception.CoalescedQueryTimeoutException;
+import com.banco.cliente_api.observability.ApiMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalescencia de llamadas concurrentes con la misma clave: la primera (líder) ejecuta la carga y las que
+ * llegan mientras está en curso esperan y reciben el mismo resultado, o la misma excepción.
+ * No es una caché: la clave se libera apenas termina la carga, así que una llamada posterior vuelve a ejecutar.
+ * El resultado se comparte entre hilos y debe ser inmutable o no modificarse.
+ *
+ * @param <K> clave de la llamada (ej: el DNI)
+ * @param <V> resultado compartido
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final long esperaMs;
+    private final Counter ejecutadas;
+    private final Counter compartidas;
+    private final Counter timeouts;
+
+    /**
+     * @param nombre valor del tag "consulta" de la métrica banco.consultas.coalescidas
+     */
+    public SingleFlight(String nombre, long esperaMs, MeterRegistry meterRegistry) {
+        this.esperaMs = esperaMs;
+        this.ejecutadas = contador(meterRegistry, nombre, "ejecutada");
+        this.compartidas = contador(meterRegistry, nombre, "compartida");
+        this.timeouts = contador(meterRegistry, nombre, "timeout");
+    }
+
+    public V ejecutar(K clave, Supplier<V> carga) {
+        CompletableFuture<V> propio = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            return esperar(existente);
+        }
+
+        ejecutadas.increment();
+        try {
+            V resultado = carga.get();
+            // Se libera antes de completar: quien llegue después ya no recibe este resultado y vuelve a consultar
+            enCurso.remove(clave, propio);
+            propio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            enCurso.remove(clave, propio);
+            propio.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    int enCurso() {
+        return enCurso.size();
+    }
+
+    private V esperar(CompletableFuture<V> existente) {
+        try {
+            V resultado = existente.get(esperaMs, TimeUnit.MILLISECONDS);
+            compartidas.increment();
+            return resultado;
+        } catch (ExecutionException e) {
+            compartidas.increment();
+            // La misma excepción que recibió el líder (ej: ClienteNotFoundException), para que se maneje igual
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new CoalescedQueryTimeoutException(esperaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timeouts.increment();
+            throw new CoalescedQueryTimeoutException(esperaMs);
+        }
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String nombre, String resultado) {
+        return Counter.builder(ApiMetrics.CONSULTAS_COALESCIDAS)
+                .description("Consultas de lectura ejecutadas y compartidas por coalescencia de solicitudes concurrentes")
+                .tags("consulta", nombre, "resultado", resultado)
+                .register(meterRegistry);
+    }
+}
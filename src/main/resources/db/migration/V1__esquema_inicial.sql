@@ -0,0 +1,54 @@
+-- Esquema inicial: el que generaba Hibernate con ddl-auto=update a partir de las entidades.
+-- En bases creadas antes de las migraciones no se ejecuta: spring.flyway.baseline-on-migrate las marca en la versión 1.
+
+CREATE TABLE roles (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name ENUM('ROLE_USER', 'ROLE_MODERATOR', 'ROLE_ADMIN'),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255),
+    password VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE productos_bancarios (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    codigo VARCHAR(255) NOT NULL,
+    descripcion VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_productos_bancarios_codigo UNIQUE (codigo)
+);
+
+CREATE TABLE clientes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    dni VARCHAR(255) NOT NULL,
+    nombre VARCHAR(255),
+    apellido VARCHAR(255),
+    calle VARCHAR(255),
+    numero INTEGER,
+    codigo_postal VARCHAR(255),
+    telefono VARCHAR(255),
+    celular VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_clientes_dni UNIQUE (dni)
+);
+
+CREATE TABLE cliente_producto (
+    cliente_id BIGINT NOT NULL,
+    producto_id BIGINT NOT NULL,
+    PRIMARY KEY (cliente_id, producto_id),
+    CONSTRAINT fk_cliente_producto_cliente FOREIGN KEY (cliente_id) REFERENCES clientes (id),
+    CONSTRAINT fk_cliente_producto_producto FOREIGN KEY (producto_id) REFERENCES productos_bancarios (id)
+);
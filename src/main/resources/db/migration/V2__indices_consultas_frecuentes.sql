@@ -0,0 +1,12 @@
+-- Índices para los caminos calientes. Las búsquedas por clave única ya tienen índice propio
+-- (clientes.dni, productos_bancarios.codigo, users.username), la carga de productos de un cliente
+-- usa la clave primaria (cliente_id, producto_id) de cliente_producto y un recorrido por páginas
+-- de clientes (id > ? ORDER BY id) usa la clave primaria de clientes.
+
+-- findByProductosBancarios_Codigo: se entra por el producto y se recorren sus clientes.
+-- El índice (producto_id, cliente_id) cubre la tabla intermedia: no hace falta leer la fila.
+-- MySQL lo puede usar también para la clave foránea; en H2 el índice de la clave foránea solo tiene producto_id.
+CREATE INDEX idx_cliente_producto_producto_cliente ON cliente_producto (producto_id, cliente_id);
+
+-- RoleRepository.findByName (alta de usuarios) y unicidad de los roles
+CREATE UNIQUE INDEX uk_roles_name ON roles (name);
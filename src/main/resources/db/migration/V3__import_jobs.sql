@@ -0,0 +1,45 @@
+-- Importaciones masivas asíncronas de clientes (ImportJobService).
+-- El estado y el avance se confirman junto con cada lote: al reiniciar la API los trabajos
+-- PENDIENTE o EN_CURSO se reanudan desde el primer registro no procesado.
+
+CREATE TABLE import_jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    estado ENUM('PENDIENTE', 'EN_CURSO', 'COMPLETADO', 'FALLIDO', 'CANCELADO') NOT NULL,
+    usuario VARCHAR(255),
+    total INTEGER NOT NULL,
+    procesados INTEGER NOT NULL,
+    exitosos INTEGER NOT NULL,
+    fallidos INTEGER NOT NULL,
+    procesados_al_iniciar INTEGER NOT NULL,
+    mensaje VARCHAR(1000),
+    creado DATETIME(6) NOT NULL,
+    iniciado DATETIME(6),
+    finalizado DATETIME(6),
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- ImportJobRepository.findByEstadoInOrderById: trabajos a reanudar al arrancar
+CREATE INDEX idx_import_jobs_estado ON import_jobs (estado);
+
+-- Cuerpo JSON recibido, tal cual. Se borra cuando el trabajo termina.
+CREATE TABLE import_job_contenidos (
+    job_id BIGINT NOT NULL,
+    contenido LONGBLOB NOT NULL,
+    PRIMARY KEY (job_id),
+    CONSTRAINT fk_import_job_contenidos_job FOREIGN KEY (job_id) REFERENCES import_jobs (id)
+);
+
+-- Un registro por cliente rechazado. indice es la posición en el arreglo recibido (desde 0).
+CREATE TABLE import_job_errores (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    job_id BIGINT NOT NULL,
+    indice INTEGER NOT NULL,
+    dni VARCHAR(255),
+    mensaje VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_import_job_errores_job FOREIGN KEY (job_id) REFERENCES import_jobs (id)
+);
+
+-- ImportJobErrorRepository.findByJobIdOrderByIndice: errores de un trabajo, paginados por posición
+CREATE INDEX idx_import_job_errores_job_indice ON import_job_errores (job_id, indice);
@@ -0,0 +1,318 @@
+package com.banco.cliente_api.adapter.web.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
+import com.banco.cliente_api.adapter.web.dto.ClienteTelefonoUpdateDTO;
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.model.ProductoBancario;
+import com.banco.cliente_api.observability.sql.SqlRequestStats;
+import com.banco.cliente_api.repository.ClienteRepository;
+import com.banco.cliente_api.repository.ProductoBancarioRepository;
+import com.banco.cliente_api.security.entity.EnumRole;
+import com.banco.cliente_api.security.entity.Role;
+import com.banco.cliente_api.security.payload.request.LoginRequest;
+import com.banco.cliente_api.security.payload.request.SignupRequest;
+import com.banco.cliente_api.security.repository.RoleRepository;
+import com.banco.cliente_api.security.repository.UsuarioBancoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Presupuesto de sentencias SQL y de bytes asignados por solicitud para cada endpoint de ClienteController,
+ * con un dataset fijo (CLIENTES_BASE clientes con dos productos cada uno). Los presupuestos están en
+ * src/test/resources/performance-budgets.properties; un N+1 o una explosión de asignaciones hace fallar el test.
+ * - Sentencias: las cuenta datasource-proxy (SqlRequestStats), incluye la carga del usuario autenticado.
+ * - Bytes: asignados por el hilo que atiende la solicitud (MockMvc la atiende en el hilo del test), mínimo
+ *   de MEDICIONES solicitudes tras CALENTAMIENTO solicitudes para descartar la compilación JIT y las cachés frías.
+ */
+// Sin límite de tasa: los endpoints batch se repiten más veces de las que permite el grupo "batch"
+@SpringBootTest(properties = "banco.app.ratelimit.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test") // Los presupuestos de bytes se midieron con H2 y su driver
+public class ClienteControllerBudgetTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteControllerBudgetTest.class);
+
+    private static final String PRESUPUESTOS = "/performance-budgets.properties";
+    private static final int CLIENTES_BASE = 50;
+    private static final int TAMANIO_LOTE = 10;
+    private static final int CALENTAMIENTO = 15;
+    private static final int MEDICIONES = 5;
+    // DNIs de los clientes base y de los creados por cada test (altas y clientes a eliminar)
+    private static final long PRIMER_DNI_BASE = 30_000_000L;
+    private static final long PRIMER_DNI_EXTRA = 40_000_000L;
+
+    private static final String USERNAME = "budgetadmin";
+    private static final String PASSWORD = "password123";
+
+    private static Properties presupuestos;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private ProductoBancarioRepository productoBancarioRepository;
+    @Autowired
+    private UsuarioBancoRepository usuarioBancoRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String token;
+
+    @BeforeAll
+    static void cargarPresupuestos() throws IOException {
+        presupuestos = new Properties();
+        try (InputStream in = ClienteControllerBudgetTest.class.getResourceAsStream(PRESUPUESTOS)) {
+            assertNotNull(in, "No se encontró " + PRESUPUESTOS);
+            presupuestos.load(in);
+        }
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        clienteRepository.deleteAllInBatch();
+        for (EnumRole rol : EnumRole.values()) {
+            if (roleRepository.findByName(rol).isEmpty()) {
+                roleRepository.save(new Role(null, rol));
+            }
+        }
+        for (String codigo : List.of("CJAHRR", "TJCREDITO")) {
+            if (productoBancarioRepository.findByCodigo(codigo).isEmpty()) {
+                productoBancarioRepository.save(new ProductoBancario(null, codigo, codigo));
+            }
+        }
+        if (!usuarioBancoRepository.existsByUsername(USERNAME)) {
+            mockMvc.perform(post("/api/auth/signup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new SignupRequest(USERNAME, PASSWORD, Set.of("admin")))))
+                    .andExpect(status().isOk());
+        }
+        MvcResult signin = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(USERNAME, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = "Bearer " + objectMapper.readTree(signin.getResponse().getContentAsString()).get("token").asText();
+        sembrar(PRIMER_DNI_BASE, CLIENTES_BASE);
+    }
+
+    @Test
+    void testPresupuestos_CubrenTodosLosEndpoints() {
+        for (Method method : ClienteController.class.getDeclaredMethods()) {
+            if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                assertNotNull(presupuestos.getProperty(method.getName() + ".sentencias"),
+                        "Falta el presupuesto de sentencias de " + method.getName());
+                assertNotNull(presupuestos.getProperty(method.getName() + ".bytes"),
+                        "Falta el presupuesto de bytes de " + method.getName());
+            }
+        }
+    }
+
+    @Test
+    void testCrearCliente() throws Exception {
+        verificar("crearCliente", status().isCreated(), i -> post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(clienteRequest(PRIMER_DNI_EXTRA + i))));
+    }
+
+    @Test
+    void testCrearClientesBatch() throws Exception {
+        verificar("crearClientesBatch", status().isCreated(), i -> post("/api/clientes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(lote(i, k -> clienteRequest(PRIMER_DNI_EXTRA + k)))));
+    }
+
+    @Test
+    void testCrearClientesBatchParcial() throws Exception {
+        verificar("crearClientesBatchParcial", status().isOk(), i -> post("/api/clientes/batch?modo=parcial")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(lote(i, k -> clienteRequest(PRIMER_DNI_EXTRA + k)))));
+    }
+
+    @Test
+    void testGetAllClientes() throws Exception {
+        verificar("getAllClientes", status().isOk(), i -> get("/api/clientes"));
+    }
+
+    @Test
+    void testGetClienteByDni() throws Exception {
+        verificar("getClienteByDni", status().isOk(), i -> get("/api/clientes/" + dniBase(i)));
+    }
+
+    @Test
+    void testGetClientesByProductoBancario() throws Exception {
+        verificar("getClientesByProductoBancario", status().isOk(), i -> get("/api/clientes/por-producto/CJAHRR"));
+    }
+
+    @Test
+    void testUpdateClienteTelefono() throws Exception {
+        verificar("updateClienteTelefono", status().isOk(), i -> patch("/api/clientes/" + dniBase(i) + "/telefono")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new ClienteTelefonoUpdateDTO(dniBase(i), "11" + (40_000_000 + i)))));
+    }
+
+    @Test
+    void testUpdateClientesTelefonoBatch() throws Exception {
+        verificar("updateClientesTelefonoBatch", status().isOk(), i -> patch("/api/clientes/telefono/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(lote(i, k -> new ClienteTelefonoUpdateDTO(dniBase(k), "11" + (40_000_000 + k))))));
+    }
+
+    @Test
+    void testDeleteClienteByDni() throws Exception {
+        sembrar(PRIMER_DNI_EXTRA, CALENTAMIENTO + MEDICIONES);
+        verificar("deleteClienteByDni", status().isOk(), i -> delete("/api/clientes/" + (PRIMER_DNI_EXTRA + i)));
+    }
+
+    @Test
+    void testDeleteClientesBatch() throws Exception {
+        sembrar(PRIMER_DNI_EXTRA, (CALENTAMIENTO + MEDICIONES) * TAMANIO_LOTE);
+        verificar("deleteClientesBatch", status().isOk(), i -> delete("/api/clientes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(lote(i, k -> String.valueOf(PRIMER_DNI_EXTRA + k)))));
+    }
+
+    /**
+     * Ejecuta la solicitud i-ésima CALENTAMIENTO + MEDICIONES veces y compara el peor caso de sentencias
+     * y el mínimo de bytes asignados contra el presupuesto del endpoint.
+     */
+    private void verificar(String endpoint, ResultMatcher esperado, IntFunction<MockHttpServletRequestBuilder> solicitud)
+            throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        SqlRequestStats peor = null;
+        long bytes = Long.MAX_VALUE;
+        for (int i = 0; i < CALENTAMIENTO + MEDICIONES; i++) {
+            MockHttpServletRequestBuilder request = solicitud.apply(i).header("Authorization", token);
+            long antes = threadMXBean.getThreadAllocatedBytes(threadId);
+            MvcResult result = mockMvc.perform(request).andExpect(esperado).andReturn();
+            long asignados = threadMXBean.getThreadAllocatedBytes(threadId) - antes;
+
+            if (i >= CALENTAMIENTO) {
+                SqlRequestStats stats = (SqlRequestStats) result.getRequest().getAttribute(SqlRequestStats.ATRIBUTO);
+                assertNotNull(stats, "La instrumentación SQL no está activa (banco.app.sql.enabled)");
+                if (peor == null || stats.getSentencias() > peor.getSentencias()) {
+                    peor = stats;
+                }
+                bytes = Math.min(bytes, asignados);
+            }
+        }
+
+        int sentencias = peor.getSentencias();
+        logger.info("Presupuesto {}: {} sentencias, {} bytes por solicitud", endpoint, sentencias, bytes);
+        int maxSentencias = Integer.parseInt(presupuesto(endpoint + ".sentencias"));
+        long maxBytes = Long.parseLong(presupuesto(endpoint + ".bytes"));
+        assertTrue(sentencias <= maxSentencias, String.format(
+                "%s ejecutó %d sentencias SQL por solicitud (presupuesto %d). Repetidas: %s",
+                endpoint, sentencias, maxSentencias, peor.plantillasRepetidas(1)));
+        assertTrue(bytes <= maxBytes, String.format(
+                "%s asignó %d bytes por solicitud (presupuesto %d)", endpoint, bytes, maxBytes));
+    }
+
+    private String presupuesto(String clave) {
+        String valor = presupuestos.getProperty(clave);
+        assertNotNull(valor, "Falta " + clave + " en " + PRESUPUESTOS);
+        return valor.trim();
+    }
+
+    private void sembrar(long primerDni, int cantidad) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Set<ProductoBancario> productos = Set.of(
+                    productoBancarioRepository.findByCodigo("CJAHRR").orElseThrow(),
+                    productoBancarioRepository.findByCodigo("TJCREDITO").orElseThrow());
+            List<Cliente> clientes = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                clientes.add(Cliente.builder()
+                        .dni(String.valueOf(primerDni + i))
+                        .nombre("Presupuesto")
+                        .apellido("Cliente " + i)
+                        .calle("Av. Corrientes")
+                        .numero(1000 + i)
+                        .codigoPostal("C1043")
+                        .telefono("1122334455")
+                        .celular("1566778899")
+                        .productosBancarios(new HashSet<>(productos))
+                        .build());
+            }
+            clienteRepository.saveAll(clientes);
+        });
+    }
+
+    private String dniBase(int i) {
+        return String.valueOf(PRIMER_DNI_BASE + (i % CLIENTES_BASE));
+    }
+
+    // Lote de la iteración i: elementos i * TAMANIO_LOTE .. (i + 1) * TAMANIO_LOTE - 1, sin repetir entre iteraciones
+    private <T> List<T> lote(int i, IntFunction<T> elemento) {
+        List<T> lote = new ArrayList<>(TAMANIO_LOTE);
+        for (int j = 0; j < TAMANIO_LOTE; j++) {
+            lote.add(elemento.apply(i * TAMANIO_LOTE + j));
+        }
+        return lote;
+    }
+
+    private ClienteRequestDTO clienteRequest(long dni) {
+        ClienteRequestDTO dto = new ClienteRequestDTO();
+        dto.setDni(String.valueOf(dni));
+        dto.setNombre("Presupuesto");
+        dto.setApellido("Alta");
+        dto.setCalle("Av. Corrientes");
+        dto.setNumero(1234);
+        dto.setCodigoPostal("C1043");
+        dto.setTelefono("1122334455");
+        dto.setCelular("1566778899");
+        dto.setProductosBancariosCodigos(List.of("CJAHRR", "TJCREDITO"));
+        return dto;
+    }
+
+    private String json(Object cuerpo) {
+        try {
+            return objectMapper.writeValueAsString(cuerpo);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.banco.cliente_api.adapter.web.controller;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -18,11 +23,13 @@ import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.banco.cliente_api.adapter.web.dto.ClienteRequestDTO;
@@ -32,14 +39,20 @@ import com.banco.cliente_api.repository.ClienteRepository;
 import com.banco.cliente_api.repository.ProductoBancarioRepository;
 import com.banco.cliente_api.security.entity.EnumRole;
 import com.banco.cliente_api.security.entity.Role;
+import com.banco.cliente_api.security.idempotency.IdempotencyFilter;
 import com.banco.cliente_api.security.payload.request.LoginRequest;
+import com.banco.cliente_api.security.payload.request.RevokeTokenRequest;
 import com.banco.cliente_api.security.payload.request.SignupRequest;
+import com.banco.cliente_api.security.payload.request.TokenRefreshRequest;
 import com.banco.cliente_api.security.repository.RoleRepository;
 import com.banco.cliente_api.security.repository.UsuarioBancoRepository;
+import com.banco.cliente_api.util.JsonArrayChunkReader;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false) // Habilita el registro Prometheus (deshabilitado por defecto en tests)
 //@ActiveProfiles("test") // Descomentar si usas un perfil de test específico
 public class ClienteControllerIntegrationTest {
 
@@ -57,6 +70,8 @@ public class ClienteControllerIntegrationTest {
     private ProductoBancarioRepository productoBancarioRepository;
     @Autowired
     private PasswordEncoder encoder;
+    @Autowired
+    private JsonArrayChunkReader jsonArrayChunkReader;
 
     private String adminToken;
     private String moderatorToken;
@@ -160,6 +175,43 @@ public class ClienteControllerIntegrationTest {
                 .andExpect(jsonPath("$.productosBancarios", hasSize(2)));
     }
 
+    @Test
+    void testCrearCliente_ConIdempotencyKey_ReintentoRepiteLaRespuesta() throws Exception {
+        ClienteRequestDTO newCliente = new ClienteRequestDTO();
+        newCliente.setDni("11111112");
+        newCliente.setNombre("Cliente");
+        newCliente.setApellido("Idempotente");
+        newCliente.setProductosBancariosCodigos(List.of("CA"));
+        String body = objectMapper.writeValueAsString(newCliente);
+
+        String primera = mockMvc.perform(post("/api/clientes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header(IdempotencyFilter.CABECERA, "alta-11111112")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        // El reintento con la misma clave no vuelve a ejecutar el alta (que fallaría por DNI repetido)
+        mockMvc.perform(post("/api/clientes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header(IdempotencyFilter.CABECERA, "alta-11111112")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.CABECERA_REPETIDA, "true"))
+                .andExpect(content().json(primera));
+
+        // Con otra clave es una solicitud nueva
+        mockMvc.perform(post("/api/clientes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header(IdempotencyFilter.CABECERA, "alta-11111112-bis")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(IdempotencyFilter.CABECERA_REPETIDA));
+    }
+
     @Test
     void testCrearClientes_AdminRole_Success_Multiple() throws Exception {
         ClienteRequestDTO cliente1 = new ClienteRequestDTO();
@@ -238,6 +290,137 @@ public class ClienteControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testCrearClientes_ElementoInvalido_BadRequest() throws Exception {
+        ClienteRequestDTO valido = clienteBatch("12121212");
+        ClienteRequestDTO invalido = clienteBatch("12121213");
+        invalido.setNombre("");
+
+        mockMvc.perform(post("/api/clientes/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(valido, invalido))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("'[1].nombre'")));
+        mockMvc.perform(post("/api/clientes/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(valido)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBatch_PorBloques_MantieneElOrdenYRechazaLotesDemasiadoGrandes() throws Exception {
+        ReflectionTestUtils.setField(jsonArrayChunkReader, "tamanioBloque", 2);
+        ReflectionTestUtils.setField(jsonArrayChunkReader, "maxElementos", 5);
+        try {
+            List<ClienteRequestDTO> clientes = List.of(clienteBatch("13131310"), clienteBatch("13131311"),
+                    clienteBatch("13131312"), clienteBatch("13131313"), clienteBatch("13131314"));
+            mockMvc.perform(post("/api/clientes/batch")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(clientes)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(5)))
+                    .andExpect(jsonPath("$[2].dni").value("13131312"))
+                    .andExpect(jsonPath("$[4].dni").value("13131314"));
+
+            // El sexto elemento pasa el máximo: los dos primeros bloques (4 DNIs) ya se borraron, el quinto no
+            mockMvc.perform(delete("/api/clientes/batch")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of("13131310", "13131311", "13131312",
+                                    "13131313", "13131314", "13131315"))))
+                    .andExpect(status().isPayloadTooLarge())
+                    .andExpect(jsonPath("$.procesados").value(4))
+                    .andExpect(jsonPath("$.confirmados", hasSize(4)))
+                    .andExpect(jsonPath("$.confirmados[3].dni").value("13131313"))
+                    .andExpect(jsonPath("$.confirmados[3].status").value("eliminado"));
+            assertFalse(clienteRepository.existsByDni("13131313"));
+            assertTrue(clienteRepository.existsByDni("13131314"));
+
+            // Un Content-Length mayor que maxBytes se rechaza antes de leer el primer elemento
+            ReflectionTestUtils.setField(jsonArrayChunkReader, "maxBytes", 10L);
+            mockMvc.perform(delete("/api/clientes/batch")
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of("13131314"))))
+                    .andExpect(status().isPayloadTooLarge())
+                    .andExpect(jsonPath("$.procesados").doesNotExist());
+            assertTrue(clienteRepository.existsByDni("13131314"));
+        } finally {
+            ReflectionTestUtils.setField(jsonArrayChunkReader, "tamanioBloque", 100);
+            ReflectionTestUtils.setField(jsonArrayChunkReader, "maxElementos", 1000);
+            ReflectionTestUtils.setField(jsonArrayChunkReader, "maxBytes", 1_048_576L);
+        }
+    }
+
+    @Test
+    void testCrearClientes_LoteGrande_EnParaleloYEnOrden_OInvalidoSinCrearNinguno() throws Exception {
+        // Supera banco.app.batch.paralelo.umbral: se reparte por DNI entre varias transacciones
+        List<ClienteRequestDTO> clientes = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            clientes.add(clienteBatch(String.valueOf(14_000_000 + i)));
+        }
+        mockMvc.perform(post("/api/clientes/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clientes)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(80)))
+                .andExpect(jsonPath("$[0].dni").value("14000000"))
+                .andExpect(jsonPath("$[79].dni").value("14000079"));
+
+        List<ClienteRequestDTO> conError = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            conError.add(clienteBatch(String.valueOf(15_000_000 + i)));
+        }
+        conError.get(60).setProductosBancariosCodigos(List.of("NOEXISTE"));
+        mockMvc.perform(post("/api/clientes/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(conError)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("NOEXISTE")));
+        assertFalse(clienteRepository.existsByDni("15000000"));
+    }
+
+    @Test
+    void testCrearClientesParcial_InformaElResultadoDeCadaElemento() throws Exception {
+        ClienteRequestDTO conProductoInexistente = clienteBatch("16161612");
+        conProductoInexistente.setProductosBancariosCodigos(List.of("NOEXISTE"));
+        ClienteRequestDTO sinNombre = clienteBatch("16161614");
+        sinNombre.setNombre("");
+        List<ClienteRequestDTO> clientes = List.of(clienteBatch("16161611"), conProductoInexistente,
+                clienteBatch("16161611"), sinNombre, clienteBatch("16161615"));
+
+        mockMvc.perform(post("/api/clientes/batch?modo=parcial")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clientes)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].status").value("creado"))
+                .andExpect(jsonPath("$[1].message").value(org.hamcrest.Matchers.containsString("NOEXISTE")))
+                .andExpect(jsonPath("$[2].message").value(org.hamcrest.Matchers.containsString("repetido")))
+                .andExpect(jsonPath("$[3].message").value(org.hamcrest.Matchers.containsString("nombre")))
+                .andExpect(jsonPath("$[4].indice").value(4))
+                .andExpect(jsonPath("$[4].status").value("creado"));
+
+        assertTrue(clienteRepository.existsByDni("16161611"));
+        assertTrue(clienteRepository.existsByDni("16161615"));
+        assertFalse(clienteRepository.existsByDni("16161612"));
+    }
+
+    private ClienteRequestDTO clienteBatch(String dni) {
+        ClienteRequestDTO cliente = new ClienteRequestDTO();
+        cliente.setDni(dni);
+        cliente.setNombre("Bloque");
+        cliente.setApellido("Apellido " + dni);
+        cliente.setProductosBancariosCodigos(List.of("CJAHRR"));
+        return cliente;
+    }
+
     // --- Tests de Recuperación (GET) ---
    
     @Test
@@ -632,4 +815,52 @@ public class ClienteControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("producto bancario")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMetricasPrometheus_SoloAdmin() throws Exception {
+        mockMvc.perform(get("/api/clientes")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("http_server_requests_seconds")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("banco_jwt_verificacion_seconds")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("hikaricp_connections_active")));
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRevocarToken_ConRefreshToken_CierraLaSesion() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(USER_USERNAME, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode sesion = objectMapper.readTree(login.getResponse().getContentAsString());
+        RevokeTokenRequest revocacion = new RevokeTokenRequest(sesion.get("token").asText(), null,
+                sesion.get("refreshToken").asText(), null);
+
+        mockMvc.perform(post("/api/admin/tokens/revoke")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(revocacion)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/clientes")
+                        .header("Authorization", "Bearer " + sesion.get("token").asText()))
+                .andExpect(status().isUnauthorized());
+        // El refresh token de la sesión revocada ya no emite un JWT nuevo
+        mockMvc.perform(post("/api/auth/refreshtoken")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenRefreshRequest(sesion.get("refreshToken").asText()))))
+                .andExpect(status().isForbidden());
+    }
+}
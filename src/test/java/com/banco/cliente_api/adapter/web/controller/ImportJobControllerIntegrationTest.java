@@ -0,0 +1,359 @@
+package com.banco.cliente_api.adapter.web.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.banco.cliente_api.adapter.web.dto.ImportResumenDTO;
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.model.ImportJob;
+import com.banco.cliente_api.model.ImportJobContenido;
+import com.banco.cliente_api.model.ImportJobEstado;
+import com.banco.cliente_api.model.ProductoBancario;
+import com.banco.cliente_api.repository.ClienteRepository;
+import com.banco.cliente_api.repository.ImportJobContenidoRepository;
+import com.banco.cliente_api.repository.ImportJobRepository;
+import com.banco.cliente_api.repository.ProductoBancarioRepository;
+import com.banco.cliente_api.security.entity.EnumRole;
+import com.banco.cliente_api.security.entity.Role;
+import com.banco.cliente_api.security.payload.request.LoginRequest;
+import com.banco.cliente_api.security.payload.request.SignupRequest;
+import com.banco.cliente_api.security.repository.RoleRepository;
+import com.banco.cliente_api.security.repository.UsuarioBancoRepository;
+import com.banco.cliente_api.service.ImportJobService;
+import com.banco.cliente_api.service.ImportStreamService;
+import com.banco.cliente_api.service.NdjsonImportRegistroReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Lotes chicos para que una importación de pocos registros pase por varias transacciones
+@SpringBootTest(properties = {"banco.app.ratelimit.enabled=false", "banco.app.importacion.tamanioLote=10"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test") // H2 en memoria: setUp vacía la tabla de clientes
+public class ImportJobControllerIntegrationTest {
+
+    private static final String URL = "/api/clientes/importaciones";
+    private static final String USERNAME = "importadmin";
+    private static final String PASSWORD = "password123";
+    private static final long PRIMER_DNI = 50_000_000L;
+    private static final long ESPERA_MAXIMA_MS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private ProductoBancarioRepository productoBancarioRepository;
+    @Autowired
+    private UsuarioBancoRepository usuarioBancoRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private ImportJobRepository importJobRepository;
+    @Autowired
+    private ImportJobContenidoRepository importJobContenidoRepository;
+    @Autowired
+    private ImportJobService importJobService;
+    @Autowired
+    private ImportStreamService importStreamService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String token;
+
+    @BeforeEach
+    void setup() throws Exception {
+        clienteRepository.deleteAllInBatch();
+        for (EnumRole rol : EnumRole.values()) {
+            if (roleRepository.findByName(rol).isEmpty()) {
+                roleRepository.save(new Role(null, rol));
+            }
+        }
+        for (String codigo : List.of("CJAHRR", "TJCREDITO")) {
+            if (productoBancarioRepository.findByCodigo(codigo).isEmpty()) {
+                productoBancarioRepository.save(new ProductoBancario(null, codigo, codigo));
+            }
+        }
+        if (!usuarioBancoRepository.existsByUsername(USERNAME)) {
+            mockMvc.perform(post("/api/auth/signup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new SignupRequest(USERNAME, PASSWORD, Set.of("admin")))))
+                    .andExpect(status().isOk());
+        }
+        MvcResult signin = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(USERNAME, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = "Bearer " + objectMapper.readTree(signin.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    void testImportacion_ProcesaPorLotesEInformaErroresPorRegistro() throws Exception {
+        ArrayNode clientes = clientes(0, 25);
+        ((ObjectNode) clientes.get(3)).put("dni", "abc");
+        ((ObjectNode) clientes.get(7)).putArray("productosBancariosCodigos").add("NOEXISTE");
+        ((ObjectNode) clientes.get(12)).put("dni", clientes.get(11).get("dni").asText());
+        ((ObjectNode) clientes.get(21)).put("numero", "sin número");
+        // El DNI del registro 15 ya está dado de alta
+        clienteRepository.save(Cliente.builder().dni(clientes.get(15).get("dni").asText()).nombre("Ya").apellido("Existe").build());
+
+        MvcResult result = mockMvc.perform(post(URL)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(clientes)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.total").value(25))
+                .andReturn();
+        long id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+        JsonNode job = esperarFin(id);
+        assertEquals(ImportJobEstado.COMPLETADO.name(), job.get("estado").asText());
+        assertEquals(25, job.get("procesados").asInt());
+        assertEquals(20, job.get("exitosos").asInt());
+        assertEquals(5, job.get("fallidos").asInt());
+        assertEquals(100.0, job.get("porcentaje").asDouble());
+        assertTrue(job.get("etaSegundos").isNull());
+
+        JsonNode errores = objectMapper.readTree(mockMvc.perform(get(URL + "/" + id + "/errores")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        List<Integer> indices = new ArrayList<>();
+        errores.forEach(error -> indices.add(error.get("indice").asInt()));
+        assertEquals(List.of(3, 7, 12, 15, 21), indices);
+        assertTrue(errores.get(1).get("message").asText().contains("NOEXISTE"));
+        assertTrue(errores.get(2).get("message").asText().contains("repetido"));
+        assertTrue(errores.get(3).get("message").asText().contains("ya existe"));
+
+        assertTrue(clienteRepository.existsByDni(clientes.get(0).get("dni").asText()));
+        assertTrue(clienteRepository.existsByDni(clientes.get(24).get("dni").asText()));
+        assertFalse(importJobContenidoRepository.existsById(id), "El contenido se borra al terminar");
+    }
+
+    @Test
+    void testImportacion_CuerpoQueNoEsUnArreglo_DevuelveBadRequest() throws Exception {
+        mockMvc.perform(post(URL)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(clientes(0, 1).get(0))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(URL)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(URL)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"dni\": \"12345678\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testImportacion_CuerpoMayorQueElMaximo_DevuelvePayloadTooLargeSinRegistrarla() throws Exception {
+        byte[] contenido = objectMapper.writeValueAsBytes(clientes(700, 5));
+        long trabajos = importJobRepository.count();
+        ReflectionTestUtils.setField(importJobService, "maxBytes", contenido.length - 1L);
+        try {
+            mockMvc.perform(post(URL)
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(contenido))
+                    .andExpect(status().isPayloadTooLarge());
+        } finally {
+            ReflectionTestUtils.setField(importJobService, "maxBytes", 104_857_600L);
+        }
+        assertEquals(trabajos, importJobRepository.count());
+    }
+
+    @Test
+    void testReanudarPendientes_ContinuaDesdeElPrimerRegistroSinConfirmar() throws Exception {
+        // Estado que deja un reinicio a mitad de camino: el primer lote (10 registros) ya confirmado
+        ArrayNode clientes = clientes(100, 15);
+        ImportJob job = new ImportJob(USERNAME, 15);
+        job.iniciar();
+        job.avanzar(10, 0);
+        job = importJobRepository.save(job);
+        importJobContenidoRepository.save(new ImportJobContenido(job.getId(), BlobProxy.generateProxy(objectMapper.writeValueAsBytes(clientes))));
+
+        importJobService.reanudarPendientes();
+
+        JsonNode resultado = esperarFin(job.getId());
+        assertEquals(ImportJobEstado.COMPLETADO.name(), resultado.get("estado").asText());
+        assertEquals(15, resultado.get("procesados").asInt());
+        assertEquals(15, resultado.get("exitosos").asInt());
+        assertFalse(clienteRepository.existsByDni(clientes.get(9).get("dni").asText()));
+        assertTrue(clienteRepository.existsByDni(clientes.get(10).get("dni").asText()));
+        assertTrue(clienteRepository.existsByDni(clientes.get(14).get("dni").asText()));
+    }
+
+    @Test
+    void testCancelar_TrabajoPendiente_YaNoSePuedeCancelarDeNuevo() throws Exception {
+        ImportJob job = importJobRepository.save(new ImportJob(USERNAME, 1));
+        importJobContenidoRepository.save(new ImportJobContenido(job.getId(), BlobProxy.generateProxy(objectMapper.writeValueAsBytes(clientes(200, 1)))));
+
+        mockMvc.perform(post(URL + "/" + job.getId() + "/cancelar").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado").value(ImportJobEstado.CANCELADO.name()));
+        assertFalse(importJobContenidoRepository.existsById(job.getId()));
+
+        mockMvc.perform(post(URL + "/" + job.getId() + "/cancelar").header("Authorization", token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(URL + "/999999").header("Authorization", token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testImportarStream_Csv_EscribeUnResultadoPorRegistroYElResumen() throws Exception {
+        StringBuilder csv = new StringBuilder("nombre,apellido,dni,numero,productosBancariosCodigos\n");
+        for (int i = 0; i < 23; i++) {
+            csv.append("Stream,\"Apellido, ").append(i).append("\",").append(PRIMER_DNI + 300 + i)
+                    .append(",").append(i + 1).append(",CJAHRR|TJCREDITO\n");
+        }
+        csv.append("Stream,Invalido,abc,1,CJAHRR\n");          // 23: DNI inválido
+        csv.append("Stream,Corta,").append(PRIMER_DNI + 400).append("\n"); // 24: faltan columnas
+        csv.append("Stream,Producto,").append(PRIMER_DNI + 401).append(",1,NOEXISTE\n"); // 25
+
+        List<JsonNode> lineas = importarStream(URL + "/stream", "text/csv", csv.toString());
+        assertEquals(27, lineas.size());
+        assertEquals(0, lineas.get(0).get("indice").asInt());
+        assertEquals("creado", lineas.get(22).get("status").asText());
+        assertEquals("error", lineas.get(23).get("status").asText());
+        assertTrue(lineas.get(24).get("message").asText().contains("columnas"));
+        assertTrue(lineas.get(25).get("message").asText().contains("NOEXISTE"));
+        JsonNode resumen = lineas.get(26).get("resumen");
+        assertEquals(26, resumen.get("total").asInt());
+        assertEquals(23, resumen.get("exitosos").asInt());
+        assertEquals(3, resumen.get("fallidos").asInt());
+        assertTrue(resumen.get("error").isNull());
+
+        assertEquals("Apellido, 7", clienteRepository.findByDni(String.valueOf(PRIMER_DNI + 307)).orElseThrow().getApellido());
+    }
+
+    @Test
+    void testImportarStream_Ndjson_LineaMalFormadaSoloInvalidaSuRegistro() throws Exception {
+        ArrayNode clientes = clientes(500, 12);
+        StringBuilder ndjson = new StringBuilder();
+        for (JsonNode cliente : clientes) {
+            ndjson.append(objectMapper.writeValueAsString(cliente)).append("\n");
+        }
+        ndjson.append("{\"dni\": \"12345678\"\n\n[1, 2]\n");
+
+        List<JsonNode> lineas = importarStream(URL + "/stream?soloErrores=true", MediaType.APPLICATION_NDJSON_VALUE, ndjson.toString());
+        assertEquals(3, lineas.size(), "Solo los dos errores y el resumen");
+        assertEquals(12, lineas.get(0).get("indice").asInt());
+        assertEquals(13, lineas.get(1).get("indice").asInt());
+        assertEquals(12, lineas.get(2).get("resumen").get("exitosos").asInt());
+        assertTrue(clienteRepository.existsByDni(clientes.get(11).get("dni").asText()));
+    }
+
+    @Test
+    void testImportarStream_CsvSinColumnasObligatorias_DevuelveBadRequest() throws Exception {
+        mockMvc.perform(post(URL + "/stream")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .content("nombre,apellido\nJuan,Perez\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testImportarStream_ConOpenInView_NoRetieneEntidadesEntreLotes() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (JsonNode cliente : clientes(600, 25)) {
+            ndjson.append(objectMapper.writeValueAsString(cliente)).append("\n");
+        }
+
+        // Lo mismo que hace OpenEntityManagerInViewInterceptor: un EntityManager ligado al hilo durante toda la solicitud
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        List<Integer> entidadesPorLote = new ArrayList<>();
+        try {
+            ImportResumenDTO resumen = importStreamService.importar(
+                    new NdjsonImportRegistroReader(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+                            StandardCharsets.UTF_8, objectMapper),
+                    resultados -> entidadesPorLote.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount()));
+            assertEquals(25, resumen.getExitosos());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        assertEquals(List.of(0, 0, 0), entidadesPorLote, "Tres lotes de 10 y el contexto de persistencia vacío después de cada uno");
+    }
+
+    private List<JsonNode> importarStream(String url, String tipo, String contenido) throws Exception {
+        String respuesta = mockMvc.perform(post(url)
+                        .header("Authorization", token)
+                        .contentType(tipo)
+                        .content(contenido.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> lineas = new ArrayList<>();
+        for (String linea : respuesta.split("\n")) {
+            lineas.add(objectMapper.readTree(linea));
+        }
+        return lineas;
+    }
+
+    private ArrayNode clientes(int desde, int cantidad) {
+        ArrayNode clientes = objectMapper.createArrayNode();
+        for (int i = desde; i < desde + cantidad; i++) {
+            ObjectNode cliente = clientes.addObject();
+            cliente.put("dni", String.valueOf(PRIMER_DNI + i));
+            cliente.put("nombre", "Importado");
+            cliente.put("apellido", "Numero" + i);
+            cliente.put("numero", 100 + i);
+            cliente.putArray("productosBancariosCodigos").add("CJAHRR").add("TJCREDITO");
+        }
+        return clientes;
+    }
+
+    private JsonNode esperarFin(long id) throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        while (true) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get(URL + "/" + id).header("Authorization", token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (ImportJobEstado.valueOf(job.get("estado").asText()).isTerminado()) {
+                return job;
+            }
+            assertTrue(System.currentTimeMillis() < limite, "La importación no terminó: " + job);
+            Thread.sleep(50);
+        }
+    }
+}
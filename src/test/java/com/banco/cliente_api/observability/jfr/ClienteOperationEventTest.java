@@ -0,0 +1,82 @@
+package com.banco.cliente_api.observability.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.repository.ClienteRepository;
+import com.banco.cliente_api.repository.ProductoBancarioRepository;
+import com.banco.cliente_api.service.ClienteService;
+import com.banco.cliente_api.service.ParticionadorAltas;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class ClienteOperationEventTest {
+
+    private static final String EVENTO = "com.banco.cliente_api.ClienteOperation";
+
+    private final ClienteRepository clienteRepository = mock(ClienteRepository.class);
+    private final ClienteService clienteService =
+            new ClienteService(clienteRepository, mock(ProductoBancarioRepository.class), mock(ParticionadorAltas.class));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPerfilDeLaApi_RegistraOperacionesDeClienteService() throws Exception {
+        when(clienteRepository.findByDni("12345678")).thenReturn(Optional.of(new Cliente()));
+
+        List<RecordedEvent> eventos = grabar(configuracionDeLaApi());
+
+        RecordedEvent evento = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals(EVENTO))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("getClienteByDni", evento.getString("operacion"));
+        assertEquals(1, evento.getInt("dniCount"));
+        assertEquals(0, evento.getInt("productCount"));
+        assertTrue(evento.getBoolean("exitosa"));
+    }
+
+    @Test
+    void testPerfilPorDefectoDelJdk_NoRegistraEventosDeLaApi() throws Exception {
+        when(clienteRepository.findByDni("12345678")).thenReturn(Optional.empty());
+
+        List<RecordedEvent> eventos = grabar(Configuration.getConfiguration("default"));
+
+        assertTrue(eventos.stream().noneMatch(e -> e.getEventType().getName().startsWith("com.banco.cliente_api.")));
+    }
+
+    private List<RecordedEvent> grabar(Configuration configuracion) throws Exception {
+        Path archivo = tempDir.resolve("grabacion.jfr");
+        try (Recording recording = new Recording(configuracion)) {
+            recording.start();
+            clienteService.getClienteByDni("12345678");
+            recording.stop();
+            recording.dump(archivo);
+        }
+        assertTrue(Files.size(archivo) > 0);
+        return RecordingFile.readAllEvents(archivo);
+    }
+
+    private static Configuration configuracionDeLaApi() throws Exception {
+        try (Reader reader = new InputStreamReader(
+                ClienteOperationEventTest.class.getResourceAsStream("/jfr/cliente-api.jfc"), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.banco.cliente_api.observability.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banco.cliente_api.observability.ApiMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+public class SqlInstrumentationListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlinstrumentation;DB_CLOSE_DELAY=-1");
+        // Umbral 0 ms: todas las sentencias cuentan como lentas
+        dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(new SqlInstrumentationListener(meterRegistry, 0))
+                .build();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS producto (id BIGINT PRIMARY KEY, codigo VARCHAR(20))");
+        }
+    }
+
+    @AfterEach
+    void limpiar() {
+        SqlRequestStats.limpiar();
+    }
+
+    @Test
+    void testAfterQuery_AcumulaPorSolicitudYDetectaPlantillaRepetida() throws Exception {
+        SqlRequestStats stats = SqlRequestStats.iniciar();
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement select = connection.prepareStatement("SELECT codigo FROM producto WHERE id = ?")) {
+            for (long id = 1; id <= 4; id++) {
+                select.setLong(1, id);
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+
+        assertEquals(4, stats.getSentencias());
+        Map<String, Integer> repetidas = stats.plantillasRepetidas(3);
+        assertEquals(Map.of("SELECT codigo FROM producto WHERE id = ?", 4), repetidas);
+        assertTrue(stats.plantillasRepetidas(4).isEmpty());
+
+        assertEquals(4, meterRegistry.get(ApiMetrics.SQL_SENTENCIAS).tag("tipo", "select").timer().count());
+        // Búsquedas por PK en H2 en memoria: duran menos de 1 ms y aun así se registran (en nanosegundos)
+        assertTrue(meterRegistry.get(ApiMetrics.SQL_SENTENCIAS).tag("tipo", "select").timer()
+                .totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(stats.getTiempoNanos() > 0);
+        assertTrue(meterRegistry.get(ApiMetrics.SQL_LENTAS).counter().count() >= 4);
+    }
+
+    @Test
+    void testFormaDeParametros_SoloTiposSinValores() throws Exception {
+        List<QueryInfo> capturadas = new ArrayList<>();
+        DataSource capturando = ProxyDataSourceBuilder.create(dataSource)
+                .afterQuery((execInfo, queryInfoList) -> capturadas.addAll(queryInfoList))
+                .build();
+
+        try (Connection connection = capturando.getConnection();
+                PreparedStatement update = connection.prepareStatement("UPDATE producto SET codigo = ? WHERE id = ?")) {
+            update.setString(1, "CA");
+            update.setNull(2, Types.BIGINT);
+            update.executeUpdate();
+        }
+
+        assertEquals(List.of("String", "null"), SqlInstrumentationListener.formaDeParametros(capturadas.get(0)));
+        assertEquals(SqlInstrumentationListener.Tipo.UPDATE, SqlInstrumentationListener.tipo("  update producto set x = 1"));
+        assertEquals(SqlInstrumentationListener.Tipo.OTRO, SqlInstrumentationListener.tipo("CREATE TABLE t (id INT)"));
+    }
+}
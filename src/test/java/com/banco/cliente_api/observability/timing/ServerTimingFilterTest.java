@@ -0,0 +1,69 @@
+package com.banco.cliente_api.observability.timing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.banco.cliente_api.observability.timing.RequestTimings.Fase;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ServerTimingFilterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testSolicitudMuestreada_AgregaCabeceraConTodasLasFases() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/clientes/por-producto/CA"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws java.io.IOException {
+                        RequestTimings timings = RequestTimings.actual();
+                        long marca = timings.iniciarAutenticacion();
+                        // La carga del usuario durante la autenticación no cuenta como db
+                        timings.agregarConsultaDb(5 * MS);
+                        timings.terminarAutenticacion(marca);
+                        timings.agregarConsultaDb(3 * MS);
+                        timings.agregar(Fase.MAPPING, 2 * MS);
+                        timings.marcarInicioSerializacion();
+                        resp.getWriter().write("[]");
+                    }
+                }));
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.contains("auth;dur="));
+        assertTrue(header.contains("db;dur=3.00"));
+        assertTrue(header.contains("mapping;dur=2.00"));
+        assertTrue(header.contains("serialization;dur="));
+        assertTrue(header.contains("total;dur="));
+        assertEquals("[]", response.getContentAsString());
+        assertNull(RequestTimings.actual());
+    }
+
+    @Test
+    void testSolicitudNoMuestreada_SinCabeceraNiTimings() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(0.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/clientes"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                        assertNull(RequestTimings.actual());
+                    }
+                }));
+
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+}
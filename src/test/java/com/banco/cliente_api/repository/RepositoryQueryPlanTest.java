@@ -0,0 +1,128 @@
+package com.banco.cliente_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.banco.cliente_api.model.Cliente;
+import com.banco.cliente_api.model.ImportJob;
+import com.banco.cliente_api.model.ImportJobEstado;
+import com.banco.cliente_api.model.ProductoBancario;
+import com.banco.cliente_api.security.entity.EnumRole;
+import com.banco.cliente_api.security.entity.Role;
+import com.banco.cliente_api.security.entity.UsuarioBanco;
+import com.banco.cliente_api.security.repository.RoleRepository;
+import com.banco.cliente_api.security.repository.UsuarioBancoRepository;
+
+/**
+ * Verifica con EXPLAIN (H2 en modo MySQL, esquema de las migraciones de Flyway) que ninguna sentencia con
+ * condición que generan los repositorios recorra una tabla completa. Las sentencias se capturan con un
+ * StatementInspector de Hibernate mientras se ejecuta cada método de repositorio que usa la API,
+ * incluidas las cargas diferidas de las colecciones y el borrado en cascada de la tabla intermedia.
+ * Las sentencias sin WHERE (findAll, inserts) quedan fuera: recorren todo por definición.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.banco.cliente_api.repository.RepositoryQueryPlanTest$CapturaSql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // Usa el H2 del perfil test con Flyway
+@ActiveProfiles("test")
+public class RepositoryQueryPlanTest {
+
+    private static final String RECORRIDO_COMPLETO = ".tablescan";
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private ProductoBancarioRepository productoBancarioRepository;
+    @Autowired
+    private ImportJobRepository importJobRepository;
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UsuarioBancoRepository usuarioBancoRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testConsultasDeRepositorios_NoRecorrenTablasCompletas() {
+        ProductoBancario caja = productoBancarioRepository.save(new ProductoBancario(null, "PLAN_CJA", "Caja"));
+        productoBancarioRepository.save(new ProductoBancario(null, "PLAN_TJC", "Tarjeta"));
+        Cliente cliente = Cliente.builder().dni("55555555").nombre("Plan").apellido("Explain").build();
+        cliente.getProductosBancarios().add(caja);
+        clienteRepository.save(cliente);
+        Role rol = roleRepository.findByName(EnumRole.ROLE_USER).orElseGet(() -> roleRepository.save(new Role(null, EnumRole.ROLE_USER)));
+        UsuarioBanco usuario = new UsuarioBanco("plan_explain", "x");
+        usuario.getRoles().add(rol);
+        usuarioBancoRepository.save(usuario);
+        ImportJob job = importJobRepository.save(new ImportJob("plan_explain", 1));
+        entityManager.flush();
+        entityManager.clear();
+        CapturaSql.SENTENCIAS.clear();
+
+        // ClienteService
+        clienteRepository.existsByDni("55555555");
+        Cliente leido = clienteRepository.findByDni("55555555").orElseThrow();
+        leido.getProductosBancarios().size(); // carga diferida de productos
+        clienteRepository.findByProductosBancarios_Codigo("PLAN_CJA");
+        clienteRepository.findById(leido.getId());
+        productoBancarioRepository.findByCodigo("PLAN_TJC");
+        clienteRepository.delete(leido);
+        entityManager.flush();
+        // ImportJobService y ClienteImportador
+        clienteRepository.findDnisExistentes(List.of("55555555", "55555556"));
+        importJobRepository.findByEstadoInOrderById(List.of(ImportJobEstado.PENDIENTE, ImportJobEstado.EN_CURSO));
+        importJobErrorRepository.findByJobIdOrderByIndice(job.getId(), PageRequest.of(0, 100));
+        // DataInitializer, AuthController y UsuarioBancoServiceImpl
+        productoBancarioRepository.findByCodigoIn(List.of("PLAN_CJA", "PLAN_TJC"));
+        roleRepository.findByName(EnumRole.ROLE_USER);
+        usuarioBancoRepository.existsByUsername("plan_explain");
+        usuarioBancoRepository.findByUsernameIn(List.of("plan_explain"));
+        entityManager.clear();
+        usuarioBancoRepository.findByUsername("plan_explain").orElseThrow().getRoles().size();
+
+        List<String> conCondicion = CapturaSql.SENTENCIAS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(" where "))
+                .toList();
+        assertTrue(conCondicion.size() >= 10, "Se capturaron pocas sentencias: " + conCondicion);
+
+        List<String> recorridos = new ArrayList<>();
+        for (String sql : conCondicion) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            if (plan.toLowerCase(Locale.ROOT).contains(RECORRIDO_COMPLETO)) {
+                recorridos.add(sql + "\n" + plan);
+            }
+        }
+        assertTrue(recorridos.isEmpty(), "Sentencias que recorren una tabla completa:\n" + String.join("\n\n", recorridos));
+    }
+
+    /**
+     * Registra el SQL de cada sentencia preparada por Hibernate (con ? en lugar de los valores), sin repetidos.
+     */
+    public static class CapturaSql implements StatementInspector {
+
+        static final Set<String> SENTENCIAS = new LinkedHashSet<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banco.cliente_api.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.banco.cliente_api.observability.ApiMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class AdaptiveConcurrencyFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch enCurso = new CountDownLatch(1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSobreElLimite_Responde503SinEsperar() throws Exception {
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setPatrones(List.of("/api/clientes/**"));
+        properties.setExcluidos(List.of("/api/clientes/batch"));
+        properties.setLimiteInicial(1);
+        properties.setLimiteMin(1);
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(properties, objectMapper, registry);
+
+        Future<MockHttpServletResponse> lenta = executor.submit(() -> ejecutar(filter, "/api/clientes/12345678", (req, res) -> {
+            enCurso.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rechazada = ejecutar(filter, "/api/clientes/87654321", (req, res) -> { });
+        assertEquals(503, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader("Retry-After"));
+        // Las rutas excluidas no cuentan para el límite
+        assertEquals(200, ejecutar(filter, "/api/clientes/batch", (req, res) -> { }).getStatus());
+        assertEquals(1, registry.get(ApiMetrics.LIMITE_ADAPTATIVO_RECHAZADAS).counter().count());
+        assertEquals(1, registry.get(ApiMetrics.LIMITE_ADAPTATIVO_EN_CURSO).gauge().value());
+        assertEquals(filter.getLimite(), registry.get(ApiMetrics.LIMITE_ADAPTATIVO).gauge().value());
+
+        liberar.countDown();
+        assertEquals(200, lenta.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(200, ejecutar(filter, "/api/clientes/87654321", (req, res) -> { }).getStatus());
+    }
+
+    @Test
+    void testRespuestasRapidasNo2xx_NoBajanElLimiteDelTraficoReal() throws Exception {
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setPatrones(List.of("/api/clientes/**"));
+        properties.setLimiteInicial(20);
+        properties.setVentanaMs(1);
+        properties.setMinMuestras(1);
+        properties.setSuavizado(1.0);
+        properties.setSondeoCadaVentanas(0);
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(properties, objectMapper, registry);
+
+        // Ráfaga de 401 inmediatos (sin token) repartida en varias ventanas, seguida de solicitudes reales de ~5 ms
+        for (int i = 0; i < 20; i++) {
+            assertEquals(401, ejecutar(filter, "/api/clientes", (req, res) ->
+                    ((HttpServletResponse) res).setStatus(401)).getStatus());
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, ejecutar(filter, "/api/clientes", (req, res) -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }).getStatus());
+        }
+
+        // La latencia de referencia es la de las respuestas reales, así que el límite no cae hacia limiteMin
+        // (puede subir si alguna ventana de sleep(5) se demora y el gradiente queda apenas por debajo de 1)
+        assertTrue(registry.get(ApiMetrics.LIMITE_ADAPTATIVO_RTT).tag("tipo", "minimo").timeGauge()
+                .value(TimeUnit.MILLISECONDS) >= 4);
+        assertTrue(filter.getLimite() >= 20, "límite: " + filter.getLimite());
+        assertEquals(0, registry.get(ApiMetrics.LIMITE_ADAPTATIVO_EN_CURSO).gauge().value());
+    }
+
+    private static MockHttpServletResponse ejecutar(AdaptiveConcurrencyFilter filter, String uri, FilterChain chain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+        return response;
+    }
+}
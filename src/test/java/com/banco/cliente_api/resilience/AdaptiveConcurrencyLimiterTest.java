@@ -0,0 +1,139 @@
+package com.banco.cliente_api.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Simula una base de datos con una cantidad fija de conexiones frente a muchos más clientes concurrentes,
+ * con el tiempo avanzando de a una ventana, y verifica a qué límite converge el algoritmo.
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long VENTANA = TimeUnit.SECONDS.toNanos(1);
+    private static final long RTT_BASE = TimeUnit.MILLISECONDS.toNanos(10);
+    // Clientes que intentan entrar en cada ventana: muy por encima de lo que la base soporta
+    private static final int CLIENTES = 500;
+
+    /**
+     * Base de datos lenta: hasta "conexiones" consultas concurrentes responden en rttBase; por encima, las
+     * consultas hacen cola por una conexión y la latencia crece en proporción (ley de Little).
+     */
+    private static final class BaseDeDatosSimulada {
+        private int conexiones;
+        private long rttBase;
+
+        private BaseDeDatosSimulada(int conexiones, long rttBase) {
+            this.conexiones = conexiones;
+            this.rttBase = rttBase;
+        }
+
+        private long rtt(int enCurso) {
+            return (long) (rttBase * Math.max(1.0, (double) enCurso / conexiones));
+        }
+    }
+
+    private AdaptiveLimitProperties config;
+    private long ahora;
+
+    @BeforeEach
+    void setUp() {
+        config = new AdaptiveLimitProperties();
+        config.setLimiteInicial(20);
+        config.setMinMuestras(1);
+        config.setSondeoCadaVentanas(20);
+    }
+
+    @Test
+    void testBaseSaturada_ElLimiteConvergeCercaDeSuCapacidad() {
+        BaseDeDatosSimulada base = new BaseDeDatosSimulada(10, RTT_BASE);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, ahora);
+
+        double limitePromedio = simular(limiter, base, 300);
+
+        // Sin límite entrarían los 500 clientes, con 50 veces la latencia base
+        assertTrue(limitePromedio >= 10 && limitePromedio <= 25, "Límite promedio: " + limitePromedio);
+        assertTrue(base.rtt(limiter.getLimite()) <= 2.5 * RTT_BASE);
+        assertEquals(RTT_BASE, limiter.getRttMinimoNanos(), RTT_BASE * 0.2);
+    }
+
+    @Test
+    void testBaseMasRapida_ElLimiteCrece() {
+        BaseDeDatosSimulada base = new BaseDeDatosSimulada(10, RTT_BASE);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, ahora);
+        double antes = simular(limiter, base, 200);
+
+        base.conexiones = 40;
+        double despues = simular(limiter, base, 300);
+
+        assertTrue(despues > 40 && despues > antes * 2, "Límite antes: " + antes + ", después: " + despues);
+    }
+
+    @Test
+    void testBaseMasLenta_ElLimiteBajaYSeRemideLaLatenciaMinima() {
+        BaseDeDatosSimulada base = new BaseDeDatosSimulada(20, RTT_BASE);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, ahora);
+        double antes = simular(limiter, base, 200);
+
+        // Menos conexiones disponibles y cada consulta el doble de lenta
+        base.conexiones = 8;
+        base.rttBase = 2 * RTT_BASE;
+        double despues = simular(limiter, base, 300);
+
+        assertTrue(despues < antes / 2 && despues <= 20, "Límite antes: " + antes + ", después: " + despues);
+        assertEquals(2 * RTT_BASE, limiter.getRttMinimoNanos(), RTT_BASE * 0.5);
+    }
+
+    @Test
+    void testSinCarga_ElLimiteNoCrece() {
+        BaseDeDatosSimulada base = new BaseDeDatosSimulada(100, RTT_BASE);
+        config.setSondeoCadaVentanas(0);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, ahora);
+
+        for (int v = 0; v < 50; v++) {
+            ventana(limiter, base, 3); // Solo 3 clientes: nunca la mitad del límite
+        }
+
+        assertEquals(20, limiter.getLimite());
+    }
+
+    @Test
+    void testSuperaElLimite_RechazaHastaQueTermineUna() {
+        config.setLimiteInicial(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, ahora);
+
+        assertTrue(limiter.intentarAdquirir());
+        assertTrue(limiter.intentarAdquirir());
+        assertFalse(limiter.intentarAdquirir());
+        limiter.liberar(RTT_BASE, ahora);
+        assertTrue(limiter.intentarAdquirir());
+    }
+
+    // Devuelve el límite promedio de la última mitad de las ventanas simuladas
+    private double simular(AdaptiveConcurrencyLimiter limiter, BaseDeDatosSimulada base, int ventanas) {
+        double suma = 0;
+        for (int v = 0; v < ventanas; v++) {
+            ventana(limiter, base, CLIENTES);
+            if (v >= ventanas / 2) {
+                suma += limiter.getLimite();
+            }
+        }
+        return suma / (ventanas - ventanas / 2);
+    }
+
+    // Entran los clientes que permite el límite, la base responde según cuántos entraron y todos terminan
+    private void ventana(AdaptiveConcurrencyLimiter limiter, BaseDeDatosSimulada base, int clientes) {
+        int admitidos = 0;
+        while (admitidos < clientes && limiter.intentarAdquirir()) {
+            admitidos++;
+        }
+        long rtt = base.rtt(admitidos);
+        ahora += VENTANA;
+        for (int i = 0; i < admitidos; i++) {
+            limiter.liberar(rtt, ahora);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.banco.cliente_api.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.banco.cliente_api.observability.ApiMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+public class BulkheadFilterTest {
+
+    // Con el módulo de java.time para serializar el timestamp de ErrorResponse, como el ObjectMapper de Spring
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch enCurso = new CountDownLatch(1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private BulkheadProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BulkheadProperties();
+        properties.getClases().put("batch", clase(List.of("/api/clientes/batch"), 1, 0, 1_000));
+        properties.getClases().put("interactivo", clase(List.of("/api/clientes/**"), 10, 10, 1_000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRepartirConexiones_LimitaLasOtrasClasesALoQueDejaElLadoBatch() {
+        // batch: 1 solicitud + 4 particiones + 2 importaciones = 7 de 10; interactivo pedía 10
+        ResilienceConfig.repartirConexiones(properties, 10, 4, 2);
+
+        assertEquals(1, properties.getClases().get("batch").getMaxConcurrentes());
+        assertEquals(3, properties.getClases().get("interactivo").getMaxConcurrentes());
+        assertThrows(IllegalStateException.class, () -> ResilienceConfig.repartirConexiones(properties, 7, 4, 2));
+    }
+
+    @Test
+    void testClaseSaturada_RechazaSinAfectarALasOtras() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(properties, objectMapper, registry);
+        Future<MockHttpServletResponse> lote = executor.submit(() -> ejecutar(filter, "/api/clientes/batch", bloqueante()));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rechazada = ejecutar(filter, "/api/clientes/batch", (req, res) -> { });
+        assertEquals(503, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader("Retry-After"));
+        assertEquals(200, ejecutar(filter, "/api/clientes/12345678", (req, res) -> { }).getStatus());
+        assertEquals(1, registry.get(ApiMetrics.BULKHEAD_EN_CURSO).tag("clase", "batch").gauge().value());
+        assertEquals(1, registry.get(ApiMetrics.BULKHEAD_RECHAZADAS).tags("clase", "batch", "motivo", "cola_llena")
+                .counter().count());
+
+        liberar.countDown();
+        assertEquals(200, lote.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(0, registry.get(ApiMetrics.BULKHEAD_EN_CURSO).tag("clase", "batch").gauge().value());
+    }
+
+    @Test
+    void testConCola_EsperaHastaQueSeLibereUnLugar() throws Exception {
+        properties.getClases().put("batch", clase(List.of("/api/clientes/batch"), 1, 1, 5_000));
+        BulkheadFilter filter = new BulkheadFilter(properties, objectMapper, registry);
+        executor.submit(() -> ejecutar(filter, "/api/clientes/batch", bloqueante()));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // Se libera el lugar mientras la segunda solicitud espera en la cola
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(liberar::countDown);
+        assertEquals(200, ejecutar(filter, "/api/clientes/batch", (req, res) -> { }).getStatus());
+    }
+
+    @Test
+    void testEsperaAgotada_Rechaza() throws Exception {
+        properties.getClases().put("batch", clase(List.of("/api/clientes/batch"), 1, 1, 50));
+        BulkheadFilter filter = new BulkheadFilter(properties, objectMapper, registry);
+        executor.submit(() -> ejecutar(filter, "/api/clientes/batch", bloqueante()));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        assertEquals(503, ejecutar(filter, "/api/clientes/batch", (req, res) -> { }).getStatus());
+        assertEquals(1, registry.get(ApiMetrics.BULKHEAD_RECHAZADAS).tags("clase", "batch", "motivo", "espera_agotada")
+                .counter().count());
+    }
+
+    private FilterChain bloqueante() {
+        return (req, res) -> {
+            enCurso.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static BulkheadProperties.Clase clase(List<String> patrones, int maxConcurrentes, int cola, long esperaMs) {
+        BulkheadProperties.Clase clase = new BulkheadProperties.Clase();
+        clase.setPatrones(patrones);
+        clase.setMaxConcurrentes(maxConcurrentes);
+        clase.setCola(cola);
+        clase.setEsperaMs(esperaMs);
+        return clase;
+    }
+
+    private static MockHttpServletResponse ejecutar(BulkheadFilter filter, String uri, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", uri), response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,162 @@
+package com.banco.cliente_api.security.authorization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import com.banco.cliente_api.adapter.web.controller.ClienteController;
+import com.banco.cliente_api.security.controller.TokenAdminController;
+import com.banco.cliente_api.security.entity.EnumRole;
+import com.banco.cliente_api.security.service.UsuarioBancoDetailsImpl;
+
+public class RoleMaskAuthorizationManagerTest {
+
+    private final RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager();
+    private final PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+    // El contexto de evaluación SpEL necesita un objeto destino; se instancia sin pasar por el constructor
+    private final ObjenesisStd objenesis = new ObjenesisStd();
+
+    @Test
+    void testAuthorize_TodosLosEndpoints_MismaDecisionQueSpEL() {
+        List<Method> endpoints = metodosConPreAuthorize(ClienteController.class, TokenAdminController.class);
+        assertFalse(endpoints.isEmpty());
+
+        for (Method method : endpoints) {
+            assertTrue(manager.isCompilado(method), "No se compiló la expresión de " + method);
+            SimpleMethodInvocation invocation = new SimpleMethodInvocation(
+                    objenesis.newInstance(method.getDeclaringClass()), method);
+
+            for (Authentication auth : autenticaciones()) {
+                boolean esperado = spel.authorize(() -> auth, invocation).isGranted();
+                AuthorizationResult obtenido = manager.authorize(() -> auth, invocation);
+
+                assertEquals(esperado, obtenido.isGranted(),
+                        method.getName() + " con authorities " + auth.getAuthorities());
+            }
+        }
+    }
+
+    @Test
+    void testCompilar_ExpresionesSoportadas() {
+        int admin = RoleMask.of(EnumRole.ROLE_ADMIN);
+        int user = RoleMask.of(EnumRole.ROLE_USER);
+        int mod = RoleMask.of(EnumRole.ROLE_MODERATOR);
+
+        assertEquals(admin, RoleMaskAuthorizationManager.compilar("hasRole('ADMIN')"));
+        assertEquals(admin, RoleMaskAuthorizationManager.compilar("hasRole('ROLE_ADMIN')"));
+        assertEquals(admin | user, RoleMaskAuthorizationManager.compilar("hasAnyRole('ADMIN', 'USER')"));
+        assertEquals(mod | user, RoleMaskAuthorizationManager.compilar("hasAuthority('ROLE_MODERATOR') or hasRole('USER')"));
+    }
+
+    @Test
+    void testCompilar_ExpresionesNoSoportadas_SeDelegaEnSpEL() {
+        assertTrue(RoleMaskAuthorizationManager.compilar("hasRole('ADMIN') and hasRole('USER')") < 0);
+        assertTrue(RoleMaskAuthorizationManager.compilar("hasRole('AUDITOR')") < 0);
+        assertTrue(RoleMaskAuthorizationManager.compilar("hasAuthority('ADMIN')") < 0);
+        assertTrue(RoleMaskAuthorizationManager.compilar("#dni == authentication.name") < 0);
+        assertTrue(RoleMaskAuthorizationManager.compilar("isAuthenticated()") < 0);
+    }
+
+    @Test
+    void testFromAuthentication_MascaraDeLasAuthoritiesDelToken_NoDelPrincipal() {
+        UsuarioBancoDetailsImpl usuario = new UsuarioBancoDetailsImpl(1L, "usuario", "x",
+                List.of(new SimpleGrantedAuthority(EnumRole.ROLE_ADMIN.name())));
+        // Igual que AuthTokenFilter: el token trae la máscara de sus propias authorities
+        Authentication token = new RoleMaskAuthenticationToken(usuario, null, usuario.getAuthorities());
+        assertEquals(RoleMask.of(EnumRole.ROLE_ADMIN), RoleMask.fromAuthentication(token));
+
+        // Un token sin authorities no tiene roles aunque el principal sí (hasRole tampoco los ve)
+        assertEquals(RoleMask.NINGUNO, RoleMask.fromAuthentication(new RoleMaskAuthenticationToken(usuario, null, List.of())));
+        assertEquals(RoleMask.NINGUNO,
+                RoleMask.fromAuthentication(UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of())));
+    }
+
+    @Test
+    void testAuthorize_ConPrefijoYJerarquiaDelContexto_MismaDecisionQueSpEL() throws Exception {
+        RoleHierarchy jerarquia = RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_MODERATOR");
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setRoleHierarchy(jerarquia);
+        PreAuthorizeAuthorizationManager spelConJerarquia = new PreAuthorizeAuthorizationManager();
+        spelConJerarquia.setExpressionHandler(handler);
+        RoleMaskAuthorizationManager conJerarquia = new RoleMaskAuthorizationManager();
+        conJerarquia.setExpressionHandler(handler);
+        conJerarquia.setRoleHierarchy(jerarquia);
+
+        Method moderador = Endpoints.class.getDeclaredMethod("moderador");
+        Method autenticado = Endpoints.class.getDeclaredMethod("autenticado");
+        SimpleMethodInvocation invocacionModerador = new SimpleMethodInvocation(new Endpoints(), moderador);
+        SimpleMethodInvocation invocacionAutenticado = new SimpleMethodInvocation(new Endpoints(), autenticado);
+        Authentication admin = new RoleMaskAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority(EnumRole.ROLE_ADMIN.name())));
+
+        assertTrue(conJerarquia.isCompilado(moderador));
+        assertTrue(spelConJerarquia.authorize(() -> admin, invocacionModerador).isGranted());
+        assertTrue(conJerarquia.authorize(() -> admin, invocacionModerador).isGranted());
+        // La expresión no compilable se evalúa con el handler configurado
+        assertFalse(conJerarquia.isCompilado(autenticado));
+        assertTrue(conJerarquia.authorize(() -> admin, invocacionAutenticado).isGranted());
+
+        // Sin prefijo, hasRole('MODERATOR') compara "MODERATOR", que no es un EnumRole: se delega en SpEL
+        RoleMaskAuthorizationManager sinPrefijo = new RoleMaskAuthorizationManager();
+        sinPrefijo.setRolePrefix("");
+        assertFalse(sinPrefijo.isCompilado(moderador));
+    }
+
+    static class Endpoints {
+        @PreAuthorize("hasRole('MODERATOR')")
+        public void moderador() {
+        }
+
+        @PreAuthorize("isAuthenticated()")
+        public void autenticado() {
+        }
+    }
+
+    // Todas las combinaciones de roles, como token genérico y como token con máscara precalculada
+    private static List<Authentication> autenticaciones() {
+        List<Authentication> autenticaciones = new ArrayList<>();
+        EnumRole[] roles = EnumRole.values();
+        for (int combinacion = 0; combinacion < (1 << roles.length); combinacion++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (int i = 0; i < roles.length; i++) {
+                if ((combinacion & (1 << i)) != 0) {
+                    authorities.add(new SimpleGrantedAuthority(roles[i].name()));
+                }
+            }
+            autenticaciones.add(new TestingAuthenticationToken("usuario", null, authorities));
+            UsuarioBancoDetailsImpl usuario = new UsuarioBancoDetailsImpl(1L, "usuario", "x", authorities);
+            autenticaciones.add(new RoleMaskAuthenticationToken(usuario, null, usuario.getAuthorities()));
+        }
+        autenticaciones.add(new TestingAuthenticationToken("anonimo", null, "ROLE_ANONYMOUS"));
+        return autenticaciones;
+    }
+
+    private static List<Method> metodosConPreAuthorize(Class<?>... clases) {
+        List<Method> metodos = new ArrayList<>();
+        for (Class<?> clase : clases) {
+            for (Method method : clase.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(PreAuthorize.class)) {
+                    metodos.add(method);
+                }
+            }
+        }
+        return metodos;
+    }
+}
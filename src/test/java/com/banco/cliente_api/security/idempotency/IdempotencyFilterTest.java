@@ -0,0 +1,257 @@
+package com.banco.cliente_api.security.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class IdempotencyFilterTest {
+
+    private IdempotencyProperties properties;
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setPatrones(List.of("/api/clientes", "/api/clientes/*/telefono"));
+        properties.setEsperaMs(5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReintento_RepiteLaRespuestaSinEjecutar() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper());
+        FilterChain alta = contador(201);
+
+        MockHttpServletResponse primera = ejecutar(filter, "admin", "clave-1", alta);
+        MockHttpServletResponse reintento = ejecutar(filter, "admin", "clave-1", alta);
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(201, reintento.getStatus());
+        assertEquals(primera.getContentAsString(), reintento.getContentAsString());
+        assertEquals("/api/clientes/1", reintento.getHeader("Location"));
+        assertEquals("true", reintento.getHeader(IdempotencyFilter.CABECERA_REPETIDA));
+        assertNull(primera.getHeader(IdempotencyFilter.CABECERA_REPETIDA));
+    }
+
+    @Test
+    void testMismaClave_OtroUsuario_EsOtraSolicitud() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper());
+        FilterChain alta = contador(201);
+
+        ejecutar(filter, "admin", "clave-1", alta);
+        ejecutar(filter, "otro", "clave-1", alta);
+
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    void testErrorDelServidor_NoSeGuardaYElReintentoEjecuta() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper());
+
+        ejecutar(filter, "admin", "clave-1", contador(500));
+        MockHttpServletResponse reintento = ejecutar(filter, "admin", "clave-1", contador(201));
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(201, reintento.getStatus());
+        assertEquals(1, filter.cantidadEntradas());
+    }
+
+    @Test
+    void testDuplicadoConcurrente_EsperaLaSolicitudEnCurso() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper());
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lenta = (req, res) -> {
+            enCurso.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            contador(201).doFilter(req, res);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> original = executor.submit(() -> ejecutar(filter, "admin", "clave-1", lenta));
+            assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> duplicado = executor.submit(() -> ejecutar(filter, "admin", "clave-1", lenta));
+            Thread.sleep(100); // El duplicado queda esperando el resultado de la original
+            assertFalse(duplicado.isDone());
+            liberar.countDown();
+
+            assertEquals(201, original.get(5, TimeUnit.SECONDS).getStatus());
+            MockHttpServletResponse repetida = duplicado.get(5, TimeUnit.SECONDS);
+            assertEquals(201, repetida.getStatus());
+            assertEquals("true", repetida.getHeader(IdempotencyFilter.CABECERA_REPETIDA));
+            assertEquals(1, ejecuciones.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStore_DescartaLasMasAntiguasAlSuperarElMaximo() throws Exception {
+        properties.setMaxEntradas(2);
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper());
+        FilterChain alta = contador(201);
+
+        ejecutar(filter, "admin", "clave-1", alta);
+        ejecutar(filter, "admin", "clave-2", alta);
+        ejecutar(filter, "admin", "clave-3", alta);
+        assertEquals(2, filter.cantidadEntradas());
+
+        // clave-1 se descartó: se ejecuta de nuevo; clave-3 sigue guardada
+        ejecutar(filter, "admin", "clave-3", alta);
+        ejecutar(filter, "admin", "clave-1", alta);
+        assertEquals(4, ejecuciones.get());
+    }
+
+    @Test
+    void testStore_NoDescartaNiReemplazaSolicitudesEnCurso() {
+        IdempotencyStore store = new IdempotencyStore(100, 2, Long.MAX_VALUE);
+        IdempotencyStore.Entrada enCurso = new IdempotencyStore.Entrada(0);
+        assertNull(store.reservar("a", enCurso));
+        IdempotencyStore.Entrada terminada = new IdempotencyStore.Entrada(1);
+        assertNull(store.reservar("b", terminada));
+        store.completar("b", terminada, respuesta());
+
+        // Al superar el máximo se descarta la terminada (b), no la más antigua en curso (a)
+        IdempotencyStore.Entrada otra = new IdempotencyStore.Entrada(2);
+        assertNull(store.reservar("c", otra));
+        assertSame(enCurso, store.reservar("a", new IdempotencyStore.Entrada(3)));
+        store.completar("c", otra, respuesta());
+        assertNull(store.reservar("b", new IdempotencyStore.Entrada(4)));
+
+        // Vencida pero en curso: el duplicado la sigue esperando en lugar de ejecutar otra vez
+        assertSame(enCurso, store.reservar("a", new IdempotencyStore.Entrada(500)));
+    }
+
+    @Test
+    void testStore_TodasEnCurso_RechazaLaClaveNueva() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(100, 1, Long.MAX_VALUE);
+        assertNull(store.reservar("a", new IdempotencyStore.Entrada(0)));
+
+        assertSame(IdempotencyStore.SIN_LUGAR, store.reservar("b", new IdempotencyStore.Entrada(500)));
+        assertEquals(1, store.tamanio());
+
+        // En el filtro se responde 503 sin ejecutar
+        properties.setMaxEntradas(1);
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper().findAndRegisterModules());
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lenta = (req, res) -> {
+            enCurso.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            contador(201).doFilter(req, res);
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MockHttpServletResponse> original = executor.submit(() -> ejecutar(filter, "admin", "clave-1", lenta));
+            assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse rechazada = ejecutar(filter, "admin", "clave-2", contador(201));
+            assertEquals(503, rechazada.getStatus());
+            assertEquals("1", rechazada.getHeader("Retry-After"));
+            liberar.countDown();
+            assertEquals(201, original.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals(1, ejecuciones.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMismaClave_OtroCuerpo_Responde422SinEjecutar() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper().findAndRegisterModules());
+        FilterChain alta = contador(201);
+
+        ejecutar(filter, "admin", "clave-1", "{\"dni\":\"1\"}", alta);
+        MockHttpServletResponse mismoCuerpo = ejecutar(filter, "admin", "clave-1", "{\"dni\":\"1\"}", alta);
+        MockHttpServletResponse otroCuerpo = ejecutar(filter, "admin", "clave-1", "{\"dni\":\"2\"}", alta);
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(201, mismoCuerpo.getStatus());
+        assertEquals(422, otroCuerpo.getStatus());
+        assertNull(otroCuerpo.getHeader(IdempotencyFilter.CABECERA_REPETIDA));
+    }
+
+    @Test
+    void testStore_DescartaLasMasAntiguasAlSuperarElTotalDeBytes() throws Exception {
+        // Cada respuesta de contador() cuenta 15 bytes más los 32 de la clave interna: entran dos
+        properties.setMaxBytesTotal(100);
+        IdempotencyFilter filter = new IdempotencyFilter(properties, new ObjectMapper());
+        FilterChain alta = contador(201);
+
+        ejecutar(filter, "admin", "clave-1", alta);
+        ejecutar(filter, "admin", "clave-2", alta);
+        ejecutar(filter, "admin", "clave-3", alta);
+        assertEquals(2, filter.cantidadEntradas());
+        assertTrue(filter.bytesGuardados() <= 100);
+
+        // clave-1 se descartó: se ejecuta de nuevo; clave-3 sigue guardada
+        ejecutar(filter, "admin", "clave-3", alta);
+        ejecutar(filter, "admin", "clave-1", alta);
+        assertEquals(4, ejecuciones.get());
+    }
+
+    private static IdempotencyStore.Respuesta respuesta() {
+        return new IdempotencyStore.Respuesta(201, null, null, new byte[0], new byte[0]);
+    }
+
+    private FilterChain contador(int status) {
+        return (req, res) -> {
+            int n = ejecuciones.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(status);
+            http.setHeader("Location", "/api/clientes/" + n);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"ejecucion\":" + n + "}");
+        };
+    }
+
+    private MockHttpServletResponse ejecutar(IdempotencyFilter filter, String usuario, String clave, FilterChain chain)
+            throws Exception {
+        return ejecutar(filter, usuario, clave, "", chain);
+    }
+
+    private MockHttpServletResponse ejecutar(IdempotencyFilter filter, String usuario, String clave, String cuerpo,
+                                             FilterChain chain) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario, null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/clientes");
+        request.addHeader(IdempotencyFilter.CABECERA, clave);
+        request.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
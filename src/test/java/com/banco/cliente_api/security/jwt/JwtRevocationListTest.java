@@ -0,0 +1,78 @@
+package com.banco.cliente_api.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class JwtRevocationListTest {
+
+    private static final long AHORA = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private final RelojManual reloj = new RelojManual(Instant.ofEpochMilli(AHORA));
+    private final JwtRevocationList revocationList = new JwtRevocationList(reloj);
+
+    @Test
+    void testRevocar_TokenVigente_QuedaRevocado() {
+        String jti = UUID.randomUUID().toString();
+
+        assertTrue(revocationList.revocar(jti, AHORA + 60_000));
+
+        assertTrue(revocationList.isRevocado(jti));
+        assertFalse(revocationList.isRevocado(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void testRevocar_JtiInvalidoOTokenVencido_NoSeAgrega() {
+        assertFalse(revocationList.revocar("no-es-un-uuid", AHORA + 60_000));
+        assertFalse(revocationList.revocar(UUID.randomUUID().toString(), AHORA));
+        assertEquals(0, revocationList.size());
+        assertFalse(revocationList.isRevocado(null));
+    }
+
+    @Test
+    void testEliminarVencidos_LiberaSoloLasEntradasVencidas() {
+        String vigente = UUID.randomUUID().toString();
+        revocationList.revocar(vigente, AHORA + 60_000);
+        revocationList.revocar(UUID.randomUUID().toString(), AHORA + 5);
+
+        reloj.avanzar(5);
+        revocationList.eliminarVencidos();
+
+        assertEquals(1, revocationList.size());
+        assertTrue(revocationList.isRevocado(vigente));
+    }
+
+    // Reloj que solo avanza cuando el test lo indica
+    private static class RelojManual extends Clock {
+        private Instant ahora;
+
+        RelojManual(Instant inicio) {
+            this.ahora = inicio;
+        }
+
+        void avanzar(long millis) {
+            ahora = ahora.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    }
+}
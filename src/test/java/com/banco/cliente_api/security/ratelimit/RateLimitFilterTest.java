@@ -0,0 +1,86 @@
+package com.banco.cliente_api.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RateLimitFilterTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    // Con el módulo de java.time para serializar el timestamp de ErrorResponse, como el ObjectMapper de Spring
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private long ahora;
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Grupo auth = new RateLimitProperties.Grupo();
+        auth.setPatrones(List.of("/api/auth/**"));
+        auth.setClave(RateLimitProperties.Clave.IP);
+        auth.setCapacidad(2);
+        auth.setRecargaPorSegundo(1);
+        properties = new RateLimitProperties();
+        properties.setInactividadMs(10_000);
+        properties.getGrupos().put("auth", auth);
+    }
+
+    @Test
+    void testBucketVacio_Responde429ConRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, () -> ahora);
+
+        assertEquals(200, ejecutar(filter, "10.0.0.1").getStatus());
+        assertEquals(200, ejecutar(filter, "10.0.0.1").getStatus());
+        MockHttpServletResponse rechazada = ejecutar(filter, "10.0.0.1");
+
+        assertEquals(429, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader("Retry-After"));
+        // Otra IP tiene su propio bucket
+        assertEquals(200, ejecutar(filter, "10.0.0.2").getStatus());
+        ahora += SEGUNDO;
+        assertEquals(200, ejecutar(filter, "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void testGrupoLleno_RechazaClavesNuevasSinBarrerEnCadaSolicitud() throws Exception {
+        properties.setMaxClavesPorGrupo(2);
+        RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, () -> ahora);
+        assertEquals(200, ejecutar(filter, "10.0.0.1").getStatus());
+        assertEquals(200, ejecutar(filter, "10.0.0.2").getStatus());
+
+        // El barrido forzado no libera nada: la clave nueva se rechaza y el mapa no crece
+        MockHttpServletResponse rechazada = ejecutar(filter, "10.0.0.3");
+        assertEquals(429, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader("Retry-After"));
+        assertEquals(2, filter.cantidadBuckets());
+        // Las claves existentes siguen atendidas (el bucket de 10.0.0.1 queda activo un segundo más)
+        assertEquals(200, ejecutar(filter, "10.0.0.1").getStatus());
+
+        // A los 11,5 s solo 10.0.0.2 está inactivo: el barrido lo libera y entra la clave nueva
+        ahora = 11 * SEGUNDO + SEGUNDO / 2;
+        assertEquals(200, ejecutar(filter, "10.0.0.4").getStatus());
+        // 10.0.0.1 ya está inactivo, pero el último barrido forzado fue hace menos de un segundo
+        ahora = 12 * SEGUNDO + SEGUNDO / 5;
+        assertEquals(429, ejecutar(filter, "10.0.0.5").getStatus());
+        ahora = 12 * SEGUNDO + SEGUNDO / 2;
+        assertEquals(200, ejecutar(filter, "10.0.0.5").getStatus());
+        assertEquals(2, filter.cantidadBuckets());
+    }
+
+    private static MockHttpServletResponse ejecutar(RateLimitFilter filter, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,42 @@
+package com.banco.cliente_api.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTryConsume_PermiteRafagaHastaLaCapacidad() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        // El cuarto token recién estará disponible en un segundo
+        assertEquals(SEGUNDO, bucket.tryConsume(0));
+    }
+
+    @Test
+    void testTryConsume_RecargaSegunLaTasaConfigurada() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(SEGUNDO / 4) > 0);
+        assertEquals(0, bucket.tryConsume(SEGUNDO / 2));
+    }
+
+    @Test
+    void testIsInactivo_TrasRecargarseCompletamente() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertFalse(bucket.isInactivo(SEGUNDO, SEGUNDO * 5));
+        assertTrue(bucket.isInactivo(SEGUNDO * 7, SEGUNDO * 5));
+    }
+}
@@ -0,0 +1,123 @@
+package com.banco.cliente_api.security.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banco.cliente_api.exception.TokenRefreshException;
+import com.banco.cliente_api.security.entity.RefreshToken;
+import com.banco.cliente_api.security.repository.InMemoryRefreshTokenStore;
+
+public class RefreshTokenServiceTest {
+
+    private static final long EXPIRACION_MS = 60_000;
+
+    private InMemoryRefreshTokenStore store;
+    private RelojManual reloj;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRefreshTokenStore(4);
+        reloj = new RelojManual(Instant.parse("2025-01-01T00:00:00Z"));
+        refreshTokenService = new RefreshTokenService(store, EXPIRACION_MS, reloj);
+    }
+
+    @Test
+    void testRotarRefreshToken_DevuelveNuevoTokenDeLaMismaFamilia() {
+        RefreshToken original = refreshTokenService.crearRefreshToken("admin");
+
+        RefreshToken rotado = refreshTokenService.rotarRefreshToken(original.getToken());
+
+        assertNotEquals(original.getToken(), rotado.getToken());
+        assertEquals("admin", rotado.getUsername());
+        assertEquals(original.getFamilia(), rotado.getFamilia());
+        assertTrue(store.findByToken(original.getToken()).orElseThrow().isUsado());
+    }
+
+    @Test
+    void testRotarRefreshToken_Reutilizado_RevocaLaFamilia() {
+        RefreshToken original = refreshTokenService.crearRefreshToken("admin");
+        RefreshToken rotado = refreshTokenService.rotarRefreshToken(original.getToken());
+
+        // Presentar de nuevo el token ya rotado invalida también el último emitido
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotarRefreshToken(original.getToken()));
+        assertTrue(store.findByToken(rotado.getToken()).isEmpty());
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotarRefreshToken(rotado.getToken()));
+    }
+
+    @Test
+    void testRotarRefreshToken_Vencido_LanzaExcepcion() {
+        RefreshToken original = refreshTokenService.crearRefreshToken("user");
+        reloj.avanzar(EXPIRACION_MS + 1);
+
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotarRefreshToken(original.getToken()));
+    }
+
+    @Test
+    void testRotarRefreshToken_RotandoSeguido_VenceConLaFamilia() {
+        RefreshToken original = refreshTokenService.crearRefreshToken("user");
+        RefreshToken actual = original;
+        // Cada rotación llega antes de que venza el token anterior, pero no extiende la sesión
+        for (int i = 0; i < 3; i++) {
+            reloj.avanzar(EXPIRACION_MS / 3);
+            actual = refreshTokenService.rotarRefreshToken(actual.getToken());
+            assertEquals(original.getExpiryDate(), actual.getExpiryDate());
+        }
+        reloj.avanzar(EXPIRACION_MS / 3);
+
+        String ultimo = actual.getToken();
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotarRefreshToken(ultimo));
+    }
+
+    @Test
+    void testRotarRefreshToken_Inexistente_LanzaExcepcion() {
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.rotarRefreshToken("no-existe"));
+    }
+
+    @Test
+    void testEliminarVencidos_SoloBorraLosVencidos() {
+        refreshTokenService.crearRefreshToken("admin");
+        reloj.avanzar(EXPIRACION_MS / 2);
+        refreshTokenService.crearRefreshToken("user");
+        reloj.avanzar(EXPIRACION_MS / 2 + 1);
+
+        refreshTokenService.eliminarVencidos();
+
+        assertEquals(1, store.count());
+    }
+
+    // Reloj que solo avanza cuando el test lo indica
+    private static class RelojManual extends Clock {
+        private Instant ahora;
+
+        RelojManual(Instant inicio) {
+            this.ahora = inicio;
+        }
+
+        void avanzar(long millis) {
+            ahora = ahora.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    }
+}
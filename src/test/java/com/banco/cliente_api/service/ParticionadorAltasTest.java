@@ -0,0 +1,90 @@
+package com.banco.cliente_api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.banco.cliente_api.exception.InvalidInputException;
+
+public class ParticionadorAltasTest {
+
+    private ParticionadorAltas particionador;
+
+    private ParticionadorAltas particionador(int hilos, int umbral, int conexiones) {
+        particionador = new ParticionadorAltas(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(particionador, "hilosConfigurados", hilos);
+        ReflectionTestUtils.setField(particionador, "umbral", umbral);
+        ReflectionTestUtils.setField(particionador, "conexiones", conexiones);
+        particionador.iniciarPool();
+        return particionador;
+    }
+
+    @AfterEach
+    void detener() {
+        particionador.detenerPool();
+    }
+
+    @Test
+    void testProcesar_MismaClaveEnLaMismaParticionYResultadosEnOrden() {
+        ParticionadorAltas particionador = particionador(4, 10, 20);
+        // 300 elementos con 100 claves distintas: cada clave aparece tres veces
+        List<Integer> elementos = IntStream.range(0, 300).boxed().toList();
+        Map<String, Set<Thread>> hilosPorClave = new ConcurrentHashMap<>();
+        Set<List<Integer>> particiones = ConcurrentHashMap.newKeySet();
+
+        List<String> resultados = particionador.procesar(elementos, i -> "dni" + (i % 100), particion -> {
+            particiones.add(particion);
+            particion.forEach(i -> hilosPorClave.computeIfAbsent("dni" + (i % 100), k -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread()));
+            return particion.stream().map(i -> "r" + i).toList();
+        });
+
+        assertEquals(IntStream.range(0, 300).mapToObj(i -> "r" + i).toList(), resultados);
+        assertTrue(particiones.size() > 1 && particiones.size() <= 4, "Particiones: " + particiones.size());
+        hilosPorClave.forEach((clave, hilos) -> assertEquals(1, hilos.size(), "La clave " + clave + " se repartió"));
+    }
+
+    @Test
+    void testProcesar_DebajoDelUmbral_UnaSolaParticionEnElHiloQueLlama() {
+        ParticionadorAltas particionador = particionador(4, 10, 20);
+        Thread llamador = Thread.currentThread();
+
+        List<Integer> resultados = particionador.procesar(List.of(3, 1, 2), String::valueOf, particion -> {
+            assertSame(llamador, Thread.currentThread());
+            return particion;
+        });
+
+        assertEquals(List.of(3, 1, 2), resultados);
+    }
+
+    @Test
+    void testHilos_LimitadosALaMitadDelPoolDeConexiones() {
+        assertEquals(3, particionador(8, 10, 6).getHilos());
+        particionador.detenerPool();
+        assertEquals(1, particionador(8, 10, 1).getHilos());
+    }
+
+    @Test
+    void testProcesar_ParticionFallida_RelanzaSuExcepcion() {
+        ParticionadorAltas particionador = particionador(2, 1, 10);
+
+        InvalidInputException e = assertThrows(InvalidInputException.class,
+                () -> particionador.procesar(List.of(1, 2, 3, 4), String::valueOf, particion -> {
+                    if (particion.contains(3)) {
+                        throw new InvalidInputException("falla " + particion);
+                    }
+                    return particion;
+                }));
+        assertTrue(e.getMessage().startsWith("falla"));
+    }
+}
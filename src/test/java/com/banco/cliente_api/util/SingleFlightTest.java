@@ -0,0 +1,115 @@
+package com.banco.cliente_api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.banco.cliente_api.exception.ClienteNotFoundException;
+import com.banco.cliente_api.exception.CoalescedQueryTimeoutException;
+import com.banco.cliente_api.observability.ApiMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SingleFlightTest {
+
+    private static final int SEGUIDORES = 5;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(SEGUIDORES + 1);
+    private final CountDownLatch enCurso = new CountDownLatch(1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLlamadasConcurrentes_CompartenUnaSolaCarga() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("prueba", 5_000, registry);
+
+        List<Future<String>> resultados = lanzar(singleFlight, () -> "cliente-" + cargas.incrementAndGet());
+
+        for (Future<String> resultado : resultados) {
+            assertEquals("cliente-1", resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, cargas.get());
+        assertEquals(1, contador("ejecutada"));
+        assertEquals(SEGUIDORES, contador("compartida"));
+        assertEquals(0, singleFlight.enCurso());
+
+        // Terminada la carga, una nueva llamada vuelve a ejecutar
+        assertEquals("cliente-2", singleFlight.ejecutar("12345678", () -> "cliente-" + cargas.incrementAndGet()));
+    }
+
+    @Test
+    void testErrorDelLider_SePropagaAlosSeguidores() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("prueba", 5_000, registry);
+
+        List<Future<String>> resultados = lanzar(singleFlight, () -> {
+            cargas.incrementAndGet();
+            throw new ClienteNotFoundException("12345678");
+        });
+
+        for (Future<String> resultado : resultados) {
+            Exception e = assertThrows(Exception.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ClienteNotFoundException.class, e.getCause());
+        }
+        assertEquals(1, cargas.get());
+        assertEquals(0, singleFlight.enCurso());
+    }
+
+    @Test
+    void testSeguidor_SuperaLaEspera_LanzaTimeout() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("prueba", 50, registry);
+        Future<String> lider = executor.submit(() -> singleFlight.ejecutar("12345678", cargaBloqueante(() -> "cliente")));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        assertThrows(CoalescedQueryTimeoutException.class, () -> singleFlight.ejecutar("12345678", () -> "otro"));
+        liberar.countDown();
+
+        assertEquals("cliente", lider.get(5, TimeUnit.SECONDS));
+        assertEquals(1, contador("timeout"));
+    }
+
+    // Lanza un líder que queda bloqueado en la carga y SEGUIDORES llamadas con la misma clave mientras está en curso
+    private List<Future<String>> lanzar(SingleFlight<String, String> singleFlight, Supplier<String> carga) throws Exception {
+        List<Future<String>> resultados = new ArrayList<>();
+        resultados.add(executor.submit(() -> singleFlight.ejecutar("12345678", cargaBloqueante(carga))));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < SEGUIDORES; i++) {
+            resultados.add(executor.submit(() -> singleFlight.ejecutar("12345678", carga)));
+        }
+        Thread.sleep(200); // Los seguidores se suman a la carga en curso antes de liberarla
+        liberar.countDown();
+        return resultados;
+    }
+
+    private Supplier<String> cargaBloqueante(Supplier<String> carga) {
+        return () -> {
+            enCurso.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return carga.get();
+        };
+    }
+
+    private double contador(String resultado) {
+        return registry.get(ApiMetrics.CONSULTAS_COALESCIDAS).tag("resultado", resultado).counter().count();
+    }
+}